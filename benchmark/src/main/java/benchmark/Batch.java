@@ -0,0 +1,72 @@
+
+package benchmark;
+
+import com.github.f4b6a3.ulid.Ulid;
+import com.github.f4b6a3.ulid.UlidFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares creating ULIDs one at a time with creating them in batches.
+ * <p>
+ * The score is the number of ULIDs created per millisecond.
+ */
+@Fork(1)
+@Threads(1)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 3)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@OperationsPerInvocation(Batch.BATCH_SIZE)
+public class Batch {
+
+	static final int BATCH_SIZE = 1000;
+
+	private final Ulid[] ulids = new Ulid[BATCH_SIZE];
+	private final long[] longs = new long[BATCH_SIZE * 2];
+
+	private final UlidFactory factory = UlidFactory.newInstance();
+	private final UlidFactory monotonicFactory = UlidFactory.newMonotonicInstance();
+
+	@Benchmark
+	public Ulid[] UlidFactory_create_loop() {
+		for (int i = 0; i < BATCH_SIZE; i++) {
+			ulids[i] = factory.create();
+		}
+		return ulids;
+	}
+
+	@Benchmark
+	public Ulid[] UlidFactory_fill() {
+		factory.fill(ulids);
+		return ulids;
+	}
+
+	@Benchmark
+	public long[] UlidFactory_fill_longs() {
+		factory.fill(longs);
+		return longs;
+	}
+
+	@Benchmark
+	public Ulid[] UlidFactory_monotonic_create_loop() {
+		for (int i = 0; i < BATCH_SIZE; i++) {
+			ulids[i] = monotonicFactory.create();
+		}
+		return ulids;
+	}
+
+	@Benchmark
+	public Ulid[] UlidFactory_monotonic_fill() {
+		monotonicFactory.fill(ulids);
+		return ulids;
+	}
+
+	@Benchmark
+	public long[] UlidFactory_monotonic_fill_longs() {
+		monotonicFactory.fill(longs);
+		return longs;
+	}
+}
@@ -0,0 +1,64 @@
+
+package benchmark;
+
+import com.github.f4b6a3.ulid.BulkCodec;
+import com.github.f4b6a3.ulid.UlidFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the bulk codec in GB/s of ASCII text.
+ * <p>
+ * Each operation is one byte of text and the time unit is the nanosecond, so
+ * the score reads as bytes per nanosecond, i.e. GB/s. The vector methods fork
+ * with the module {@code jdk.incubator.vector}, so they need Java 17 or later.
+ */
+@Threads(1)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 3)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@OperationsPerInvocation(Bulk.COUNT * 26)
+public class Bulk {
+
+	static final int COUNT = 4096;
+
+	private final long[] longs = new long[2 * COUNT];
+	private byte[] text;
+
+	@Setup
+	public void setup() {
+		UlidFactory.newMonotonicInstance().fill(longs);
+		text = BulkCodec.encode(longs);
+	}
+
+	@Benchmark
+	@Fork(1)
+	public byte[] encode_scalar() {
+		BulkCodec.encode(longs, 0, longs.length, text, 0);
+		return text;
+	}
+
+	@Benchmark
+	@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+	public byte[] encode_vector() {
+		BulkCodec.encode(longs, 0, longs.length, text, 0);
+		return text;
+	}
+
+	@Benchmark
+	@Fork(1)
+	public long[] decode_scalar() {
+		BulkCodec.decode(text, 0, longs, 0, longs.length);
+		return longs;
+	}
+
+	@Benchmark
+	@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+	public long[] decode_vector() {
+		BulkCodec.decode(text, 0, longs, 0, longs.length);
+		return longs;
+	}
+}
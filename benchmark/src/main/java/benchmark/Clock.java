@@ -0,0 +1,60 @@
+
+package benchmark;
+
+import com.github.f4b6a3.ulid.CachedClock;
+import com.github.f4b6a3.ulid.Ulid;
+import com.github.f4b6a3.ulid.UlidFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.SecureRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Compares the per-call cost of the clock sources.
+ */
+@Fork(1)
+@Threads(1)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 3)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class Clock {
+
+	private final LongSupplier systemClock = System::currentTimeMillis;
+	private final LongSupplier cachedClock = CachedClock.getInstance();
+
+	private final UlidFactory systemClockFactory = UlidFactory.newMonotonicInstance();
+	private final UlidFactory cachedClockFactory = UlidFactory.newMonotonicInstance(new SecureRandom(), cachedClock);
+
+	@Benchmark
+	public long System_currentTimeMillis() {
+		return systemClock.getAsLong();
+	}
+
+	@Benchmark
+	public long CachedClock_getAsLong() {
+		return cachedClock.getAsLong();
+	}
+
+	@Benchmark
+	public Ulid Ulid_fast() {
+		return Ulid.fast();
+	}
+
+	@Benchmark
+	public Ulid Ulid_fast_CachedClock() {
+		return Ulid.fast(cachedClock);
+	}
+
+	@Benchmark
+	public Ulid UlidFactory_monotonic() {
+		return systemClockFactory.create();
+	}
+
+	@Benchmark
+	public Ulid UlidFactory_monotonic_CachedClock() {
+		return cachedClockFactory.create();
+	}
+}
@@ -0,0 +1,140 @@
+
+package benchmark;
+
+import com.github.f4b6a3.ulid.Ulid;
+import com.github.f4b6a3.ulid.UlidCreator;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the pair-table codec in {@code Ulid} with a plain codec that looks up
+ * one character at a time.
+ */
+@Fork(1)
+@Threads(1)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 3)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class Codec {
+
+	private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+	private static final byte[] VALUES = new byte[128];
+
+	static {
+		Arrays.fill(VALUES, (byte) -1);
+		for (int i = 0; i < ALPHABET.length; i++) {
+			VALUES[ALPHABET[i]] = (byte) i;
+			VALUES[Character.toLowerCase(ALPHABET[i])] = (byte) i;
+		}
+	}
+
+	private final Ulid ulid = UlidCreator.getUlid();
+	private final byte[] text = ulid.toString().getBytes(StandardCharsets.US_ASCII);
+
+	private final char[] chars = new char[Ulid.ULID_CHARS];
+	private final byte[] bytes = new byte[Ulid.ULID_CHARS];
+	private final ByteBuffer direct = ByteBuffer.allocateDirect(Ulid.ULID_CHARS);
+	private final ByteBuffer input = ByteBuffer.allocateDirect(Ulid.ULID_CHARS).put(text);
+
+	@Benchmark
+	public char[] encode_chars_plain() {
+		final long msb = ulid.getMostSignificantBits();
+		final long lsb = ulid.getLeastSignificantBits();
+		for (int i = 0; i < Ulid.ULID_CHARS; i++) {
+			chars[i] = ALPHABET[digit(msb, lsb, i)];
+		}
+		return chars;
+	}
+
+	@Benchmark
+	public char[] encode_chars_pairs() {
+		ulid.writeTo(chars, 0);
+		return chars;
+	}
+
+	@Benchmark
+	public byte[] encode_bytes_plain() {
+		final long msb = ulid.getMostSignificantBits();
+		final long lsb = ulid.getLeastSignificantBits();
+		for (int i = 0; i < Ulid.ULID_CHARS; i++) {
+			bytes[i] = (byte) ALPHABET[digit(msb, lsb, i)];
+		}
+		return bytes;
+	}
+
+	@Benchmark
+	public byte[] encode_bytes_pairs() {
+		ulid.writeTo(bytes, 0);
+		return bytes;
+	}
+
+	@Benchmark
+	public ByteBuffer encode_directBuffer_plain() {
+		final long msb = ulid.getMostSignificantBits();
+		final long lsb = ulid.getLeastSignificantBits();
+		direct.clear();
+		for (int i = 0; i < Ulid.ULID_CHARS; i++) {
+			direct.put((byte) ALPHABET[digit(msb, lsb, i)]);
+		}
+		return direct;
+	}
+
+	@Benchmark
+	public ByteBuffer encode_directBuffer_pairs() {
+		direct.clear();
+		ulid.writeTo(direct);
+		return direct;
+	}
+
+	@Benchmark
+	public Ulid decode_bytes_plain() {
+		return decode(text);
+	}
+
+	@Benchmark
+	public Ulid decode_bytes_scalar() {
+		return Ulid.parse(text, 0);
+	}
+
+	@Benchmark
+	public Ulid decode_directBuffer_plain() {
+		input.clear();
+		final byte[] copy = new byte[Ulid.ULID_CHARS];
+		input.get(copy);
+		return decode(copy);
+	}
+
+	@Benchmark
+	public Ulid decode_directBuffer_swar() {
+		input.clear();
+		return Ulid.parse(input);
+	}
+
+	private static int digit(long msb, long lsb, int index) {
+		if (index < 10) {
+			return (int) (msb >>> (61 - 5 * index)) & 0b11111;
+		}
+		long random = index < 18 ? ((msb & 0xffffL) << 24) | (lsb >>> 40) : lsb;
+		return (int) (random >>> (35 - 5 * ((index - 10) & 7))) & 0b11111;
+	}
+
+	private static Ulid decode(byte[] text) {
+		long msb = 0;
+		long lsb = 0;
+		for (int i = 0; i < Ulid.ULID_CHARS; i++) {
+			final int value = VALUES[text[i] & 0x7f];
+			if (value < 0 || text[i] < 0) {
+				throw new IllegalArgumentException();
+			}
+			msb = (msb << 5) | (lsb >>> 59);
+			lsb = (lsb << 5) | value;
+		}
+		return new Ulid(msb, lsb); // the 2 extra leading bits are shifted out
+	}
+}
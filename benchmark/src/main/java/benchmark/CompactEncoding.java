@@ -0,0 +1,72 @@
+
+package benchmark;
+
+import com.github.f4b6a3.ulid.Ulid;
+import com.github.f4b6a3.ulid.UlidCreator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the canonical string with the 22-char base 62 and sortable base 64
+ * strings, and with RFC 4648 base64url from {@link java.util.Base64}.
+ */
+@Fork(1)
+@Threads(1)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 3)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CompactEncoding {
+
+	private final Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+	private final Base64.Decoder decoder = Base64.getUrlDecoder();
+
+	private final Ulid ulid = UlidCreator.getUlid();
+	private final String base32 = ulid.toString();
+	private final String base62 = ulid.toBase62();
+	private final String base64 = ulid.toSortableBase64();
+	private final String base64Url = encoder.encodeToString(ulid.toBytes());
+
+	@Benchmark
+	public String Ulid_toString() {
+		return ulid.toString();
+	}
+
+	@Benchmark
+	public String Ulid_toBase62() {
+		return ulid.toBase62();
+	}
+
+	@Benchmark
+	public String Ulid_toSortableBase64() {
+		return ulid.toSortableBase64();
+	}
+
+	@Benchmark
+	public String Base64_encodeToString() {
+		return encoder.encodeToString(ulid.toBytes());
+	}
+
+	@Benchmark
+	public Ulid Ulid_from_string() {
+		return Ulid.from(base32);
+	}
+
+	@Benchmark
+	public Ulid Ulid_fromBase62() {
+		return Ulid.fromBase62(base62);
+	}
+
+	@Benchmark
+	public Ulid Ulid_fromSortableBase64() {
+		return Ulid.fromSortableBase64(base64);
+	}
+
+	@Benchmark
+	public Ulid Base64_decode() {
+		return Ulid.from(decoder.decode(base64Url));
+	}
+}
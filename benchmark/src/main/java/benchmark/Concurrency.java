@@ -0,0 +1,44 @@
+
+package benchmark;
+
+import com.github.f4b6a3.ulid.Ulid;
+import com.github.f4b6a3.ulid.UlidFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the monotonic factories when all the cores share the same factory.
+ * <p>
+ * To see how they scale, run it with different thread counts, for example:
+ * {@code java -jar target/benchmarks.jar Concurrency -t 1}, then {@code -t 2},
+ * {@code -t 4} and so on.
+ */
+@Fork(1)
+@Threads(Threads.MAX)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 3)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class Concurrency {
+
+	private final UlidFactory monotonicFactory = UlidFactory.newMonotonicInstance();
+	private final UlidFactory lockFreeMonotonicFactory = UlidFactory.newLockFreeMonotonicInstance();
+	private final UlidFactory stripedMonotonicFactory = UlidFactory.newStripedMonotonicInstance();
+
+	@Benchmark
+	public Ulid UlidFactory_monotonic() {
+		return monotonicFactory.create();
+	}
+
+	@Benchmark
+	public Ulid UlidFactory_lockFreeMonotonic() {
+		return lockFreeMonotonicFactory.create();
+	}
+
+	@Benchmark
+	public Ulid UlidFactory_stripedMonotonic() {
+		return stripedMonotonicFactory.create();
+	}
+}
@@ -0,0 +1,74 @@
+
+package benchmark;
+
+import com.github.f4b6a3.ulid.Ulid;
+import com.github.f4b6a3.ulid.UlidCreator;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@code toString()} with the encoders that write into a reused
+ * buffer.
+ */
+@Fork(1)
+@Threads(1)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 3)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class Encoding {
+
+	private final Ulid ulid = UlidCreator.getUlid();
+
+	private final char[] chars = new char[Ulid.ULID_CHARS];
+	private final byte[] bytes = new byte[Ulid.ULID_CHARS];
+	private final ByteBuffer heap = ByteBuffer.allocate(Ulid.ULID_CHARS);
+	private final ByteBuffer direct = ByteBuffer.allocateDirect(Ulid.ULID_CHARS);
+	private final StringBuilder builder = new StringBuilder(Ulid.ULID_CHARS);
+
+	@Benchmark
+	public String Ulid_toString() {
+		return ulid.toString();
+	}
+
+	@Benchmark
+	public byte[] Ulid_toString_getBytes() {
+		return ulid.toString().getBytes(StandardCharsets.US_ASCII);
+	}
+
+	@Benchmark
+	public char[] Ulid_writeTo_chars() {
+		ulid.writeTo(chars, 0);
+		return chars;
+	}
+
+	@Benchmark
+	public byte[] Ulid_writeTo_bytes() {
+		ulid.writeTo(bytes, 0);
+		return bytes;
+	}
+
+	@Benchmark
+	public ByteBuffer Ulid_writeTo_heapBuffer() {
+		heap.clear();
+		ulid.writeTo(heap);
+		return heap;
+	}
+
+	@Benchmark
+	public ByteBuffer Ulid_writeTo_directBuffer() {
+		direct.clear();
+		ulid.writeTo(direct);
+		return direct;
+	}
+
+	@Benchmark
+	public StringBuilder Ulid_appendTo_builder() {
+		builder.setLength(0);
+		return ulid.appendTo(builder);
+	}
+}
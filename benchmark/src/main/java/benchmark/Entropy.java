@@ -0,0 +1,44 @@
+
+package benchmark;
+
+import com.github.f4b6a3.ulid.AesCtrRandom;
+import com.github.f4b6a3.ulid.PooledRandom;
+import com.github.f4b6a3.ulid.Ulid;
+import com.github.f4b6a3.ulid.UlidFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the sources of entropy of the default (non-monotonic) factory.
+ * <p>
+ * The default factory calls {@code SecureRandom} for each ULID.
+ */
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 3)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class Entropy {
+
+	private final UlidFactory secureRandomFactory = UlidFactory.newInstance();
+	private final UlidFactory pooledRandomFactory = UlidFactory.newInstance(new PooledRandom());
+	private final UlidFactory aesCtrRandomFactory = UlidFactory.newInstance(new AesCtrRandom());
+
+	@Benchmark
+	public Ulid UlidFactory_SecureRandom() {
+		return secureRandomFactory.create();
+	}
+
+	@Benchmark
+	public Ulid UlidFactory_PooledRandom() {
+		return pooledRandomFactory.create();
+	}
+
+	@Benchmark
+	public Ulid UlidFactory_AesCtrRandom() {
+		return aesCtrRandomFactory.create();
+	}
+}
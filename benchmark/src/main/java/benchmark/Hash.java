@@ -0,0 +1,110 @@
+
+package benchmark;
+
+import com.github.f4b6a3.ulid.HashUlidFactory;
+import com.github.f4b6a3.ulid.Ulid;
+import com.github.f4b6a3.ulid.UlidCreator;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the existing SHA-256 path with the hash ULID factories.
+ */
+@Fork(1)
+@Threads(1)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 3)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class Hash {
+
+	private final String string = "0123456789abcdef0123456789abcdef";
+	private final byte[] bytes = new byte[1024];
+	private final ByteBuffer direct = ByteBuffer.allocateDirect(1024);
+
+	private final HashUlidFactory sha256Factory = HashUlidFactory.newInstance();
+	private final HashUlidFactory murmur3Factory = HashUlidFactory.newMurmur3Instance();
+
+	// a namespace of 64 bytes followed by a short key
+	private final byte[] namespace = new byte[64];
+	private final byte[] key = "user:12345".getBytes(StandardCharsets.UTF_8);
+	private final byte[] prefixed = new byte[namespace.length + key.length];
+	private HashUlidFactory sha256NamespaceFactory;
+	private HashUlidFactory murmur3NamespaceFactory;
+
+	@Setup
+	public void setup() {
+		new Random().nextBytes(bytes);
+		direct.put(bytes).flip();
+		new Random().nextBytes(namespace);
+		System.arraycopy(namespace, 0, prefixed, 0, namespace.length);
+		System.arraycopy(key, 0, prefixed, namespace.length, key.length);
+		sha256NamespaceFactory = HashUlidFactory.newInstance("SHA-256", namespace);
+		murmur3NamespaceFactory = HashUlidFactory.newMurmur3Instance(0L, namespace);
+	}
+
+	@Benchmark
+	public Ulid UlidCreator_getHashUlid_String() {
+		return UlidCreator.getHashUlid(0L, string);
+	}
+
+	@Benchmark
+	public Ulid HashUlidFactory_sha256_String() {
+		return sha256Factory.create(0L, string);
+	}
+
+	@Benchmark
+	public Ulid HashUlidFactory_murmur3_String() {
+		return murmur3Factory.create(0L, string);
+	}
+
+	@Benchmark
+	public Ulid UlidCreator_getHashUlid_1KiB() {
+		return UlidCreator.getHashUlid(0L, bytes);
+	}
+
+	@Benchmark
+	public Ulid HashUlidFactory_sha256_1KiB() {
+		return sha256Factory.create(0L, bytes);
+	}
+
+	@Benchmark
+	public Ulid HashUlidFactory_murmur3_1KiB() {
+		return murmur3Factory.create(0L, bytes);
+	}
+
+	@Benchmark
+	public Ulid HashUlidFactory_sha256_direct_1KiB() {
+		return sha256Factory.create(0L, direct);
+	}
+
+	@Benchmark
+	public Ulid HashUlidFactory_murmur3_direct_1KiB() {
+		return murmur3Factory.create(0L, direct);
+	}
+
+	@Benchmark
+	public Ulid HashUlidFactory_sha256_prefixed() {
+		return sha256Factory.create(0L, prefixed);
+	}
+
+	@Benchmark
+	public Ulid HashUlidFactory_sha256_namespace() {
+		return sha256NamespaceFactory.create(0L, key);
+	}
+
+	@Benchmark
+	public Ulid HashUlidFactory_murmur3_prefixed() {
+		return murmur3Factory.create(0L, prefixed);
+	}
+
+	@Benchmark
+	public Ulid HashUlidFactory_murmur3_namespace() {
+		return murmur3NamespaceFactory.create(0L, key);
+	}
+}
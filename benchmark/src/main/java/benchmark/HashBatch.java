@@ -0,0 +1,72 @@
+
+package benchmark;
+
+import com.github.f4b6a3.ulid.HashUlidFactory;
+import com.github.f4b6a3.ulid.Ulid;
+import com.github.f4b6a3.ulid.UlidCreator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares a sequential loop of hash ULIDs with the parallel bulk methods.
+ * <p>
+ * The score is the number of ULIDs created per millisecond.
+ */
+@Fork(1)
+@Threads(1)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 3)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@OperationsPerInvocation(HashBatch.BATCH_SIZE)
+public class HashBatch {
+
+	static final int BATCH_SIZE = 100_000;
+
+	private final long[] times = new long[BATCH_SIZE];
+	private final String[] keys = new String[BATCH_SIZE];
+
+	private final Ulid[] ulids = new Ulid[BATCH_SIZE];
+	private final long[] longs = new long[BATCH_SIZE * 2];
+
+	private final HashUlidFactory sha256Factory = HashUlidFactory.newInstance();
+	private final HashUlidFactory murmur3Factory = HashUlidFactory.newMurmur3Instance();
+
+	@Setup
+	public void setup() {
+		final long time = System.currentTimeMillis();
+		for (int i = 0; i < BATCH_SIZE; i++) {
+			times[i] = time - i;
+			keys[i] = UUID.randomUUID().toString();
+		}
+	}
+
+	@Benchmark
+	public Ulid[] UlidCreator_getHashUlid_loop() {
+		for (int i = 0; i < BATCH_SIZE; i++) {
+			ulids[i] = UlidCreator.getHashUlid(times[i], keys[i]);
+		}
+		return ulids;
+	}
+
+	@Benchmark
+	public Ulid[] HashUlidFactory_sha256_fill() {
+		sha256Factory.fill(times, keys, ulids);
+		return ulids;
+	}
+
+	@Benchmark
+	public long[] HashUlidFactory_sha256_fill_longs() {
+		sha256Factory.fill(times, keys, longs);
+		return longs;
+	}
+
+	@Benchmark
+	public Ulid[] HashUlidFactory_murmur3_fill() {
+		murmur3Factory.fill(times, keys, ulids);
+		return ulids;
+	}
+}
@@ -0,0 +1,69 @@
+
+package benchmark;
+
+import com.github.f4b6a3.ulid.HashUlidCache;
+import com.github.f4b6a3.ulid.HashUlidFactory;
+import com.github.f4b6a3.ulid.Ulid;
+import com.github.f4b6a3.ulid.UlidCreator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares hashing every key with a cache, for a skewed set of keys.
+ * <p>
+ * Nine in ten requests take one of 100 hot keys, the others take one of 100,000
+ * cold keys.
+ */
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 3)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class HashCache {
+
+	private final String[] hot = new String[100];
+	private final String[] cold = new String[100_000];
+
+	private final HashUlidCache sha256Cache = new HashUlidCache(1000);
+	private final HashUlidCache murmur3Cache = new HashUlidCache(HashUlidFactory.newMurmur3Instance(), 1000);
+
+	@Setup
+	public void setup() {
+		for (int i = 0; i < hot.length; i++) {
+			hot[i] = "hot-key-" + i;
+		}
+		for (int i = 0; i < cold.length; i++) {
+			cold[i] = "cold-key-" + i;
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		System.out.printf("%nsha256 cache: %s hits, %s misses, %s evictions%n", sha256Cache.getHitCount(),
+				sha256Cache.getMissCount(), sha256Cache.getEvictionCount());
+	}
+
+	private String key() {
+		final ThreadLocalRandom random = ThreadLocalRandom.current();
+		return random.nextInt(10) == 0 ? cold[random.nextInt(cold.length)] : hot[random.nextInt(hot.length)];
+	}
+
+	@Benchmark
+	public Ulid UlidCreator_getHashUlid() {
+		return UlidCreator.getHashUlid(0L, key());
+	}
+
+	@Benchmark
+	public Ulid HashUlidCache_sha256() {
+		return sha256Cache.get(0L, key());
+	}
+
+	@Benchmark
+	public Ulid HashUlidCache_murmur3() {
+		return murmur3Cache.get(0L, key());
+	}
+}
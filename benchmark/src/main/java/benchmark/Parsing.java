@@ -0,0 +1,72 @@
+
+package benchmark;
+
+import com.github.f4b6a3.ulid.Ulid;
+import com.github.f4b6a3.ulid.UlidCreator;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares parsing from strings, char sequences, arrays and buffers.
+ */
+@Fork(1)
+@Threads(1)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 3)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class Parsing {
+
+	private final String string = UlidCreator.getUlid().toString();
+	private final StringBuilder builder = new StringBuilder(string);
+	private final char[] chars = string.toCharArray();
+	private final byte[] bytes = string.getBytes(StandardCharsets.US_ASCII);
+	private final ByteBuffer heap = ByteBuffer.wrap(bytes);
+	private final ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length).put(bytes);
+
+	@Benchmark
+	public Ulid Ulid_from_string() {
+		return Ulid.from(string);
+	}
+
+	@Benchmark
+	public long Ulid_getTime_string() {
+		return Ulid.getTime(string);
+	}
+
+	@Benchmark
+	public boolean Ulid_isValid_string() {
+		return Ulid.isValid(string);
+	}
+
+	@Benchmark
+	public Ulid Ulid_parse_builder() {
+		return Ulid.parse(builder);
+	}
+
+	@Benchmark
+	public Ulid Ulid_parse_chars() {
+		return Ulid.parse(chars, 0);
+	}
+
+	@Benchmark
+	public Ulid Ulid_parse_bytes() {
+		return Ulid.parse(bytes, 0);
+	}
+
+	@Benchmark
+	public Ulid Ulid_parse_heapBuffer() {
+		heap.clear();
+		return Ulid.parse(heap);
+	}
+
+	@Benchmark
+	public Ulid Ulid_parse_directBuffer() {
+		direct.clear();
+		return Ulid.parse(direct);
+	}
+}
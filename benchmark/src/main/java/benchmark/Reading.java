@@ -0,0 +1,88 @@
+
+package benchmark;
+
+import com.github.f4b6a3.ulid.Ulid;
+import com.github.f4b6a3.ulid.UlidCreator;
+import com.github.f4b6a3.ulid.UlidReader;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares ways to read a file of newline-delimited ULIDs. The score is the
+ * time per ULID.
+ */
+@Fork(1)
+@Threads(1)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 3)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@OperationsPerInvocation(Reading.COUNT)
+public class Reading {
+
+	static final int COUNT = 1_000_000;
+
+	private Path path;
+
+	@Setup
+	public void setup() throws IOException {
+		path = Files.createTempFile("ulids", ".txt");
+		try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.US_ASCII)) {
+			for (int i = 0; i < COUNT; i++) {
+				writer.write(UlidCreator.getUlid().toString());
+				writer.write('\n');
+			}
+		}
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		Files.delete(path);
+	}
+
+	@Benchmark
+	public long BufferedReader_readLine() throws IOException {
+		long sum = 0;
+		try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.US_ASCII)) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				sum += Ulid.from(line).getLeastSignificantBits();
+			}
+		}
+		return sum;
+	}
+
+	@Benchmark
+	public long UlidReader_forEach_channel() throws IOException {
+		final long[] sum = new long[1];
+		try (UlidReader reader = new UlidReader(FileChannel.open(path))) {
+			reader.forEach((msb, lsb) -> sum[0] += lsb);
+		}
+		return sum[0];
+	}
+
+	@Benchmark
+	public long UlidReader_forEach_mapped() throws IOException {
+		final long[] sum = new long[1];
+		try (FileChannel channel = FileChannel.open(path)) {
+			UlidReader.forEach(channel, (msb, lsb) -> sum[0] += lsb);
+		}
+		return sum[0];
+	}
+
+	@Benchmark
+	public long UlidReader_stream_parallel() throws IOException {
+		try (FileChannel channel = FileChannel.open(path)) {
+			return UlidReader.stream(channel, true).mapToLong(Ulid::getLeastSignificantBits).sum();
+		}
+	}
+}
@@ -0,0 +1,66 @@
+
+package benchmark;
+
+import com.github.f4b6a3.ulid.Ulid;
+import com.github.f4b6a3.ulid.UlidCreator;
+import com.github.f4b6a3.ulid.UlidStringCache;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@code toString()} with {@link UlidStringCache} for a hot set of
+ * ULIDs. Run with {@code -prof gc} to see the allocation rate.
+ */
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 3)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StringCache {
+
+	@Param({ "1000", "100000" })
+	private int hotSet;
+
+	@Param({ "true", "false" })
+	private boolean recordStats;
+
+	private Ulid[] ulids;
+	private UlidStringCache cache;
+
+	@Setup
+	public void setup() {
+		ulids = new Ulid[hotSet];
+		for (int i = 0; i < hotSet; i++) {
+			ulids[i] = UlidCreator.getUlid();
+		}
+		// 4 times the hot set, for a hit rate of about 97%
+		cache = new UlidStringCache(4 * hotSet, recordStats);
+	}
+
+	@State(Scope.Thread)
+	public static class Index {
+		private final Random random = new Random();
+	}
+
+	@Benchmark
+	public String Ulid_toString(Index index) {
+		return ulids[index.random.nextInt(hotSet)].toString();
+	}
+
+	@Benchmark
+	public String UlidStringCache_toString(Index index) {
+		return cache.toString(ulids[index.random.nextInt(hotSet)]);
+	}
+
+	@TearDown
+	public void report() {
+		if (recordStats) {
+			System.out.printf("%nhit rate: %.3f, footprint: %d KB%n", cache.getHitRate(),
+					cache.getMemoryFootprint() / 1024);
+		}
+	}
+}
@@ -3,6 +3,7 @@ package benchmark;
 
 import com.github.f4b6a3.ulid.Ulid;
 import com.github.f4b6a3.ulid.UlidCreator;
+import com.github.f4b6a3.ulid.UlidFactory;
 import org.openjdk.jmh.annotations.*;
 
 import java.util.UUID;
@@ -17,6 +18,10 @@ import java.util.concurrent.TimeUnit;
 @OutputTimeUnit(TimeUnit.MILLISECONDS)
 public class Throughput {
 
+	private final UlidFactory lockFreeMonotonicFactory = UlidFactory.newLockFreeMonotonicInstance();
+	private final UlidFactory stripedMonotonicFactory = UlidFactory.newStripedMonotonicInstance();
+	private final UlidFactory prefetchFactory = UlidFactory.newPrefetchInstance();
+
 	@Benchmark
 	public UUID UUID_randomUUID() {
 		return UUID.randomUUID();
@@ -57,6 +62,26 @@ public class Throughput {
 		return UlidCreator.getMonotonicUlid().toString();
 	}
 
+	@Benchmark
+	public Ulid UlidCreator_getThreadLocalMonotonicUlid() {
+		return UlidCreator.getThreadLocalMonotonicUlid();
+	}
+
+	@Benchmark
+	public Ulid UlidFactory_lockFreeMonotonic() {
+		return lockFreeMonotonicFactory.create();
+	}
+
+	@Benchmark
+	public Ulid UlidFactory_stripedMonotonic() {
+		return stripedMonotonicFactory.create();
+	}
+
+	@Benchmark
+	public Ulid UlidFactory_prefetch() {
+		return prefetchFactory.create();
+	}
+
 	@Benchmark
 	public Ulid UlidCreator_getHashUlid() {
 		return UlidCreator.getHashUlid(0L, "this is a test");
@@ -0,0 +1,71 @@
+
+package benchmark;
+
+import com.github.f4b6a3.ulid.Ulid;
+import com.github.f4b6a3.ulid.UlidCreator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares rejection costs of throwing and non-throwing parsers on a mixed
+ * workload of valid and invalid strings.
+ */
+@Fork(1)
+@Threads(1)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 3)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TryParse {
+
+	private static final int INPUTS = 1024;
+
+	@Param({ "0", "10", "50" })
+	private int invalidPercent;
+
+	private String[] strings;
+	private int index;
+
+	@Setup
+	public void setup() {
+		Random random = new Random(42);
+		strings = new String[INPUTS];
+		for (int i = 0; i < INPUTS; i++) {
+			String string = UlidCreator.getUlid().toString();
+			if (random.nextInt(100) < invalidPercent) {
+				// corrupt one character, or truncate the string
+				int position = random.nextInt(Ulid.ULID_CHARS);
+				string = random.nextBoolean() ? string.substring(0, position)
+						: string.substring(0, position) + 'U' + string.substring(position + 1);
+			}
+			strings[i] = string;
+		}
+	}
+
+	private String next() {
+		return strings[index++ & (INPUTS - 1)];
+	}
+
+	@Benchmark
+	public Ulid Ulid_from_catch() {
+		try {
+			return Ulid.from(next());
+		} catch (IllegalArgumentException e) {
+			return null;
+		}
+	}
+
+	@Benchmark
+	public Ulid Ulid_isValid_from() {
+		String string = next();
+		return Ulid.isValid(string) ? Ulid.from(string) : null;
+	}
+
+	@Benchmark
+	public Ulid Ulid_tryParse() {
+		return Ulid.tryParse(next());
+	}
+}
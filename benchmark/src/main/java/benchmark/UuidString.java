@@ -0,0 +1,56 @@
+
+package benchmark;
+
+import com.github.f4b6a3.ulid.Ulid;
+import com.github.f4b6a3.ulid.UlidCreator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares conversions between ULIDs and UUID strings.
+ */
+@Fork(1)
+@Threads(1)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 3)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class UuidString {
+
+	private final Ulid ulid = UlidCreator.getUlid();
+	private final String ulidString = ulid.toString();
+	private final String uuidString = ulid.toUuidString();
+
+	@Benchmark
+	public String Ulid_toUuid_toString() {
+		return ulid.toUuid().toString();
+	}
+
+	@Benchmark
+	public String Ulid_toUuidString() {
+		return ulid.toUuidString();
+	}
+
+	@Benchmark
+	public Ulid Ulid_from_UUID_fromString() {
+		return Ulid.from(UUID.fromString(uuidString));
+	}
+
+	@Benchmark
+	public Ulid Ulid_parseUuid() {
+		return Ulid.parseUuid(uuidString);
+	}
+
+	@Benchmark
+	public Ulid Ulid_parseAny_ulid() {
+		return Ulid.parseAny(ulidString);
+	}
+
+	@Benchmark
+	public Ulid Ulid_parseAny_uuid() {
+		return Ulid.parseAny(uuidString);
+	}
+}
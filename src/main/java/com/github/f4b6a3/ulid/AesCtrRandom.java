@@ -0,0 +1,165 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2020-2023 Fabio Lima
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.f4b6a3.ulid;
+
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * A cryptographically strong random generator based on AES in counter mode.
+ * <p>
+ * It is a deterministic random bit generator (DRBG) that runs in-process: the
+ * random bytes are the key stream of AES-128 in CTR mode, which the JVM
+ * accelerates with AES-NI instructions where available. So the secure random
+ * generator is only called to seed each thread and to reseed it from time to
+ * time.
+ * <p>
+ * Each thread has its own cipher. After every block of bytes, the key and the
+ * counter are replaced with bytes taken from the key stream itself, so that the
+ * previous blocks can't be recovered from the current state. Every 16 MiB, the
+ * key and the counter are replaced with fresh bytes from the secure random
+ * generator.
+ * <p>
+ * It can be used with any factory method that accepts a {@link Random}:
+ * 
+ * <pre>{@code
+ * UlidFactory factory = UlidFactory.newInstance(new AesCtrRandom());
+ * }</pre>
+ * 
+ * @since 5.3.0
+ */
+public final class AesCtrRandom extends BlockRandom {
+
+	private static final long serialVersionUID = 6517530868624735591L;
+
+	/**
+	 * Default number of bytes generated at once by each thread.
+	 */
+	public static final int DEFAULT_BLOCK_SIZE = 4 * 1024;
+
+	// number of bytes generated before a reseed
+	static final long RESEED_INTERVAL = 16 * 1024 * 1024;
+
+	private static final String ALGORITHM = "AES";
+	private static final String TRANSFORMATION = "AES/CTR/NoPadding";
+	private static final int KEY_BYTES = 16;
+	private static final int IV_BYTES = 16;
+
+	/**
+	 * Creates an AES-CTR random generator seeded by a new {@link SecureRandom}.
+	 */
+	public AesCtrRandom() {
+		this(new SecureRandom());
+	}
+
+	/**
+	 * Creates an AES-CTR random generator.
+	 * 
+	 * @param seeder a secure random generator used to seed and reseed each thread
+	 */
+	public AesCtrRandom(SecureRandom seeder) {
+		this(seeder, DEFAULT_BLOCK_SIZE, RESEED_INTERVAL);
+	}
+
+	AesCtrRandom(SecureRandom seeder, int blockSize, long reseedInterval) {
+		super(supplier(seeder, blockSize, reseedInterval));
+	}
+
+	private static Supplier<Block> supplier(SecureRandom seeder, int blockSize, long reseedInterval) {
+		Objects.requireNonNull(seeder, "Secure random generator must not be null");
+		return () -> new CipherBlock(seeder, blockSize, reseedInterval);
+	}
+
+	private static final class CipherBlock extends Block {
+
+		private final Cipher cipher;
+		private final SecureRandom seeder;
+		private final long reseedInterval;
+
+		private final byte[] seed = new byte[KEY_BYTES + IV_BYTES];
+		private long generated;
+
+		private CipherBlock(SecureRandom seeder, int size, long reseedInterval) {
+			super(size);
+			this.seeder = seeder;
+			this.reseedInterval = reseedInterval;
+			try {
+				this.cipher = Cipher.getInstance(TRANSFORMATION);
+			} catch (GeneralSecurityException e) {
+				throw new RuntimeException(String.format("%s not supported", TRANSFORMATION), e);
+			}
+			reseed();
+		}
+
+		@Override
+		void refill() {
+
+			if (this.generated >= this.reseedInterval) {
+				reseed();
+			}
+
+			try {
+				// the key stream is the encryption of zeros
+				Arrays.fill(this.bytes, (byte) 0);
+				this.cipher.update(this.bytes, 0, this.bytes.length, this.bytes, 0);
+				// the next key is taken from the key stream, not from the output
+				Arrays.fill(this.seed, (byte) 0);
+				this.cipher.update(this.seed, 0, this.seed.length, this.seed, 0);
+			} catch (GeneralSecurityException e) {
+				throw new IllegalStateException(e);
+			}
+
+			rekey();
+			this.generated += this.bytes.length;
+			this.position = 0;
+		}
+
+		private void reseed() {
+			this.seeder.nextBytes(this.seed);
+			rekey();
+			this.generated = 0;
+		}
+
+		private void rekey() {
+			try {
+				final SecretKeySpec key = new SecretKeySpec(this.seed, 0, KEY_BYTES, ALGORITHM);
+				final IvParameterSpec iv = new IvParameterSpec(this.seed, KEY_BYTES, IV_BYTES);
+				this.cipher.init(Cipher.ENCRYPT_MODE, key, iv);
+			} catch (GeneralSecurityException e) {
+				throw new RuntimeException(String.format("%s not supported", TRANSFORMATION), e);
+			} finally {
+				Arrays.fill(this.seed, (byte) 0);
+			}
+		}
+	}
+}
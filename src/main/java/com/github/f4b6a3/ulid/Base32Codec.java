@@ -0,0 +1,277 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2020-2023 Fabio Lima
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.f4b6a3.ulid;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * A Crockford's base 32 codec that works on two characters at a time.
+ * <p>
+ * The encoder looks up 10 bits at once in a table of character pairs, so a
+ * ULID takes 13 lookups instead of 26.
+ * <p>
+ * The decoder reads direct buffers 8 bytes at a time into longs, whose high
+ * bits are tested at once to reject non-ASCII bytes (SWAR, SIMD within a
+ * register). Then each 16-bit lane is looked up in a table indexed by two 7-bit
+ * ASCII characters. Arrays and char sequences are decoded in {@code Ulid}
+ * instead, one character at a time, because assembling longs from an array
+ * byte by byte costs more than it saves.
+ */
+final class Base32Codec {
+
+	/*
+	 * The pairs of characters for each 10-bit value, with the first character in
+	 * the high byte and the second in the low byte.
+	 */
+	static final char[] PAIRS_UPPERCASE = pairs(Ulid.ALPHABET_UPPERCASE);
+	static final char[] PAIRS_LOWERCASE = pairs(Ulid.ALPHABET_LOWERCASE);
+
+	/*
+	 * The 10-bit value of each pair of ASCII characters, indexed by the first
+	 * character shifted left by 7 bits OR the second character. Pairs with any
+	 * invalid character have the value -1.
+	 */
+	private static final short[] PAIR_VALUES = new short[1 << 14];
+
+	private static final int PAIR_MASK = 0x3ff;
+
+	private static final long ASCII_MASK = 0x8080808080808080L;
+
+	static {
+		for (int c0 = 0; c0 < 128; c0++) {
+			for (int c1 = 0; c1 < 128; c1++) {
+				final int v0 = Ulid.ALPHABET_VALUES[c0];
+				final int v1 = Ulid.ALPHABET_VALUES[c1];
+				PAIR_VALUES[c0 << 7 | c1] = (short) (v0 < 0 || v1 < 0 ? -1 : v0 << 5 | v1);
+			}
+		}
+	}
+
+	private Base32Codec() {
+	}
+
+	static void encode(long msb, long lsb, char[] chars, int offset, char[] pairs) {
+
+		final long time = msb >>> 16;
+		final long random0 = ((msb & 0xffffL) << 24) | (lsb >>> 40);
+		final long random1 = (lsb & 0xffffffffffL);
+
+		set(chars, offset + 0x00, pairs[(int) (time >>> 40) & PAIR_MASK]);
+		set(chars, offset + 0x02, pairs[(int) (time >>> 30) & PAIR_MASK]);
+		set(chars, offset + 0x04, pairs[(int) (time >>> 20) & PAIR_MASK]);
+		set(chars, offset + 0x06, pairs[(int) (time >>> 10) & PAIR_MASK]);
+		set(chars, offset + 0x08, pairs[(int) time & PAIR_MASK]);
+
+		set(chars, offset + 0x0a, pairs[(int) (random0 >>> 30) & PAIR_MASK]);
+		set(chars, offset + 0x0c, pairs[(int) (random0 >>> 20) & PAIR_MASK]);
+		set(chars, offset + 0x0e, pairs[(int) (random0 >>> 10) & PAIR_MASK]);
+		set(chars, offset + 0x10, pairs[(int) random0 & PAIR_MASK]);
+
+		set(chars, offset + 0x12, pairs[(int) (random1 >>> 30) & PAIR_MASK]);
+		set(chars, offset + 0x14, pairs[(int) (random1 >>> 20) & PAIR_MASK]);
+		set(chars, offset + 0x16, pairs[(int) (random1 >>> 10) & PAIR_MASK]);
+		set(chars, offset + 0x18, pairs[(int) random1 & PAIR_MASK]);
+	}
+
+	static void encode(long msb, long lsb, byte[] bytes, int offset, char[] pairs) {
+
+		final long time = msb >>> 16;
+		final long random0 = ((msb & 0xffffL) << 24) | (lsb >>> 40);
+		final long random1 = (lsb & 0xffffffffffL);
+
+		set(bytes, offset + 0x00, pairs[(int) (time >>> 40) & PAIR_MASK]);
+		set(bytes, offset + 0x02, pairs[(int) (time >>> 30) & PAIR_MASK]);
+		set(bytes, offset + 0x04, pairs[(int) (time >>> 20) & PAIR_MASK]);
+		set(bytes, offset + 0x06, pairs[(int) (time >>> 10) & PAIR_MASK]);
+		set(bytes, offset + 0x08, pairs[(int) time & PAIR_MASK]);
+
+		set(bytes, offset + 0x0a, pairs[(int) (random0 >>> 30) & PAIR_MASK]);
+		set(bytes, offset + 0x0c, pairs[(int) (random0 >>> 20) & PAIR_MASK]);
+		set(bytes, offset + 0x0e, pairs[(int) (random0 >>> 10) & PAIR_MASK]);
+		set(bytes, offset + 0x10, pairs[(int) random0 & PAIR_MASK]);
+
+		set(bytes, offset + 0x12, pairs[(int) (random1 >>> 30) & PAIR_MASK]);
+		set(bytes, offset + 0x14, pairs[(int) (random1 >>> 20) & PAIR_MASK]);
+		set(bytes, offset + 0x16, pairs[(int) (random1 >>> 10) & PAIR_MASK]);
+		set(bytes, offset + 0x18, pairs[(int) random1 & PAIR_MASK]);
+	}
+
+	/*
+	 * Returns the pair of characters from 0 to 12, for destinations that are
+	 * written one character at a time.
+	 */
+	static char pair(long msb, long lsb, int index, char[] pairs) {
+		if (index < 5) {
+			return pairs[(int) (msb >>> (56 - 10 * index)) & PAIR_MASK];
+		}
+		final long random = index < 9 ? ((msb & 0xffffL) << 24) | (lsb >>> 40) : lsb;
+		return pairs[(int) (random >>> (30 - 10 * ((index - 5) & 3))) & PAIR_MASK];
+	}
+
+	/*
+	 * Writes 26 ASCII bytes at an absolute position with 3 putLong calls and 1
+	 * putShort call. The 13 pairs line up exactly with the 4 words.
+	 */
+	static void encode(long msb, long lsb, ByteBuffer buffer, int position, char[] pairs) {
+
+		final long time = msb >>> 16;
+		final long random0 = ((msb & 0xffffL) << 24) | (lsb >>> 40);
+		final long random1 = (lsb & 0xffffffffffL);
+
+		final long word0 = (long) pairs[(int) (time >>> 40) & PAIR_MASK] << 48
+				| (long) pairs[(int) (time >>> 30) & PAIR_MASK] << 32
+				| (long) pairs[(int) (time >>> 20) & PAIR_MASK] << 16
+				| (long) pairs[(int) (time >>> 10) & PAIR_MASK];
+		final long word1 = (long) pairs[(int) time & PAIR_MASK] << 48
+				| (long) pairs[(int) (random0 >>> 30) & PAIR_MASK] << 32
+				| (long) pairs[(int) (random0 >>> 20) & PAIR_MASK] << 16
+				| (long) pairs[(int) (random0 >>> 10) & PAIR_MASK];
+		final long word2 = (long) pairs[(int) random0 & PAIR_MASK] << 48
+				| (long) pairs[(int) (random1 >>> 30) & PAIR_MASK] << 32
+				| (long) pairs[(int) (random1 >>> 20) & PAIR_MASK] << 16
+				| (long) pairs[(int) (random1 >>> 10) & PAIR_MASK];
+		final char word3 = pairs[(int) random1 & PAIR_MASK];
+
+		final boolean bigEndian = buffer.order() == ByteOrder.BIG_ENDIAN;
+		buffer.putLong(position, bigEndian ? word0 : Long.reverseBytes(word0));
+		buffer.putLong(position + 8, bigEndian ? word1 : Long.reverseBytes(word1));
+		buffer.putLong(position + 16, bigEndian ? word2 : Long.reverseBytes(word2));
+		buffer.putChar(position + 24, bigEndian ? word3 : Character.reverseBytes(word3));
+	}
+
+	/*
+	 * Validates and decodes 26 ASCII bytes at an absolute position of a direct
+	 * buffer, or returns null if they are invalid. The bytes are read with 3
+	 * getLong calls and 1 getChar call.
+	 */
+	static Ulid decode(ByteBuffer buffer, int position) {
+		final boolean bigEndian = buffer.order() == ByteOrder.BIG_ENDIAN;
+		final long word0 = buffer.getLong(position);
+		final long word1 = buffer.getLong(position + 8);
+		final long word2 = buffer.getLong(position + 16);
+		final char word3 = buffer.getChar(position + 24);
+		return decode(bigEndian ? word0 : Long.reverseBytes(word0), bigEndian ? word1 : Long.reverseBytes(word1),
+				bigEndian ? word2 : Long.reverseBytes(word2), bigEndian ? word3 : Character.reverseBytes(word3));
+	}
+
+	private static Ulid decode(long word0, long word1, long word2, int word3) {
+
+		if (((word0 | word1 | word2 | word3) & ASCII_MASK) != 0) {
+			return null; // non-ASCII byte!
+		}
+
+		final int v00 = value(word0 >>> 48);
+		final int v01 = value(word0 >>> 32);
+		final int v02 = value(word0 >>> 16);
+		final int v03 = value(word0);
+		final int v04 = value(word1 >>> 48);
+		final int v05 = value(word1 >>> 32);
+		final int v06 = value(word1 >>> 16);
+		final int v07 = value(word1);
+		final int v08 = value(word2 >>> 48);
+		final int v09 = value(word2 >>> 32);
+		final int v10 = value(word2 >>> 16);
+		final int v11 = value(word2);
+		final int v12 = value(word3);
+
+		final long time = (long) v00 << 40 | (long) v01 << 30 | (long) v02 << 20 | (long) v03 << 10 | v04;
+		final long random0 = (long) v05 << 30 | (long) v06 << 20 | (long) v07 << 10 | v08;
+		final long random1 = (long) v09 << 30 | (long) v10 << 20 | (long) v11 << 10 | v12;
+
+		final int check = v00 | v01 | v02 | v03 | v04 | v05 | v06 | v07 | v08 | v09 | v10 | v11 | v12;
+		return Ulid.decode(time, random0, random1, check);
+	}
+
+	/*
+	 * Decodes the MSB and the LSB into an array, at an index and at the next
+	 * index, without creating a ULID. Returns false if the bytes are invalid.
+	 */
+	static boolean decode(ByteBuffer buffer, int position, long[] longs, int index) {
+		final boolean bigEndian = buffer.order() == ByteOrder.BIG_ENDIAN;
+		final long word0 = buffer.getLong(position);
+		final long word1 = buffer.getLong(position + 8);
+		final long word2 = buffer.getLong(position + 16);
+		final char word3 = buffer.getChar(position + 24);
+		return decode(bigEndian ? word0 : Long.reverseBytes(word0), bigEndian ? word1 : Long.reverseBytes(word1),
+				bigEndian ? word2 : Long.reverseBytes(word2), bigEndian ? word3 : Character.reverseBytes(word3), longs,
+				index);
+	}
+
+	private static boolean decode(long word0, long word1, long word2, int word3, long[] longs, int index) {
+
+		if (((word0 | word1 | word2 | word3) & ASCII_MASK) != 0) {
+			return false; // non-ASCII byte!
+		}
+
+		final int v00 = value(word0 >>> 48);
+		final int v01 = value(word0 >>> 32);
+		final int v02 = value(word0 >>> 16);
+		final int v03 = value(word0);
+		final int v04 = value(word1 >>> 48);
+		final int v05 = value(word1 >>> 32);
+		final int v06 = value(word1 >>> 16);
+		final int v07 = value(word1);
+		final int v08 = value(word2 >>> 48);
+		final int v09 = value(word2 >>> 32);
+		final int v10 = value(word2 >>> 16);
+		final int v11 = value(word2);
+		final int v12 = value(word3);
+
+		final long time = (long) v00 << 40 | (long) v01 << 30 | (long) v02 << 20 | (long) v03 << 10 | v04;
+		final long random0 = (long) v05 << 30 | (long) v06 << 20 | (long) v07 << 10 | v08;
+		final long random1 = (long) v09 << 30 | (long) v10 << 20 | (long) v11 << 10 | v12;
+
+		final int check = v00 | v01 | v02 | v03 | v04 | v05 | v06 | v07 | v08 | v09 | v10 | v11 | v12;
+		return Ulid.decode(time, random0, random1, check, longs, index);
+	}
+
+	/*
+	 * Looks up the 16-bit lane of two ASCII bytes, squeezing out the unused high
+	 * bit of the second byte to form a 14-bit index.
+	 */
+	private static int value(long lane) {
+		final int pair = (int) lane;
+		return PAIR_VALUES[(pair >>> 1 & 0x3f80) | (pair & 0x7f)];
+	}
+
+	private static void set(char[] chars, int index, char pair) {
+		chars[index] = (char) (pair >>> 8);
+		chars[index + 1] = (char) (pair & 0xff);
+	}
+
+	private static void set(byte[] bytes, int index, char pair) {
+		bytes[index] = (byte) (pair >>> 8);
+		bytes[index + 1] = (byte) pair;
+	}
+
+	private static char[] pairs(char[] alphabet) {
+		final char[] pairs = new char[1 << 10];
+		for (int i = 0; i < pairs.length; i++) {
+			pairs[i] = (char) (alphabet[i >>> 5] << 8 | alphabet[i & 0x1f]);
+		}
+		return pairs;
+	}
+}
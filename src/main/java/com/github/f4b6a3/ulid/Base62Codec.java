@@ -0,0 +1,156 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2020-2023 Fabio Lima
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.f4b6a3.ulid;
+
+import java.util.Arrays;
+
+/**
+ * A base 62 codec with an order-preserving alphabet.
+ * <p>
+ * The alphabet {@code 0-9A-Za-z} is in ASCII order and every ULID is encoded
+ * into exactly 22 characters, so the strings sort like the ULIDs. It is case
+ * sensitive.
+ * <p>
+ * The encoder divides the 128-bit number by 62^4 at a time, using 32-bit limbs
+ * and constant divisors, and looks up the 4 digits of each remainder as 2
+ * pairs of characters. The decoder reads the first 10 digits into a long and
+ * then multiplies the limbs by 62^2 for each pair of digits.
+ */
+final class Base62Codec {
+
+	static final int CHARS = 22;
+
+	static final char[] ALPHABET = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz".toCharArray();
+
+	private static final byte[] VALUES = new byte[256];
+
+	// the pairs of characters for each value from 0 to 62^2-1
+	private static final char[] PAIRS = new char[62 * 62];
+
+	private static final int PAIR_BASE = 62 * 62;
+	private static final long CHUNK_BASE = (long) PAIR_BASE * PAIR_BASE;
+
+	private static final long LIMB_MASK = 0xffffffffL;
+
+	static {
+		Arrays.fill(VALUES, (byte) -1);
+		for (int i = 0; i < ALPHABET.length; i++) {
+			VALUES[ALPHABET[i]] = (byte) i;
+		}
+		for (int i = 0; i < PAIRS.length; i++) {
+			PAIRS[i] = (char) (ALPHABET[i / 62] << 8 | ALPHABET[i % 62]);
+		}
+	}
+
+	private Base62Codec() {
+	}
+
+	static void encode(long msb, long lsb, char[] chars, int offset) {
+
+		long limb3 = msb >>> 32;
+		long limb2 = msb & LIMB_MASK;
+		long limb1 = lsb >>> 32;
+		long limb0 = lsb & LIMB_MASK;
+
+		// 5 chunks of 4 digits, from right to left
+		for (int i = offset + CHARS - 4; i > offset; i -= 4) {
+
+			// the remainders come from the quotients, as multiplications are cheaper
+			long value = limb3;
+			limb3 = value / CHUNK_BASE;
+			value = (value - limb3 * CHUNK_BASE) << 32 | limb2;
+			limb2 = value / CHUNK_BASE;
+			value = (value - limb2 * CHUNK_BASE) << 32 | limb1;
+			limb1 = value / CHUNK_BASE;
+			value = (value - limb1 * CHUNK_BASE) << 32 | limb0;
+			limb0 = value / CHUNK_BASE;
+
+			final int chunk = (int) (value - limb0 * CHUNK_BASE);
+			set(chars, i, PAIRS[chunk / PAIR_BASE]);
+			set(chars, i + 2, PAIRS[chunk % PAIR_BASE]);
+		}
+
+		// less than 2^128 / 62^20 is left
+		set(chars, offset, PAIRS[(int) limb0]);
+	}
+
+	/*
+	 * Validates and decodes 22 characters in a single pass.
+	 * 
+	 * Invalid characters have the value -1, which sets the sign bit of the check
+	 * variable. Values that do not fit in 128 bits leave a carry.
+	 * 
+	 * Returns null if the characters are invalid.
+	 */
+	static Ulid decode(CharSequence chars) {
+
+		int check = 0;
+
+		// 62^10 is less than 2^60
+		long head = 0;
+		for (int i = 0; i < 10; i++) {
+			final int value = valueOf(chars.charAt(i));
+			head = head * 62 + value;
+			check |= value;
+		}
+
+		long limb0 = head & LIMB_MASK;
+		long limb1 = head >>> 32;
+		long limb2 = 0;
+		long limb3 = 0;
+		long carry = 0;
+
+		for (int i = 10; i < CHARS; i += 2) {
+			final int value0 = valueOf(chars.charAt(i));
+			final int value1 = valueOf(chars.charAt(i + 1));
+			check |= value0 | value1;
+
+			long value = limb0 * PAIR_BASE + (value0 * 62 + value1);
+			limb0 = value & LIMB_MASK;
+			value = limb1 * PAIR_BASE + (value >>> 32);
+			limb1 = value & LIMB_MASK;
+			value = limb2 * PAIR_BASE + (value >>> 32);
+			limb2 = value & LIMB_MASK;
+			value = limb3 * PAIR_BASE + (value >>> 32);
+			limb3 = value & LIMB_MASK;
+			carry |= value >>> 32;
+		}
+
+		if (check < 0 || carry != 0) {
+			return null; // invalid character or overflow!
+		}
+
+		return new Ulid(limb3 << 32 | limb2, limb1 << 32 | limb0);
+	}
+
+	private static int valueOf(char chr) {
+		return chr < VALUES.length ? VALUES[chr] : -1; // multibyte character!
+	}
+
+	private static void set(char[] chars, int index, char pair) {
+		chars[index] = (char) (pair >>> 8);
+		chars[index + 1] = (char) (pair & 0xff);
+	}
+}
@@ -0,0 +1,136 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2020-2023 Fabio Lima
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.f4b6a3.ulid;
+
+import java.util.Arrays;
+
+/**
+ * A sortable base 64 codec.
+ * <p>
+ * The alphabet has the 64 URL-safe characters of base64url, but in ASCII order:
+ * {@code -0-9A-Z_a-z}. The 128 bits are padded with 4 leading zero bits and
+ * encoded into exactly 22 characters, so the strings sort like the ULIDs. It
+ * is case sensitive and it is not RFC 4648 base64url.
+ * <p>
+ * The encoder looks up 12 bits at once in a table of character pairs, so a
+ * ULID takes 11 lookups instead of 22.
+ */
+final class Base64Codec {
+
+	static final int CHARS = 22;
+
+	static final char[] ALPHABET = "-0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ_abcdefghijklmnopqrstuvwxyz".toCharArray();
+
+	private static final byte[] VALUES = new byte[256];
+
+	/*
+	 * The pairs of characters for each 12-bit value, with the first character in
+	 * the high byte and the second in the low byte.
+	 */
+	private static final char[] PAIRS = new char[1 << 12];
+
+	private static final int PAIR_MASK = 0xfff;
+
+	static {
+		Arrays.fill(VALUES, (byte) -1);
+		for (int i = 0; i < ALPHABET.length; i++) {
+			VALUES[ALPHABET[i]] = (byte) i;
+		}
+		for (int i = 0; i < PAIRS.length; i++) {
+			PAIRS[i] = (char) (ALPHABET[i >>> 6] << 8 | ALPHABET[i & 0x3f]);
+		}
+	}
+
+	private Base64Codec() {
+	}
+
+	static void encode(long msb, long lsb, char[] chars, int offset) {
+
+		set(chars, offset + 0x00, PAIRS[(int) (msb >>> 56) & PAIR_MASK]);
+		set(chars, offset + 0x02, PAIRS[(int) (msb >>> 44) & PAIR_MASK]);
+		set(chars, offset + 0x04, PAIRS[(int) (msb >>> 32) & PAIR_MASK]);
+		set(chars, offset + 0x06, PAIRS[(int) (msb >>> 20) & PAIR_MASK]);
+		set(chars, offset + 0x08, PAIRS[(int) (msb >>> 8) & PAIR_MASK]);
+		set(chars, offset + 0x0a, PAIRS[(int) (msb << 4 | lsb >>> 60) & PAIR_MASK]);
+		set(chars, offset + 0x0c, PAIRS[(int) (lsb >>> 48) & PAIR_MASK]);
+		set(chars, offset + 0x0e, PAIRS[(int) (lsb >>> 36) & PAIR_MASK]);
+		set(chars, offset + 0x10, PAIRS[(int) (lsb >>> 24) & PAIR_MASK]);
+		set(chars, offset + 0x12, PAIRS[(int) (lsb >>> 12) & PAIR_MASK]);
+		set(chars, offset + 0x14, PAIRS[(int) lsb & PAIR_MASK]);
+	}
+
+	/*
+	 * Validates and decodes 22 characters in a single pass.
+	 * 
+	 * Invalid characters have the value -1, which sets the sign bit of the check
+	 * variable. The first character must be one of the first 4 of the alphabet,
+	 * because it carries the 4 padding bits.
+	 * 
+	 * Returns null if the characters are invalid.
+	 */
+	static Ulid decode(CharSequence chars) {
+
+		final int first = valueOf(chars.charAt(0));
+		if (first >>> 2 != 0) {
+			return null; // invalid character or overflow!
+		}
+
+		// bits 127 to 66
+		long high = first;
+		int check = 0;
+		for (int i = 1; i < 11; i++) {
+			final int value = valueOf(chars.charAt(i));
+			high = (high << 6) | value;
+			check |= value;
+		}
+
+		// the 12th character is split between the two longs
+		final int middle = valueOf(chars.charAt(11));
+		check |= middle;
+
+		// bits 63 to 0
+		long low = middle & 0xf;
+		for (int i = 12; i < CHARS; i++) {
+			final int value = valueOf(chars.charAt(i));
+			low = (low << 6) | value;
+			check |= value;
+		}
+
+		if (check < 0) {
+			return null; // invalid character!
+		}
+
+		return new Ulid((high << 2) | (middle >>> 4), low);
+	}
+
+	private static int valueOf(char chr) {
+		return chr < VALUES.length ? VALUES[chr] : -1; // multibyte character!
+	}
+
+	private static void set(char[] chars, int index, char pair) {
+		chars[index] = (char) (pair >>> 8);
+		chars[index + 1] = (char) (pair & 0xff);
+	}
+}
@@ -0,0 +1,128 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2020-2023 Fabio Lima
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.f4b6a3.ulid;
+
+import java.io.NotSerializableException;
+import java.io.ObjectOutputStream;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * A random generator that hands out slices of per-thread blocks of bytes.
+ * <p>
+ * Subclasses decide how each block is refilled.
+ */
+abstract class BlockRandom extends Random implements UlidFactory.IRandom {
+
+	private static final long serialVersionUID = 2960329452196213137L;
+
+	private final transient ThreadLocal<Block> blocks;
+
+	BlockRandom(Supplier<Block> supplier) {
+		this.blocks = ThreadLocal.withInitial(supplier);
+	}
+
+	@Override
+	public long nextLong() {
+		return read(Long.BYTES);
+	}
+
+	@Override
+	public long nextBits(int bits) {
+		return read((bits + 7) / 8) & (0xffffffffffffffffL >>> (Long.SIZE - bits));
+	}
+
+	@Override
+	public byte[] nextBytes(int length) {
+		final byte[] bytes = new byte[length];
+		nextBytes(bytes);
+		return bytes;
+	}
+
+	@Override
+	public void nextBytes(byte[] bytes) {
+
+		final Block block = this.blocks.get();
+
+		int offset = 0;
+		while (offset < bytes.length) {
+			if (block.position == block.bytes.length) {
+				block.refill();
+			}
+			final int length = Math.min(bytes.length - offset, block.bytes.length - block.position);
+			System.arraycopy(block.bytes, block.position, bytes, offset, length);
+			block.position += length;
+			offset += length;
+		}
+	}
+
+	@Override
+	protected int next(int bits) {
+		return (int) (read(Integer.BYTES) >>> (Integer.SIZE - bits));
+	}
+
+	private long read(final int length) {
+
+		final Block block = this.blocks.get();
+
+		if (block.bytes.length - block.position < length) {
+			// the remaining bytes are discarded
+			block.refill();
+		}
+
+		long value = 0;
+		int position = block.position;
+		for (int i = 0; i < length; i++) {
+			value = (value << 8) | (block.bytes[position++] & 0xffL);
+		}
+		block.position = position;
+
+		return value;
+	}
+
+	private void writeObject(ObjectOutputStream out) throws NotSerializableException {
+		// the pooled bytes must not leave the process
+		throw new NotSerializableException(getClass().getName());
+	}
+
+	/**
+	 * A block of bytes owned by a single thread.
+	 */
+	abstract static class Block {
+
+		final byte[] bytes;
+		int position;
+
+		Block(int size) {
+			this.bytes = new byte[size];
+			this.position = size; // empty
+		}
+
+		/**
+		 * Fills the whole block with new bytes and resets the position.
+		 */
+		abstract void refill();
+	}
+}
@@ -0,0 +1,289 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2020-2023 Fabio Lima
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.f4b6a3.ulid;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A bulk codec that converts arrays of ULIDs to and from ASCII text.
+ * <p>
+ * The text is one contiguous run of 26-byte records with no separators, each
+ * one a canonical string in upper case. Decoding also accepts lower case.
+ * <p>
+ * ULIDs can be given as an array of {@link Ulid} or as an array of longs, in
+ * which each ULID is a pair of longs: the most significant bits followed by the
+ * least significant bits, as in {@link UlidFactory#fill(long[])}.
+ * <p>
+ * On Java 17 or later, if the module {@code jdk.incubator.vector} is added with
+ * {@code --add-modules jdk.incubator.vector} and the CPU has 512-bit vectors,
+ * the multi-release jar uses an implementation based on the Vector API. Other
+ * environments use a scalar implementation. Both produce the same output.
+ * <p>
+ * Usage example:
+ * 
+ * <pre>{@code
+ * long[] longs = new long[2 * 1024];
+ * UlidFactory.newMonotonicInstance().fill(longs);
+ * byte[] text = BulkCodec.encode(longs); // 26 * 1024 bytes
+ * long[] again = BulkCodec.decode(text);
+ * }</pre>
+ * 
+ * @since 5.3.0
+ */
+public final class BulkCodec {
+
+	static final String VECTOR_ENGINE = "com.github.f4b6a3.ulid.VectorBulkCodec";
+
+	private static final Engine ENGINE = engine();
+
+	private static final int CHUNK = 512; // ULIDs
+
+	private BulkCodec() {
+	}
+
+	/**
+	 * Tells whether the Vector API implementation is in use.
+	 * 
+	 * @return true if the Vector API implementation is in use
+	 */
+	public static boolean isVectorized() {
+		return !(ENGINE instanceof ScalarEngine);
+	}
+
+	/**
+	 * Encodes an array of longs into ASCII text.
+	 * 
+	 * @param longs an array of longs with even length
+	 * @return a byte array with 26 bytes per ULID
+	 * @throws IllegalArgumentException if the length of the array is odd
+	 */
+	public static byte[] encode(long[] longs) {
+		final byte[] bytes = new byte[textLength(longs.length / 2)];
+		encode(longs, 0, longs.length, bytes, 0);
+		return bytes;
+	}
+
+	/**
+	 * Encodes a range of an array of longs into ASCII text.
+	 * 
+	 * @param longs    an array of longs
+	 * @param offset   the index of the first long
+	 * @param length   the number of longs, i.e. twice the number of ULIDs
+	 * @param bytes    the destination array
+	 * @param position the index of the first byte to be written
+	 * @throws IndexOutOfBoundsException if a range is out of the array bounds
+	 * @throws IllegalArgumentException  if the length is odd
+	 */
+	public static void encode(long[] longs, int offset, int length, byte[] bytes, int position) {
+		UlidFactory.checkBounds(longs.length, offset, length);
+		if ((length & 1) != 0) {
+			throw new IllegalArgumentException(String.format("Invalid length: %s", length));
+		}
+		checkText(bytes.length, position, length / 2);
+		ENGINE.encode(longs, offset, length / 2, bytes, position);
+	}
+
+	/**
+	 * Encodes an array of ULIDs into ASCII text.
+	 * 
+	 * @param ulids an array of ULIDs
+	 * @return a byte array with 26 bytes per ULID
+	 */
+	public static byte[] encode(Ulid[] ulids) {
+		final byte[] bytes = new byte[textLength(ulids.length)];
+		encode(ulids, 0, ulids.length, bytes, 0);
+		return bytes;
+	}
+
+	/**
+	 * Encodes a range of an array of ULIDs into ASCII text.
+	 * 
+	 * @param ulids    an array of ULIDs
+	 * @param offset   the index of the first ULID
+	 * @param length   the number of ULIDs
+	 * @param bytes    the destination array
+	 * @param position the index of the first byte to be written
+	 * @throws IndexOutOfBoundsException if a range is out of the array bounds
+	 */
+	public static void encode(Ulid[] ulids, int offset, int length, byte[] bytes, int position) {
+		UlidFactory.checkBounds(ulids.length, offset, length);
+		checkText(bytes.length, position, length);
+
+		final long[] chunk = new long[2 * Math.min(length, CHUNK)];
+		for (int done = 0; done < length;) {
+			final int size = Math.min(length - done, CHUNK);
+			for (int i = 0; i < size; i++) {
+				final Ulid ulid = ulids[offset + done + i];
+				chunk[2 * i] = ulid.getMostSignificantBits();
+				chunk[2 * i + 1] = ulid.getLeastSignificantBits();
+			}
+			ENGINE.encode(chunk, 0, size, bytes, position + done * Ulid.ULID_CHARS);
+			done += size;
+		}
+	}
+
+	/**
+	 * Decodes ASCII text into an array of longs.
+	 * 
+	 * @param bytes a byte array with 26 bytes per ULID
+	 * @return an array of longs, two per ULID
+	 * @throws IllegalArgumentException if the length of the text is not a multiple
+	 *                                  of 26 or if a record is invalid
+	 */
+	public static long[] decode(byte[] bytes) {
+		if (bytes.length % Ulid.ULID_CHARS != 0) {
+			throw new IllegalArgumentException(String.format("Invalid text length: %s", bytes.length));
+		}
+		final long[] longs = new long[2 * (bytes.length / Ulid.ULID_CHARS)];
+		decode(bytes, 0, longs, 0, longs.length);
+		return longs;
+	}
+
+	/**
+	 * Decodes ASCII text into a range of an array of longs.
+	 * <p>
+	 * If a record is invalid, the records before it are already decoded when the
+	 * exception is thrown.
+	 * 
+	 * @param bytes    the source array
+	 * @param position the index of the first byte to be read
+	 * @param longs    the destination array
+	 * @param offset   the index of the first long to be written
+	 * @param length   the number of longs, i.e. twice the number of ULIDs
+	 * @throws IndexOutOfBoundsException if a range is out of the array bounds
+	 * @throws IllegalArgumentException  if the length is odd or if a record is
+	 *                                   invalid
+	 */
+	public static void decode(byte[] bytes, int position, long[] longs, int offset, int length) {
+		UlidFactory.checkBounds(longs.length, offset, length);
+		if ((length & 1) != 0) {
+			throw new IllegalArgumentException(String.format("Invalid length: %s", length));
+		}
+		checkText(bytes.length, position, length / 2);
+		final int count = ENGINE.decode(bytes, position, longs, offset, length / 2);
+		if (count < length / 2) {
+			throw invalid(bytes, position + count * Ulid.ULID_CHARS);
+		}
+	}
+
+	/**
+	 * Decodes ASCII text into a range of an array of ULIDs.
+	 * <p>
+	 * If a record is invalid, the records before it are already decoded when the
+	 * exception is thrown.
+	 * 
+	 * @param bytes    the source array
+	 * @param position the index of the first byte to be read
+	 * @param ulids    the destination array
+	 * @param offset   the index of the first ULID to be written
+	 * @param length   the number of ULIDs
+	 * @throws IndexOutOfBoundsException if a range is out of the array bounds
+	 * @throws IllegalArgumentException  if a record is invalid
+	 */
+	public static void decode(byte[] bytes, int position, Ulid[] ulids, int offset, int length) {
+		UlidFactory.checkBounds(ulids.length, offset, length);
+		checkText(bytes.length, position, length);
+
+		final long[] chunk = new long[2 * Math.min(length, CHUNK)];
+		for (int done = 0; done < length;) {
+			final int size = Math.min(length - done, CHUNK);
+			final int start = position + done * Ulid.ULID_CHARS;
+			final int count = ENGINE.decode(bytes, start, chunk, 0, size);
+			for (int i = 0; i < count; i++) {
+				ulids[offset + done + i] = new Ulid(chunk[2 * i], chunk[2 * i + 1]);
+			}
+			if (count < size) {
+				throw invalid(bytes, start + count * Ulid.ULID_CHARS);
+			}
+			done += size;
+		}
+	}
+
+	private static int textLength(int count) {
+		final long length = (long) count * Ulid.ULID_CHARS;
+		if (length > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException(String.format("Too many ULIDs: %s", count));
+		}
+		return (int) length;
+	}
+
+	private static void checkText(int arrayLength, int position, int count) {
+		final long length = (long) count * Ulid.ULID_CHARS;
+		if (position < 0 || position > arrayLength - length) {
+			throw new IndexOutOfBoundsException(String.format("Invalid range: position %s, length %s, array length %s",
+					position, length, arrayLength));
+		}
+	}
+
+	private static IllegalArgumentException invalid(byte[] bytes, int position) {
+		final String string = new String(bytes, position, Ulid.ULID_CHARS, StandardCharsets.ISO_8859_1);
+		return new IllegalArgumentException(String.format("Invalid ULID: \"%s\"", string));
+	}
+
+	private static Engine engine() {
+		try {
+			return (Engine) Class.forName(VECTOR_ENGINE).getDeclaredConstructor().newInstance();
+		} catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+			// not a Java 17 runtime, module not added or vectors too narrow
+			return new ScalarEngine();
+		}
+	}
+
+	/**
+	 * An implementation of the codec.
+	 * <p>
+	 * The arguments are already checked. Counts are in ULIDs.
+	 */
+	interface Engine {
+
+		void encode(long[] longs, int offset, int count, byte[] bytes, int position);
+
+		/**
+		 * Returns the number of records decoded before the first invalid one.
+		 */
+		int decode(byte[] bytes, int position, long[] longs, int offset, int count);
+	}
+
+	static final class ScalarEngine implements Engine {
+
+		@Override
+		public void encode(long[] longs, int offset, int count, byte[] bytes, int position) {
+			for (int i = 0; i < count; i++) {
+				Base32Codec.encode(longs[offset + 2 * i], longs[offset + 2 * i + 1], bytes,
+						position + i * Ulid.ULID_CHARS, Base32Codec.PAIRS_UPPERCASE);
+			}
+		}
+
+		@Override
+		public int decode(byte[] bytes, int position, long[] longs, int offset, int count) {
+			for (int i = 0; i < count; i++) {
+				if (!Ulid.decode(bytes, position + i * Ulid.ULID_CHARS, longs, offset + 2 * i)) {
+					return i;
+				}
+			}
+			return count;
+		}
+	}
+}
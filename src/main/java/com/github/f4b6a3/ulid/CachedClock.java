@@ -0,0 +1,170 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2020-2023 Fabio Lima
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.f4b6a3.ulid;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
+
+/**
+ * A clock that caches the current time in milliseconds.
+ * <p>
+ * A single daemon thread, the ticker, calls {@link System#currentTimeMillis()}
+ * once per tick and stores the result. Reading the clock is just a volatile
+ * read, which is cheaper than calling the system clock on hosts where the clock
+ * source is slow, for example on some virtual machines.
+ * <p>
+ * It can be used as the time function of any factory method that accepts a
+ * {@link LongSupplier}:
+ * 
+ * <pre>{@code
+ * UlidFactory factory = UlidFactory.newInstance(new SecureRandom(), CachedClock.getInstance());
+ * }</pre>
+ * <p>
+ * The cached time may lag behind the system clock by a tick, or a bit more if
+ * the ticker is not scheduled in time. Monotonic factories are not affected,
+ * since they increment the random component while the time doesn't change.
+ * <p>
+ * The ticker stops when the clock is garbage collected.
+ * 
+ * @since 5.3.0
+ */
+public final class CachedClock implements LongSupplier {
+
+	private volatile long millis;
+
+	private final long tick;
+
+	/**
+	 * Default tick in milliseconds.
+	 */
+	public static final long DEFAULT_TICK = 1;
+	/**
+	 * Maximum tick in milliseconds.
+	 */
+	public static final long MAX_TICK = 1000;
+
+	private static final class Holder {
+		static final CachedClock INSTANCE = new CachedClock(DEFAULT_TICK);
+	}
+
+	/**
+	 * Creates a cached clock with a tick of 1 millisecond.
+	 * <p>
+	 * Each instance has its own ticker thread. Prefer the shared instance returned
+	 * by {@link #getInstance()}.
+	 */
+	public CachedClock() {
+		this(DEFAULT_TICK);
+	}
+
+	/**
+	 * Creates a cached clock.
+	 * <p>
+	 * Each instance has its own ticker thread. Prefer the shared instance returned
+	 * by {@link #getInstance()}.
+	 * 
+	 * @param tick the interval between updates in milliseconds
+	 * @throws IllegalArgumentException if the tick is not between 1 and 1000
+	 */
+	public CachedClock(long tick) {
+
+		if (tick < 1 || tick > MAX_TICK) {
+			throw new IllegalArgumentException(String.format("Invalid tick: %s", tick));
+		}
+
+		this.tick = tick;
+		this.millis = System.currentTimeMillis();
+
+		Thread ticker = new Thread(new Ticker(this), "ulid-clock");
+		ticker.setDaemon(true);
+		ticker.start();
+	}
+
+	/**
+	 * Returns the shared cached clock, with a tick of 1 millisecond.
+	 * <p>
+	 * The ticker thread is started on the first call.
+	 * 
+	 * @return the shared cached clock
+	 */
+	public static CachedClock getInstance() {
+		return Holder.INSTANCE;
+	}
+
+	/**
+	 * Returns the cached time in milliseconds, measured from the UNIX epoch of
+	 * 1970-01-01T00:00Z (UTC).
+	 * 
+	 * @return the cached time in milliseconds
+	 */
+	@Override
+	public long getAsLong() {
+		return this.millis;
+	}
+
+	/**
+	 * Returns the interval between updates in milliseconds.
+	 * 
+	 * @return the tick in milliseconds
+	 */
+	public long getTick() {
+		return this.tick;
+	}
+
+	/**
+	 * The thread that updates the clock.
+	 * <p>
+	 * It holds a weak reference to the clock, so it stops after the clock is
+	 * garbage collected.
+	 */
+	private static final class Ticker implements Runnable {
+
+		private final WeakReference<CachedClock> reference;
+		private final long nanos;
+
+		private Ticker(CachedClock clock) {
+			this.reference = new WeakReference<>(clock);
+			this.nanos = TimeUnit.MILLISECONDS.toNanos(clock.tick);
+		}
+
+		@Override
+		public void run() {
+			while (true) {
+
+				CachedClock clock = this.reference.get();
+				if (clock == null) {
+					return;
+				}
+
+				clock.millis = System.currentTimeMillis();
+				clock = null;
+
+				LockSupport.parkNanos(this, this.nanos);
+			}
+		}
+	}
+}
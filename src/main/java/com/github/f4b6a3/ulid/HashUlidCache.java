@@ -0,0 +1,324 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2020-2023 Fabio Lima
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.f4b6a3.ulid;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A bounded cache of hash ULIDs.
+ * <p>
+ * It remembers the hash ULIDs of recent pairs of time and key, so a hot key is
+ * not hashed again. It is useful when a small set of keys is hashed over and
+ * over.
+ * <p>
+ * The cache is split into stripes, each one with its own lock and its own
+ * least recently used (LRU) eviction. The maximum size is shared evenly among
+ * the stripes, so the eviction order is approximately LRU for the whole cache.
+ * <p>
+ * Keys are compared by content. Byte arrays are copied when they are added to
+ * the cache, so they can be reused by the caller. A string and its UTF-8 bytes
+ * are different keys, although they produce the same ULID.
+ * <p>
+ * Usage example:
+ * 
+ * <pre>{@code
+ * HashUlidCache cache = new HashUlidCache(10_000);
+ * Ulid ulid = cache.get(time, key);
+ * double hitRate = (double) cache.getHitCount() / (cache.getHitCount() + cache.getMissCount());
+ * }</pre>
+ * 
+ * @since 5.3.0
+ */
+public final class HashUlidCache {
+
+	private final HashUlidFactory factory;
+	private final Stripe[] stripes;
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+
+	private static final int MAX_STRIPES = 64;
+	private static final int MIN_STRIPE_SIZE = 16;
+
+	/**
+	 * Creates a cache of hash ULIDs generated with SHA-256.
+	 * <p>
+	 * It returns the same ULIDs as {@link UlidCreator#getHashUlid(long, String)}.
+	 * 
+	 * @param maximumSize the maximum number of ULIDs in the cache
+	 * @throws IllegalArgumentException if the maximum size is less than 1
+	 */
+	public HashUlidCache(int maximumSize) {
+		this(HashUlidFactory.newInstance(), maximumSize);
+	}
+
+	/**
+	 * Creates a cache of hash ULIDs generated by a factory.
+	 * 
+	 * @param factory     a hash ULID factory
+	 * @param maximumSize the maximum number of ULIDs in the cache
+	 * @throws IllegalArgumentException if the maximum size is less than 1
+	 */
+	public HashUlidCache(HashUlidFactory factory, int maximumSize) {
+
+		Objects.requireNonNull(factory, "Factory must not be null");
+		if (maximumSize < 1) {
+			throw new IllegalArgumentException(String.format("Invalid maximum size: %s", maximumSize));
+		}
+
+		// a power of two: 4 stripes per processor, with at least 16 ULIDs each
+		int count = Integer.highestOneBit(Math.min(MAX_STRIPES, Runtime.getRuntime().availableProcessors() * 4));
+		count = Math.min(count, Integer.highestOneBit(Math.max(1, maximumSize / MIN_STRIPE_SIZE)));
+
+		this.factory = factory;
+		this.stripes = new Stripe[count];
+		for (int i = 0; i < count; i++) {
+			// the remainder goes to the first stripes
+			this.stripes[i] = new Stripe(maximumSize / count + (i < maximumSize % count ? 1 : 0));
+		}
+	}
+
+	/**
+	 * Returns the hash ULID of a byte array, from the cache if possible.
+	 * 
+	 * @param time the time in milliseconds, measured from the UNIX epoch of
+	 *             1970-01-01T00:00Z (UTC)
+	 * @param key  a byte array to be hashed
+	 * @return a ULID
+	 * @throws IllegalArgumentException if the time is invalid
+	 */
+	public Ulid get(final long time, final byte[] key) {
+
+		final Key lookup = new Key(time, key, Arrays.hashCode(key));
+		final Stripe stripe = stripe(lookup.hash);
+
+		Ulid ulid = stripe.get(lookup);
+		if (ulid != null) {
+			this.hits.increment();
+			return ulid;
+		}
+
+		this.misses.increment();
+		ulid = this.factory.create(time, key);
+		// the caller may change the array later
+		stripe.put(new Key(time, key.clone(), Arrays.hashCode(key)), ulid);
+		return ulid;
+	}
+
+	/**
+	 * Returns the hash ULID of a string, from the cache if possible.
+	 * <p>
+	 * The string is hashed as UTF-8 bytes.
+	 * 
+	 * @param time the time in milliseconds, measured from the UNIX epoch of
+	 *             1970-01-01T00:00Z (UTC)
+	 * @param key  a string to be hashed
+	 * @return a ULID
+	 * @throws IllegalArgumentException if the time is invalid
+	 */
+	public Ulid get(final long time, final String key) {
+
+		final Key lookup = new Key(time, key, key.hashCode());
+		final Stripe stripe = stripe(lookup.hash);
+
+		Ulid ulid = stripe.get(lookup);
+		if (ulid != null) {
+			this.hits.increment();
+			return ulid;
+		}
+
+		this.misses.increment();
+		ulid = this.factory.create(time, key);
+		stripe.put(lookup, ulid);
+		return ulid;
+	}
+
+	/**
+	 * Returns the number of ULIDs in the cache.
+	 * 
+	 * @return the size of the cache
+	 */
+	public int size() {
+		int size = 0;
+		for (Stripe stripe : this.stripes) {
+			size += stripe.size();
+		}
+		return size;
+	}
+
+	/**
+	 * Removes all the ULIDs from the cache.
+	 * <p>
+	 * The statistics are not changed.
+	 */
+	public void clear() {
+		for (Stripe stripe : this.stripes) {
+			stripe.clear();
+		}
+	}
+
+	/**
+	 * Returns how many times a ULID was found in the cache.
+	 * 
+	 * @return the number of hits
+	 */
+	public long getHitCount() {
+		return this.hits.sum();
+	}
+
+	/**
+	 * Returns how many times a ULID was not found in the cache and was hashed.
+	 * 
+	 * @return the number of misses
+	 */
+	public long getMissCount() {
+		return this.misses.sum();
+	}
+
+	/**
+	 * Returns how many ULIDs were removed to make room for others.
+	 * 
+	 * @return the number of evictions
+	 */
+	public long getEvictionCount() {
+		return this.evictions.sum();
+	}
+
+	int stripes() {
+		return this.stripes.length;
+	}
+
+	private Stripe stripe(final int hash) {
+		// the high bits spread better than the low bits of some hash codes
+		return this.stripes[((hash * 0x9e3779b9) >>> 16) & (this.stripes.length - 1)];
+	}
+
+	/**
+	 * A pair of time and key.
+	 */
+	private static final class Key {
+
+		private final long time;
+		private final Object key; // a byte array or a string
+		private final int hash;
+
+		private Key(long time, Object key, int keyHash) {
+			this.time = time;
+			this.key = key;
+			this.hash = 31 * keyHash + Long.hashCode(time);
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hash;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (this == other) {
+				return true;
+			}
+			if (!(other instanceof Key)) {
+				return false;
+			}
+			final Key that = (Key) other;
+			if (this.time != that.time || this.hash != that.hash) {
+				return false;
+			}
+			if (this.key instanceof byte[] && that.key instanceof byte[]) {
+				return Arrays.equals((byte[]) this.key, (byte[]) that.key);
+			}
+			return this.key.equals(that.key);
+		}
+	}
+
+	/**
+	 * A LRU map with its own lock.
+	 */
+	private final class Stripe {
+
+		private final Map<Key, Ulid> map;
+		private final ReentrantLock lock = new ReentrantLock();
+
+		private Stripe(final int capacity) {
+			// the access order makes it a LRU map
+			this.map = new LinkedHashMap<Key, Ulid>(16, 0.75f, true) {
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<Key, Ulid> eldest) {
+					if (size() > capacity) {
+						evictions.increment();
+						return true;
+					}
+					return false;
+				}
+			};
+		}
+
+		private Ulid get(final Key key) {
+			lock.lock();
+			try {
+				return this.map.get(key);
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		private void put(final Key key, final Ulid ulid) {
+			lock.lock();
+			try {
+				// another thread may have added it in the meantime
+				this.map.putIfAbsent(key, ulid);
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		private int size() {
+			lock.lock();
+			try {
+				return this.map.size();
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		private void clear() {
+			lock.lock();
+			try {
+				this.map.clear();
+			} finally {
+				lock.unlock();
+			}
+		}
+	}
+}
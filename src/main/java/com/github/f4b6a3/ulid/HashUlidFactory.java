@@ -0,0 +1,865 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2020-2023 Fabio Lima
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.f4b6a3.ulid;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Supplier;
+
+/**
+ * A factory that generates hash ULIDs.
+ * <p>
+ * The random component of a hash ULID is replaced with the first 10 bytes of a
+ * hash, so the same pair of time and key always returns the same ULID.
+ * <p>
+ * The hash can be a cryptographic {@link MessageDigest}, such as SHA-256, or
+ * the non-cryptographic Murmur3 128-bit hash, which is much faster. The latter
+ * is good for deterministic keys, like deduplication keys, but it must not be
+ * used where an attacker can choose the input to produce collisions.
+ * <p>
+ * Keys can be byte arrays, slices of byte arrays, byte buffers or char
+ * sequences. Char sequences are hashed as UTF-8 bytes, but they are encoded on
+ * the fly, so no byte array is created for them. Each thread keeps its own
+ * hasher, so the digest is not instantiated for each ULID.
+ * <p>
+ * Usage example:
+ * 
+ * <pre>{@code
+ * HashUlidFactory factory = HashUlidFactory.newMurmur3Instance();
+ * Ulid ulid = factory.create(time, name);
+ * }</pre>
+ * 
+ * @since 5.3.0
+ */
+public final class HashUlidFactory {
+
+	private final ThreadLocal<Hasher> hashers;
+
+	private HashUlidFactory(Supplier<Hasher> supplier) {
+		// fail fast if the hasher is not available
+		Objects.requireNonNull(supplier.get(), "Hasher must not be null");
+		this.hashers = ThreadLocal.withInitial(supplier);
+	}
+
+	/**
+	 * Returns a new factory that uses SHA-256.
+	 * <p>
+	 * It returns the same ULIDs as {@link UlidCreator#getHashUlid(long, byte[])}.
+	 * 
+	 * @return {@link HashUlidFactory}
+	 */
+	public static HashUlidFactory newInstance() {
+		return newInstance(DigestHasher.DEFAULT_ALGORITHM);
+	}
+
+	/**
+	 * Returns a new factory that uses a {@link MessageDigest} algorithm.
+	 * <p>
+	 * The digest length of the algorithm must be at least 10 bytes.
+	 * 
+	 * @param algorithm the name of the algorithm, e.g. "SHA-256"
+	 * @return {@link HashUlidFactory}
+	 * @throws IllegalArgumentException if the digest length is less than 10 bytes
+	 * @throws RuntimeException         if the algorithm is not supported
+	 */
+	public static HashUlidFactory newInstance(String algorithm) {
+		return new HashUlidFactory(() -> new DigestHasher(algorithm));
+	}
+
+	/**
+	 * Returns a new factory that uses Murmur3 128-bit with seed 0.
+	 * 
+	 * @return {@link HashUlidFactory}
+	 */
+	public static HashUlidFactory newMurmur3Instance() {
+		return newMurmur3Instance(0L);
+	}
+
+	/**
+	 * Returns a new factory that uses Murmur3 128-bit.
+	 * <p>
+	 * It is the x64 variant of MurmurHash3, so the hash of a key is the same as in
+	 * other implementations, like Guava's {@code Hashing.murmur3_128()}.
+	 * 
+	 * @param seed the seed of the hash
+	 * @return {@link HashUlidFactory}
+	 */
+	public static HashUlidFactory newMurmur3Instance(long seed) {
+		return new HashUlidFactory(() -> new Murmur3Hasher(seed));
+	}
+
+	/**
+	 * Returns a new factory that uses a {@link MessageDigest} algorithm and
+	 * prefixes every key with a namespace.
+	 * <p>
+	 * The hash of a key is the hash of the namespace followed by the key. The
+	 * namespace is hashed only once: each hash starts from a clone of the digest
+	 * state after the namespace.
+	 * 
+	 * @param algorithm the name of the algorithm, e.g. "SHA-256"
+	 * @param namespace the bytes that precede every key
+	 * @return {@link HashUlidFactory}
+	 * @throws IllegalArgumentException if the digest length is less than 10 bytes
+	 * @throws RuntimeException         if the algorithm is not supported
+	 */
+	public static HashUlidFactory newInstance(String algorithm, byte[] namespace) {
+		final byte[] copy = namespace.clone();
+		return new HashUlidFactory(() -> new DigestHasher(algorithm, copy));
+	}
+
+	/**
+	 * Returns a new factory that uses Murmur3 128-bit and prefixes every key with
+	 * a namespace.
+	 * <p>
+	 * The hash of a key is the hash of the namespace followed by the key. The
+	 * namespace is hashed only once: each hash starts from the saved state after
+	 * the namespace, at no extra cost.
+	 * 
+	 * @param seed      the seed of the hash
+	 * @param namespace the bytes that precede every key
+	 * @return {@link HashUlidFactory}
+	 */
+	public static HashUlidFactory newMurmur3Instance(long seed, byte[] namespace) {
+		final byte[] copy = namespace.clone();
+		return new HashUlidFactory(() -> new Murmur3Hasher(seed, copy));
+	}
+
+	/**
+	 * Returns a hash ULID.
+	 * 
+	 * @param time  the time in milliseconds, measured from the UNIX epoch of
+	 *              1970-01-01T00:00Z (UTC)
+	 * @param bytes a byte array to be hashed
+	 * @return a ULID
+	 * @throws IllegalArgumentException if the time is invalid
+	 */
+	public Ulid create(final long time, final byte[] bytes) {
+		checkTime(time);
+		final Hasher hasher = this.hashers.get();
+		hasher.reset();
+		hasher.update(bytes, 0, bytes.length);
+		return hasher.digest(time);
+	}
+
+	/**
+	 * Returns a hash ULID of a slice of a byte array.
+	 * 
+	 * @param time   the time in milliseconds, measured from the UNIX epoch of
+	 *               1970-01-01T00:00Z (UTC)
+	 * @param bytes  a byte array
+	 * @param offset the index of the first byte to be hashed
+	 * @param length the number of bytes to be hashed
+	 * @return a ULID
+	 * @throws IllegalArgumentException  if the time is invalid
+	 * @throws IndexOutOfBoundsException if the slice is out of the array bounds
+	 */
+	public Ulid create(final long time, final byte[] bytes, final int offset, final int length) {
+		checkTime(time);
+		UlidFactory.checkBounds(bytes.length, offset, length);
+		final Hasher hasher = this.hashers.get();
+		hasher.reset();
+		hasher.update(bytes, offset, length);
+		return hasher.digest(time);
+	}
+
+	/**
+	 * Returns a hash ULID of the remaining bytes of a buffer.
+	 * <p>
+	 * The bytes between the position and the limit are hashed, and the position
+	 * is not changed. Direct buffers are read in place, so large payloads read
+	 * from NIO channels are not copied onto the heap by the Murmur3 engine.
+	 * 
+	 * @param time   the time in milliseconds, measured from the UNIX epoch of
+	 *               1970-01-01T00:00Z (UTC)
+	 * @param buffer a byte buffer
+	 * @return a ULID
+	 * @throws IllegalArgumentException if the time is invalid
+	 */
+	public Ulid create(final long time, final ByteBuffer buffer) {
+		checkTime(time);
+		final Hasher hasher = this.hashers.get();
+		hasher.reset();
+		hasher.update(buffer);
+		return hasher.digest(time);
+	}
+
+	/**
+	 * Returns a hash ULID.
+	 * <p>
+	 * The string is hashed as UTF-8 bytes, without copying it.
+	 * 
+	 * @param time   the time in milliseconds, measured from the UNIX epoch of
+	 *               1970-01-01T00:00Z (UTC)
+	 * @param string a string to be hashed
+	 * @return a ULID
+	 * @throws IllegalArgumentException if the time is invalid
+	 */
+	public Ulid create(final long time, final CharSequence string) {
+		checkTime(time);
+		final Hasher hasher = this.hashers.get();
+		hasher.reset();
+		hasher.update(string);
+		return hasher.digest(time);
+	}
+
+	/**
+	 * Fills an array with the hash ULIDs of many pairs of time and key, in
+	 * parallel.
+	 * <p>
+	 * The ULID of {@code times[i]} and {@code keys[i]} is written into
+	 * {@code ulids[i]}. The work is split among the threads of the common
+	 * {@link ForkJoinPool}, and each worker thread uses its own hasher.
+	 * <p>
+	 * Streams of keys can also be processed in parallel, since the hashers are
+	 * confined to threads:
+	 * 
+	 * <pre>{@code
+	 * keys.parallelStream().map(key -> factory.create(time, key))
+	 * }</pre>
+	 * 
+	 * @param times an array of times in milliseconds, measured from the UNIX epoch
+	 *              of 1970-01-01T00:00Z (UTC)
+	 * @param keys  an array of keys to be hashed
+	 * @param ulids an array to be filled with ULIDs
+	 * @throws IllegalArgumentException if the arrays have different lengths or if
+	 *                                  a time is invalid
+	 */
+	public void fill(final long[] times, final byte[][] keys, final Ulid[] ulids) {
+		fill(ForkJoinPool.commonPool(), times, keys, ulids);
+	}
+
+	/**
+	 * Fills an array with the hash ULIDs of many pairs of time and key, in
+	 * parallel.
+	 * <p>
+	 * The char sequences are hashed as UTF-8 bytes.
+	 * 
+	 * @param times an array of times in milliseconds, measured from the UNIX epoch
+	 *              of 1970-01-01T00:00Z (UTC)
+	 * @param keys  an array of keys to be hashed
+	 * @param ulids an array to be filled with ULIDs
+	 * @throws IllegalArgumentException if the arrays have different lengths or if
+	 *                                  a time is invalid
+	 * @see #fill(long[], byte[][], Ulid[])
+	 */
+	public void fill(final long[] times, final CharSequence[] keys, final Ulid[] ulids) {
+		fill(ForkJoinPool.commonPool(), times, keys, ulids);
+	}
+
+	/**
+	 * Fills an array with the hash ULIDs of many pairs of time and key, in
+	 * parallel, without creating {@link Ulid} objects.
+	 * <p>
+	 * The most significant bits of the ULID of {@code times[i]} and
+	 * {@code keys[i]} are written into {@code longs[2 * i]}, and the least
+	 * significant bits into {@code longs[2 * i + 1]}.
+	 * 
+	 * @param times an array of times in milliseconds, measured from the UNIX epoch
+	 *              of 1970-01-01T00:00Z (UTC)
+	 * @param keys  an array of keys to be hashed
+	 * @param longs an array to be filled with pairs of MSB and LSB
+	 * @throws IllegalArgumentException if the length of the output array is not
+	 *                                  twice the number of keys or if a time is
+	 *                                  invalid
+	 * @see #fill(long[], byte[][], Ulid[])
+	 */
+	public void fill(final long[] times, final byte[][] keys, final long[] longs) {
+		fill(ForkJoinPool.commonPool(), times, keys, longs);
+	}
+
+	/**
+	 * Fills an array with the hash ULIDs of many pairs of time and key, in
+	 * parallel, without creating {@link Ulid} objects.
+	 * <p>
+	 * The char sequences are hashed as UTF-8 bytes.
+	 * 
+	 * @param times an array of times in milliseconds, measured from the UNIX epoch
+	 *              of 1970-01-01T00:00Z (UTC)
+	 * @param keys  an array of keys to be hashed
+	 * @param longs an array to be filled with pairs of MSB and LSB
+	 * @throws IllegalArgumentException if the length of the output array is not
+	 *                                  twice the number of keys or if a time is
+	 *                                  invalid
+	 * @see #fill(long[], byte[][], long[])
+	 */
+	public void fill(final long[] times, final CharSequence[] keys, final long[] longs) {
+		fill(ForkJoinPool.commonPool(), times, keys, longs);
+	}
+
+	/**
+	 * Fills an array with the hash ULIDs of many pairs of time and key, in
+	 * parallel on a given pool.
+	 * 
+	 * @param pool  the pool that runs the work
+	 * @param times an array of times in milliseconds, measured from the UNIX epoch
+	 *              of 1970-01-01T00:00Z (UTC)
+	 * @param keys  an array of keys to be hashed
+	 * @param ulids an array to be filled with ULIDs
+	 * @throws IllegalArgumentException if the arrays have different lengths or if
+	 *                                  a time is invalid
+	 * @see #fill(long[], byte[][], Ulid[])
+	 */
+	public void fill(final ForkJoinPool pool, final long[] times, final byte[][] keys, final Ulid[] ulids) {
+		checkLengths(times.length, keys.length, ulids.length, 1);
+		invoke(pool, times.length, (hasher, i) -> {
+			final byte[] key = keys[i];
+			hasher.update(key, 0, key.length);
+			ulids[i] = digest(hasher, times[i]);
+		});
+	}
+
+	/**
+	 * Fills an array with the hash ULIDs of many pairs of time and key, in
+	 * parallel on a given pool.
+	 * 
+	 * @param pool  the pool that runs the work
+	 * @param times an array of times in milliseconds, measured from the UNIX epoch
+	 *              of 1970-01-01T00:00Z (UTC)
+	 * @param keys  an array of keys to be hashed
+	 * @param ulids an array to be filled with ULIDs
+	 * @throws IllegalArgumentException if the arrays have different lengths or if
+	 *                                  a time is invalid
+	 * @see #fill(long[], CharSequence[], Ulid[])
+	 */
+	public void fill(final ForkJoinPool pool, final long[] times, final CharSequence[] keys, final Ulid[] ulids) {
+		checkLengths(times.length, keys.length, ulids.length, 1);
+		invoke(pool, times.length, (hasher, i) -> {
+			hasher.update(keys[i]);
+			ulids[i] = digest(hasher, times[i]);
+		});
+	}
+
+	/**
+	 * Fills an array with the hash ULIDs of many pairs of time and key, in
+	 * parallel on a given pool, without creating {@link Ulid} objects.
+	 * 
+	 * @param pool  the pool that runs the work
+	 * @param times an array of times in milliseconds, measured from the UNIX epoch
+	 *              of 1970-01-01T00:00Z (UTC)
+	 * @param keys  an array of keys to be hashed
+	 * @param longs an array to be filled with pairs of MSB and LSB
+	 * @throws IllegalArgumentException if the length of the output array is not
+	 *                                  twice the number of keys or if a time is
+	 *                                  invalid
+	 * @see #fill(long[], byte[][], long[])
+	 */
+	public void fill(final ForkJoinPool pool, final long[] times, final byte[][] keys, final long[] longs) {
+		checkLengths(times.length, keys.length, longs.length, 2);
+		invoke(pool, times.length, (hasher, i) -> {
+			final byte[] key = keys[i];
+			hasher.update(key, 0, key.length);
+			checkTime(times[i]);
+			hasher.digest(times[i], longs, 2 * i);
+		});
+	}
+
+	/**
+	 * Fills an array with the hash ULIDs of many pairs of time and key, in
+	 * parallel on a given pool, without creating {@link Ulid} objects.
+	 * 
+	 * @param pool  the pool that runs the work
+	 * @param times an array of times in milliseconds, measured from the UNIX epoch
+	 *              of 1970-01-01T00:00Z (UTC)
+	 * @param keys  an array of keys to be hashed
+	 * @param longs an array to be filled with pairs of MSB and LSB
+	 * @throws IllegalArgumentException if the length of the output array is not
+	 *                                  twice the number of keys or if a time is
+	 *                                  invalid
+	 * @see #fill(long[], CharSequence[], long[])
+	 */
+	public void fill(final ForkJoinPool pool, final long[] times, final CharSequence[] keys, final long[] longs) {
+		checkLengths(times.length, keys.length, longs.length, 2);
+		invoke(pool, times.length, (hasher, i) -> {
+			hasher.update(keys[i]);
+			checkTime(times[i]);
+			hasher.digest(times[i], longs, 2 * i);
+		});
+	}
+
+	private void invoke(final ForkJoinPool pool, final int length, final Job job) {
+		// a few chunks per worker, so that idle workers can steal the rest
+		final int threshold = Math.max(MIN_CHUNK, length / (pool.getParallelism() * 4));
+		pool.invoke(new Task(this.hashers, job, 0, length, threshold));
+	}
+
+	private static Ulid digest(final Hasher hasher, final long time) {
+		checkTime(time);
+		return hasher.digest(time);
+	}
+
+	private static void checkLengths(final int times, final int keys, final int output, final int width) {
+		// width is the number of array elements per ULID
+		if (times != keys || output != (long) times * width) {
+			throw new IllegalArgumentException(
+					String.format("Invalid lengths: %s times, %s keys, output %s", times, keys, output));
+		}
+	}
+
+	private static void checkTime(final long time) {
+		// the same validation as Ulid(long, byte[])
+		if ((time & 0xffff000000000000L) != 0) {
+			throw new IllegalArgumentException("Invalid time value");
+		}
+	}
+
+	// minimum number of keys hashed by a single task
+	private static final int MIN_CHUNK = 1024;
+
+	/**
+	 * Hashes the key at an index and writes its ULID.
+	 */
+	@FunctionalInterface
+	private static interface Job {
+		void run(Hasher hasher, int index);
+	}
+
+	/**
+	 * A task that splits a range of keys in halves until it is small enough.
+	 */
+	private static final class Task extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final transient ThreadLocal<Hasher> hashers;
+		private final transient Job job;
+		private final int from;
+		private final int to;
+		private final int threshold;
+
+		private Task(ThreadLocal<Hasher> hashers, Job job, int from, int to, int threshold) {
+			this.hashers = hashers;
+			this.job = job;
+			this.from = from;
+			this.to = to;
+			this.threshold = threshold;
+		}
+
+		@Override
+		protected void compute() {
+			if (this.to - this.from > this.threshold) {
+				final int middle = (this.from + this.to) >>> 1;
+				invokeAll(new Task(this.hashers, this.job, this.from, middle, this.threshold),
+						new Task(this.hashers, this.job, middle, this.to, this.threshold));
+				return;
+			}
+			// the hasher of the worker thread
+			final Hasher hasher = this.hashers.get();
+			for (int i = this.from; i < this.to; i++) {
+				hasher.reset();
+				this.job.run(hasher, i);
+			}
+		}
+	}
+
+	/**
+	 * A reusable hash function confined to a thread.
+	 */
+	abstract static class Hasher {
+
+		// UTF-8 bytes of strings are hashed in chunks
+		private final byte[] chunk = new byte[256];
+
+		// MSB and LSB of the last ULID, for the methods that return objects
+		private final long[] pair = new long[2];
+
+		/**
+		 * Discards the bytes added so far.
+		 */
+		abstract void reset();
+
+		/**
+		 * Adds bytes to the hash.
+		 */
+		abstract void update(byte[] bytes, int offset, int length);
+
+		/**
+		 * Adds the bytes between the position and the limit of a buffer to the
+		 * hash, without changing the position.
+		 */
+		abstract void update(ByteBuffer buffer);
+
+		/**
+		 * Completes the hash and writes the MSB and the LSB of the ULID into an
+		 * array, at an index and at the next index.
+		 */
+		abstract void digest(long time, long[] longs, int index);
+
+		/**
+		 * Completes the hash and returns a ULID.
+		 */
+		Ulid digest(long time) {
+			digest(time, this.pair, 0);
+			return new Ulid(this.pair[0], this.pair[1]);
+		}
+
+		/**
+		 * Adds the UTF-8 bytes of a string to the hash.
+		 * <p>
+		 * Unpaired surrogates are encoded as '?', like in
+		 * {@code String.getBytes(StandardCharsets.UTF_8)}.
+		 */
+		void update(final CharSequence string) {
+
+			final byte[] buffer = this.chunk;
+			final int limit = buffer.length - 4;
+			final int length = string.length();
+
+			int n = 0;
+			for (int i = 0; i < length; i++) {
+
+				if (n > limit) {
+					update(buffer, 0, n);
+					n = 0;
+				}
+
+				final char c = string.charAt(i);
+				if (c < 0x80) {
+					buffer[n++] = (byte) c;
+				} else if (c < 0x800) {
+					buffer[n++] = (byte) (0xc0 | (c >>> 6));
+					buffer[n++] = (byte) (0x80 | (c & 0x3f));
+				} else if (Character.isSurrogate(c)) {
+					if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(string.charAt(i + 1))) {
+						final int cp = Character.toCodePoint(c, string.charAt(++i));
+						buffer[n++] = (byte) (0xf0 | (cp >>> 18));
+						buffer[n++] = (byte) (0x80 | ((cp >>> 12) & 0x3f));
+						buffer[n++] = (byte) (0x80 | ((cp >>> 6) & 0x3f));
+						buffer[n++] = (byte) (0x80 | (cp & 0x3f));
+					} else {
+						buffer[n++] = (byte) '?';
+					}
+				} else {
+					buffer[n++] = (byte) (0xe0 | (c >>> 12));
+					buffer[n++] = (byte) (0x80 | ((c >>> 6) & 0x3f));
+					buffer[n++] = (byte) (0x80 | (c & 0x3f));
+				}
+			}
+
+			if (n > 0) {
+				update(buffer, 0, n);
+			}
+		}
+	}
+
+	/**
+	 * Hasher backed by a {@link MessageDigest}.
+	 */
+	static final class DigestHasher extends Hasher {
+
+		private MessageDigest digest;
+		private final byte[] hash;
+
+		// digest state after the namespace
+		private final MessageDigest prefix;
+		private final byte[] namespace;
+
+		static final String DEFAULT_ALGORITHM = "SHA-256";
+
+		DigestHasher(String algorithm) {
+			this(algorithm, null);
+		}
+
+		DigestHasher(String algorithm, byte[] namespace) {
+			try {
+				this.digest = MessageDigest.getInstance(algorithm);
+			} catch (NoSuchAlgorithmException e) {
+				throw new RuntimeException(String.format("%s not supported", algorithm), e);
+			}
+			if (this.digest.getDigestLength() < Ulid.RANDOM_BYTES) {
+				throw new IllegalArgumentException(String.format("Invalid digest length: %s", algorithm));
+			}
+			this.hash = new byte[this.digest.getDigestLength()];
+			this.namespace = namespace;
+			this.prefix = prefix(this.digest, namespace);
+		}
+
+		private static MessageDigest prefix(final MessageDigest digest, final byte[] namespace) {
+			if (namespace == null) {
+				return null;
+			}
+			try {
+				final MessageDigest prefix = (MessageDigest) digest.clone();
+				prefix.update(namespace);
+				return prefix;
+			} catch (CloneNotSupportedException e) {
+				// the namespace is hashed again on every reset
+				return null;
+			}
+		}
+
+		@Override
+		void reset() {
+			if (this.prefix != null) {
+				try {
+					// start from the state after the namespace
+					this.digest = (MessageDigest) this.prefix.clone();
+				} catch (CloneNotSupportedException e) {
+					throw new IllegalStateException(e); // cloned once already
+				}
+			} else {
+				this.digest.reset();
+				if (this.namespace != null) {
+					this.digest.update(this.namespace);
+				}
+			}
+		}
+
+		@Override
+		void update(byte[] bytes, int offset, int length) {
+			this.digest.update(bytes, offset, length);
+		}
+
+		@Override
+		void update(ByteBuffer buffer) {
+			final int position = buffer.position();
+			this.digest.update(buffer);
+			buffer.position(position);
+		}
+
+		@Override
+		void digest(long time, long[] longs, int index) {
+			try {
+				// the hash is written into a reusable array
+				this.digest.digest(this.hash, 0, this.hash.length);
+			} catch (DigestException e) {
+				throw new IllegalStateException(e);
+			}
+
+			// the first 10 bytes of the hash
+			final byte[] hash = this.hash;
+			long lsb = 0;
+			for (int i = 2; i < Ulid.RANDOM_BYTES; i++) {
+				lsb = (lsb << 8) | (hash[i] & 0xffL);
+			}
+			longs[index] = (time << 16) | ((hash[0] & 0xffL) << 8) | (hash[1] & 0xffL);
+			longs[index + 1] = lsb;
+		}
+	}
+
+	/**
+	 * Hasher that implements MurmurHash3 x64 128-bit.
+	 * <p>
+	 * The hash is streamed in blocks of 16 bytes. The bytes of an incomplete block
+	 * wait in the tail until the next update or the end of the hash.
+	 */
+	static final class Murmur3Hasher extends Hasher {
+
+		private long h1;
+		private long h2;
+		private long length;
+
+		// incomplete block
+		private long k1;
+		private long k2;
+		private int tail;
+
+		// state after the seed and the namespace
+		private final long h1Prefix;
+		private final long h2Prefix;
+		private final long lengthPrefix;
+		private final long k1Prefix;
+		private final long k2Prefix;
+		private final int tailPrefix;
+
+		private static final long C1 = 0x87c37b91114253d5L;
+		private static final long C2 = 0x4cf5ad432745937fL;
+
+		Murmur3Hasher(long seed) {
+			this(seed, null);
+		}
+
+		Murmur3Hasher(long seed, byte[] namespace) {
+			this.h1 = seed;
+			this.h2 = seed;
+			if (namespace != null) {
+				update(namespace, 0, namespace.length);
+			}
+			this.h1Prefix = this.h1;
+			this.h2Prefix = this.h2;
+			this.lengthPrefix = this.length;
+			this.k1Prefix = this.k1;
+			this.k2Prefix = this.k2;
+			this.tailPrefix = this.tail;
+		}
+
+		@Override
+		void reset() {
+			this.h1 = this.h1Prefix;
+			this.h2 = this.h2Prefix;
+			this.length = this.lengthPrefix;
+			this.k1 = this.k1Prefix;
+			this.k2 = this.k2Prefix;
+			this.tail = this.tailPrefix;
+		}
+
+		@Override
+		void update(final byte[] bytes, int offset, int length) {
+
+			this.length += length;
+
+			// complete the pending block
+			while (this.tail != 0 && length > 0) {
+				add(bytes[offset++]);
+				length--;
+			}
+
+			// whole blocks straight from the array
+			if (length >= 16) {
+				// a wrapper with no copy, usually removed by escape analysis
+				final ByteBuffer buffer = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+				while (length >= 16) {
+					block(buffer.getLong(offset), buffer.getLong(offset + 8));
+					offset += 16;
+					length -= 16;
+				}
+			}
+
+			while (length > 0) {
+				add(bytes[offset++]);
+				length--;
+			}
+		}
+
+		@Override
+		void update(final ByteBuffer buffer) {
+
+			if (buffer.hasArray()) {
+				update(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+				return;
+			}
+
+			// direct or read-only buffers are read in place with absolute gets
+			int i = buffer.position();
+			final int limit = buffer.limit();
+			final boolean swap = buffer.order() == ByteOrder.BIG_ENDIAN;
+
+			this.length += limit - i;
+
+			while (this.tail != 0 && i < limit) {
+				add(buffer.get(i++));
+			}
+
+			while (limit - i >= 16) {
+				final long k1 = buffer.getLong(i);
+				final long k2 = buffer.getLong(i + 8);
+				if (swap) {
+					block(Long.reverseBytes(k1), Long.reverseBytes(k2));
+				} else {
+					block(k1, k2);
+				}
+				i += 16;
+			}
+
+			while (i < limit) {
+				add(buffer.get(i++));
+			}
+		}
+
+		private void add(final byte b) {
+			if (this.tail < 8) {
+				this.k1 |= (b & 0xffL) << (this.tail << 3);
+			} else {
+				this.k2 |= (b & 0xffL) << ((this.tail - 8) << 3);
+			}
+			if (++this.tail == 16) {
+				block(this.k1, this.k2);
+				this.k1 = 0;
+				this.k2 = 0;
+				this.tail = 0;
+			}
+		}
+
+		private void block(long k1, long k2) {
+
+			k1 *= C1;
+			k1 = Long.rotateLeft(k1, 31);
+			k1 *= C2;
+			this.h1 ^= k1;
+
+			this.h1 = Long.rotateLeft(this.h1, 27);
+			this.h1 += this.h2;
+			this.h1 = this.h1 * 5 + 0x52dce729;
+
+			k2 *= C2;
+			k2 = Long.rotateLeft(k2, 33);
+			k2 *= C1;
+			this.h2 ^= k2;
+
+			this.h2 = Long.rotateLeft(this.h2, 31);
+			this.h2 += this.h1;
+			this.h2 = this.h2 * 5 + 0x38495ab5;
+		}
+
+		@Override
+		void digest(final long time, final long[] longs, final int index) {
+
+			long h1 = this.h1;
+			long h2 = this.h2;
+
+			if (this.tail > 8) {
+				long k2 = this.k2 * C2;
+				k2 = Long.rotateLeft(k2, 33);
+				h2 ^= k2 * C1;
+			}
+			if (this.tail > 0) {
+				long k1 = this.k1 * C1;
+				k1 = Long.rotateLeft(k1, 31);
+				h1 ^= k1 * C2;
+			}
+
+			h1 ^= this.length;
+			h2 ^= this.length;
+
+			h1 += h2;
+			h2 += h1;
+
+			h1 = fmix(h1);
+			h2 = fmix(h2);
+
+			h1 += h2;
+			h2 += h1;
+
+			// the first 10 bytes of the hash: h1 and h2 in little-endian order
+			final long bytes = Long.reverseBytes(h1);
+			longs[index] = (time << 16) | (bytes >>> 48);
+			longs[index + 1] = (bytes << 16) | ((h2 & 0xffL) << 8) | ((h2 >>> 8) & 0xffL);
+		}
+
+		private static long fmix(long k) {
+			k ^= k >>> 33;
+			k *= 0xff51afd7ed558ccdL;
+			k ^= k >>> 33;
+			k *= 0xc4ceb9fe1a85ec53L;
+			k ^= k >>> 33;
+			return k;
+		}
+	}
+}
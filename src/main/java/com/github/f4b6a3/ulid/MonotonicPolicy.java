@@ -0,0 +1,292 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2020-2023 Fabio Lima
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.f4b6a3.ulid;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
+
+/**
+ * A policy that tells a monotonic factory what to do when monotonicity is in
+ * danger.
+ * <p>
+ * There are two events:
+ * <ul>
+ * <li>An <b>overflow</b>: the 80 bits of the random component are exhausted
+ * within the same millisecond;
+ * <li>A <b>regression</b>: the clock moves backwards more than the drift
+ * tolerance of 10 seconds.
+ * </ul>
+ * <p>
+ * The policies are:
+ * <ul>
+ * <li>{@link #carry()}: the default. An overflow carries into the time
+ * component, and a regression resets the factory, abandoning monotonicity;
+ * <li>{@link #spin(long)}: busy-waits for the clock to move forward;
+ * <li>{@link #park(long)}: parks the thread with an exponential backoff until
+ * the clock moves forward;
+ * <li>{@link #borrow(long)}: keeps incrementing ahead of the clock, up to a
+ * limit;
+ * <li>{@link #failFast()}: throws an exception right away.
+ * </ul>
+ * <p>
+ * A policy that can't keep monotonicity throws an
+ * {@link IllegalStateException}, and the state of the factory is left
+ * unchanged.
+ * <p>
+ * When a factory fills an array, {@link #failFast()} and {@link #borrow(long)}
+ * check the whole sequence before writing, so a failed fill writes nothing.
+ * With {@link #spin(long)} and {@link #park(long)}, a fill can fail in the
+ * middle, when the clock doesn't move in time: the array is then partially
+ * filled, and the state of the factory is that of the last ULID written.
+ * <p>
+ * Policies apply only to the factories returned by
+ * {@link UlidFactory#newMonotonicInstance(MonotonicPolicy)} and its overloads.
+ * The lock-free and the striped monotonic factories don't take a policy: they
+ * always behave like {@link #carry()} on overflows.
+ * <p>
+ * Each policy counts how often each path is taken. The counters are shared by
+ * all the factories that use the same policy instance.
+ * 
+ * <pre>{@code
+ * MonotonicPolicy policy = MonotonicPolicy.park(100);
+ * UlidFactory factory = UlidFactory.newMonotonicInstance(policy);
+ * // ...
+ * long waits = policy.getWaitCount();
+ * }</pre>
+ * 
+ * @since 5.3.0
+ */
+public final class MonotonicPolicy {
+
+	final Action action;
+
+	// in milliseconds: the maximum wait or how far ahead of the clock
+	final long limit;
+
+	private final LongAdder overflows = new LongAdder();
+	private final LongAdder regressions = new LongAdder();
+	private final LongAdder borrows = new LongAdder();
+	private final LongAdder waits = new LongAdder();
+	private final LongAdder resets = new LongAdder();
+	private final LongAdder failures = new LongAdder();
+
+	// the first and the maximum pause of the park policy
+	private static final long PARK_MIN_NANOS = TimeUnit.MICROSECONDS.toNanos(1);
+	private static final long PARK_MAX_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+	enum Action {
+		CARRY, SPIN, PARK, BORROW, FAIL
+	}
+
+	private MonotonicPolicy(Action action, long limit) {
+		if (limit < 0) {
+			throw new IllegalArgumentException(String.format("Invalid limit: %s", limit));
+		}
+		this.action = action;
+		this.limit = limit;
+	}
+
+	/**
+	 * Returns a new policy that carries an overflow into the time component and
+	 * resets the factory after a regression.
+	 * <p>
+	 * It is the default policy of the monotonic factories. It never waits and
+	 * never fails, but the time component can get ahead of the clock during long
+	 * bursts, and monotonicity is lost after a large regression.
+	 * 
+	 * @return a policy
+	 */
+	public static MonotonicPolicy carry() {
+		return new MonotonicPolicy(Action.CARRY, 0);
+	}
+
+	/**
+	 * Returns a new policy that busy-waits for the clock.
+	 * <p>
+	 * After an overflow, it waits for the next millisecond. After a regression, it
+	 * waits for the clock to get back into the drift tolerance.
+	 * 
+	 * @param maxWait the maximum wait in milliseconds
+	 * @return a policy
+	 * @throws IllegalArgumentException if the maximum wait is negative
+	 */
+	public static MonotonicPolicy spin(long maxWait) {
+		return new MonotonicPolicy(Action.SPIN, maxWait);
+	}
+
+	/**
+	 * Returns a new policy that parks the thread while waiting for the clock.
+	 * <p>
+	 * It is like {@link #spin(long)}, but the thread is parked for 1 microsecond,
+	 * then 2, then 4, and so on, up to 1 millisecond between each reading of the
+	 * clock.
+	 * 
+	 * @param maxWait the maximum wait in milliseconds
+	 * @return a policy
+	 * @throws IllegalArgumentException if the maximum wait is negative
+	 */
+	public static MonotonicPolicy park(long maxWait) {
+		return new MonotonicPolicy(Action.PARK, maxWait);
+	}
+
+	/**
+	 * Returns a new policy that keeps incrementing ahead of the clock.
+	 * <p>
+	 * After an overflow, the time component is incremented, as long as it doesn't
+	 * get ahead of the clock by more than the limit. After a regression, the
+	 * factory keeps incrementing the previous ULID, as long as the clock is not
+	 * behind it by more than the limit.
+	 * 
+	 * @param limit how far the time component can get ahead of the clock in
+	 *              milliseconds
+	 * @return a policy
+	 * @throws IllegalArgumentException if the limit is negative
+	 */
+	public static MonotonicPolicy borrow(long limit) {
+		return new MonotonicPolicy(Action.BORROW, limit);
+	}
+
+	/**
+	 * Returns a new policy that fails right away after an overflow or a
+	 * regression.
+	 * 
+	 * @return a policy
+	 */
+	public static MonotonicPolicy failFast() {
+		return new MonotonicPolicy(Action.FAIL, 0);
+	}
+
+	/**
+	 * Returns how many times the random component overflowed.
+	 * 
+	 * @return the number of overflows
+	 */
+	public long getOverflowCount() {
+		return this.overflows.sum();
+	}
+
+	/**
+	 * Returns how many times the clock moved backwards beyond the drift tolerance.
+	 * 
+	 * @return the number of regressions
+	 */
+	public long getRegressionCount() {
+		return this.regressions.sum();
+	}
+
+	/**
+	 * Returns how many times the time component got ahead of the clock after an
+	 * overflow or a regression.
+	 * 
+	 * @return the number of borrows
+	 */
+	public long getBorrowCount() {
+		return this.borrows.sum();
+	}
+
+	/**
+	 * Returns how many times a thread waited for the clock.
+	 * 
+	 * @return the number of waits
+	 */
+	public long getWaitCount() {
+		return this.waits.sum();
+	}
+
+	/**
+	 * Returns how many times a factory was reset after a regression.
+	 * 
+	 * @return the number of resets
+	 */
+	public long getResetCount() {
+		return this.resets.sum();
+	}
+
+	/**
+	 * Returns how many times an exception was thrown.
+	 * 
+	 * @return the number of failures
+	 */
+	public long getFailureCount() {
+		return this.failures.sum();
+	}
+
+	@Override
+	public String toString() {
+		return this.action.name().toLowerCase() + "(" + this.limit + ")";
+	}
+
+	void overflowed() {
+		this.overflows.increment();
+	}
+
+	void regressed() {
+		this.regressions.increment();
+	}
+
+	void borrowed() {
+		this.borrows.increment();
+	}
+
+	void reset() {
+		this.resets.increment();
+	}
+
+	/**
+	 * Waits until the clock gets past a given time.
+	 * 
+	 * @param timeFunction the clock
+	 * @param time         the time to get past
+	 * @return the new time of the clock
+	 * @throws IllegalStateException if the maximum wait is exceeded
+	 */
+	long await(final LongSupplier timeFunction, final long time) {
+
+		this.waits.increment();
+
+		final long start = System.nanoTime();
+		final long maxWait = TimeUnit.MILLISECONDS.toNanos(this.limit);
+
+		long pause = PARK_MIN_NANOS;
+		long now;
+		while ((now = timeFunction.getAsLong()) <= time) {
+			if (System.nanoTime() - start > maxWait) {
+				throw fail("The clock didn't get past %s within %s ms", time, this.limit);
+			}
+			if (this.action == Action.PARK) {
+				LockSupport.parkNanos(this, pause);
+				pause = Math.min(pause << 1, PARK_MAX_NANOS);
+			}
+		}
+		return now;
+	}
+
+	IllegalStateException fail(String format, Object... args) {
+		this.failures.increment();
+		return new IllegalStateException(String.format(format, args));
+	}
+}
@@ -0,0 +1,120 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2020-2023 Fabio Lima
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.f4b6a3.ulid;
+
+import java.security.SecureRandom;
+import java.util.Objects;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * A random generator that pools the bytes of a {@link SecureRandom}.
+ * <p>
+ * It takes large blocks of bytes from the secure random generator at once and
+ * hands them out in small slices. So each ULID doesn't need its own call to the
+ * secure random generator, which is usually synchronized and may be backed by a
+ * system call. A ULID takes exactly 80 bits from the pool and no byte array is
+ * allocated.
+ * <p>
+ * Each thread has its own block of bytes, so threads don't contend for it.
+ * <p>
+ * It can be used with any factory method that accepts a {@link Random}:
+ * 
+ * <pre>{@code
+ * UlidFactory factory = UlidFactory.newInstance(new PooledRandom());
+ * }</pre>
+ * <p>
+ * The bytes are as strong as the ones of the secure random generator. However,
+ * each thread keeps up to one block of upcoming bytes in memory until they are
+ * used.
+ * 
+ * @since 5.3.0
+ */
+public final class PooledRandom extends BlockRandom {
+
+	private static final long serialVersionUID = -1787464383187474457L;
+
+	/**
+	 * Default number of bytes taken from the secure random generator at once.
+	 */
+	public static final int DEFAULT_BLOCK_SIZE = 8 * 1024;
+	/**
+	 * Minimum number of bytes taken from the secure random generator at once.
+	 */
+	public static final int MIN_BLOCK_SIZE = 16;
+	/**
+	 * Maximum number of bytes taken from the secure random generator at once.
+	 */
+	public static final int MAX_BLOCK_SIZE = 1024 * 1024;
+
+	/**
+	 * Creates a pooled random generator with blocks of 8 KiB.
+	 */
+	public PooledRandom() {
+		this(new SecureRandom(), DEFAULT_BLOCK_SIZE);
+	}
+
+	/**
+	 * Creates a pooled random generator.
+	 * 
+	 * @param blockSize the number of bytes taken from the secure random generator
+	 *                  at once
+	 * @throws IllegalArgumentException if the block size is not between 16 bytes
+	 *                                  and 1 MiB
+	 */
+	public PooledRandom(int blockSize) {
+		this(new SecureRandom(), blockSize);
+	}
+
+	/**
+	 * Creates a pooled random generator.
+	 * 
+	 * @param source    a secure random generator
+	 * @param blockSize the number of bytes taken from the secure random generator
+	 *                  at once
+	 * @throws IllegalArgumentException if the block size is not between 16 bytes
+	 *                                  and 1 MiB
+	 */
+	public PooledRandom(SecureRandom source, int blockSize) {
+		super(supplier(source, blockSize));
+	}
+
+	private static Supplier<Block> supplier(SecureRandom source, int blockSize) {
+
+		Objects.requireNonNull(source, "Secure random generator must not be null");
+
+		if (blockSize < MIN_BLOCK_SIZE || blockSize > MAX_BLOCK_SIZE) {
+			throw new IllegalArgumentException(String.format("Invalid block size: %s", blockSize));
+		}
+
+		return () -> new Block(blockSize) {
+			@Override
+			void refill() {
+				source.nextBytes(this.bytes);
+				this.position = 0;
+			}
+		};
+	}
+}
@@ -0,0 +1,640 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2020-2023 Fabio Lima
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.f4b6a3.ulid;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A memory-mapped file of sorted ULIDs.
+ * <p>
+ * The file is a plain sequence of 16-byte records, with no header. Each record
+ * is a ULID in binary form, as in {@link Ulid#toBytes()}, and the records are in
+ * ascending order without duplicates. Such files are written by
+ * {@link #write(Path, Ulid[])} or {@link #write(Path, long[])}.
+ * <p>
+ * An opened file is mapped into memory in segments of 1 GiB and read in place,
+ * so it can be much larger than the heap. Lookups are binary searches over the
+ * records, and time ranges are found with the bounds {@link Ulid#min(long)} and
+ * {@link Ulid#max(long)}. The operating system keeps the pages that are used
+ * most in its cache.
+ * <p>
+ * Instances are immutable and thread safe. The mapping is released when the
+ * instance is garbage collected. The file must not be changed while it is
+ * mapped, but it can be replaced by another call to {@code write}: the new file
+ * is moved over the old one, which stays mapped until it is released.
+ * <p>
+ * Usage example:
+ * 
+ * <pre>{@code
+ * SortedUlidFile.write(path, ulids);
+ * 
+ * SortedUlidFile file = SortedUlidFile.open(path);
+ * boolean seen = file.contains(ulid);
+ * long count = file.count(fromTime, toTime);
+ * file.forEach(fromTime, toTime, (msb, lsb) -> process(msb, lsb));
+ * }</pre>
+ * 
+ * @since 5.3.0
+ */
+public final class SortedUlidFile {
+
+	private final ByteBuffer[] segments;
+	private final int segmentShift;
+	private final long size;
+
+	private static final int RECORD_SHIFT = 4; // 16 bytes
+	private static final int DEFAULT_SEGMENT_SHIFT = 30; // 1 GiB
+
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	// ranges of ULIDs sorted by insertion, or by other threads
+	private static final int INSERTION_SORT = 16;
+	private static final int PARALLEL_SORT = 1 << 13;
+
+	private SortedUlidFile(ByteBuffer[] segments, int segmentShift, long size) {
+		this.segments = segments;
+		this.segmentShift = segmentShift;
+		this.size = size;
+	}
+
+	/**
+	 * Writes an array of ULIDs into a file, sorted and without duplicates.
+	 * <p>
+	 * The array is not changed. The file is written next to the path under a
+	 * temporary name, and then moved atomically to the path, replacing any
+	 * existing file.
+	 * 
+	 * @param path  the path of the file
+	 * @param ulids an array of ULIDs
+	 * @return the number of records written
+	 * @throws IOException if an I/O error occurs
+	 */
+	public static long write(Path path, Ulid[] ulids) throws IOException {
+		final long[] longs = new long[2 * ulids.length];
+		for (int i = 0; i < ulids.length; i++) {
+			longs[2 * i] = ulids[i].getMostSignificantBits();
+			longs[2 * i + 1] = ulids[i].getLeastSignificantBits();
+		}
+		return write(path, longs);
+	}
+
+	/**
+	 * Writes a collection of ULIDs into a file, sorted and without duplicates.
+	 * 
+	 * @param path  the path of the file
+	 * @param ulids a collection of ULIDs
+	 * @return the number of records written
+	 * @throws IOException if an I/O error occurs
+	 * @see #write(Path, Ulid[])
+	 */
+	public static long write(Path path, Collection<Ulid> ulids) throws IOException {
+		final long[] longs = new long[2 * ulids.size()];
+		int i = 0;
+		for (Ulid ulid : ulids) {
+			longs[i++] = ulid.getMostSignificantBits();
+			longs[i++] = ulid.getLeastSignificantBits();
+		}
+		return write(path, longs);
+	}
+
+	/**
+	 * Writes an array of longs into a file, sorted and without duplicates.
+	 * <p>
+	 * Each ULID is a pair of longs: the most significant bits followed by the
+	 * least significant bits, as in {@link UlidFactory#fill(long[])}. The pairs
+	 * are sorted in place, so the array is changed, and no {@link Ulid} is
+	 * created.
+	 * 
+	 * @param path  the path of the file
+	 * @param longs an array of longs with even length
+	 * @return the number of records written
+	 * @throws IOException              if an I/O error occurs
+	 * @throws IllegalArgumentException if the length of the array is odd
+	 * @see #write(Path, Ulid[])
+	 */
+	public static long write(Path path, long[] longs) throws IOException {
+
+		if ((longs.length & 1) != 0) {
+			throw new IllegalArgumentException(String.format("Invalid length: %s", longs.length));
+		}
+
+		final int size = longs.length / 2;
+		if (size > PARALLEL_SORT) {
+			ForkJoinPool.commonPool().invoke(new Sorter(longs, 0, size - 1, depth(size)));
+		} else {
+			sort(longs, 0, size - 1, depth(size));
+		}
+
+		// a sibling, so that it can be moved atomically
+		final Path target = path.toAbsolutePath();
+		final Path temp = target.resolveSibling(String.format("%s.%016x.tmp", target.getFileName(),
+				ThreadLocalRandom.current().nextLong()));
+
+		try {
+			final long count;
+			try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE_NEW,
+					StandardOpenOption.WRITE)) {
+				count = write(channel, longs);
+				channel.force(false);
+			}
+			Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+			return count;
+		} finally {
+			Files.deleteIfExists(temp);
+		}
+	}
+
+	private static long write(FileChannel channel, long[] longs) throws IOException {
+
+		final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+		long count = 0;
+		for (int i = 0; i < longs.length; i += 2) {
+			final long msb = longs[i];
+			final long lsb = longs[i + 1];
+			if (i > 0 && msb == longs[i - 2] && lsb == longs[i - 1]) {
+				continue; // duplicate
+			}
+			if (!buffer.hasRemaining()) {
+				flush(channel, buffer);
+			}
+			buffer.putLong(msb);
+			buffer.putLong(lsb);
+			count++;
+		}
+		flush(channel, buffer);
+
+		return count;
+	}
+
+	/**
+	 * Opens a file of sorted ULIDs and maps it into memory.
+	 * <p>
+	 * The order of the records is not checked, as it would read the whole file.
+	 * 
+	 * @param path the path of a file written by {@link #write(Path, Ulid[])}
+	 * @return a mapped file
+	 * @throws IOException              if an I/O error occurs
+	 * @throws IllegalArgumentException if the file size is not a multiple of 16
+	 */
+	public static SortedUlidFile open(Path path) throws IOException {
+		return open(path, DEFAULT_SEGMENT_SHIFT);
+	}
+
+	static SortedUlidFile open(Path path, int segmentShift) throws IOException {
+
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+
+			final long bytes = channel.size();
+			if ((bytes & ((1 << RECORD_SHIFT) - 1)) != 0) {
+				throw new IllegalArgumentException(String.format("Invalid file size: %s", bytes));
+			}
+
+			// the segments hold whole records, so no record is split between two
+			final long segmentBytes = 1L << segmentShift;
+			final ByteBuffer[] segments = new ByteBuffer[(int) ((bytes + segmentBytes - 1) >>> segmentShift)];
+			for (int i = 0; i < segments.length; i++) {
+				final long position = i * segmentBytes;
+				segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, position,
+						Math.min(segmentBytes, bytes - position));
+			}
+
+			// the mapping remains valid after the channel is closed
+			return new SortedUlidFile(segments, segmentShift, bytes >>> RECORD_SHIFT);
+		}
+	}
+
+	/**
+	 * Returns the number of ULIDs in the file.
+	 * 
+	 * @return the number of records
+	 */
+	public long size() {
+		return this.size;
+	}
+
+	/**
+	 * Returns the ULID at an index.
+	 * 
+	 * @param index the index of a record
+	 * @return a ULID
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 */
+	public Ulid get(long index) {
+		if (index < 0 || index >= this.size) {
+			throw new IndexOutOfBoundsException(String.format("Invalid index: %s, size %s", index, this.size));
+		}
+		return new Ulid(msb(index), lsb(index));
+	}
+
+	/**
+	 * Returns the index of a ULID, by binary search.
+	 * 
+	 * @param ulid a ULID
+	 * @return the index of the ULID, if it is in the file; otherwise
+	 *         {@code (-(insertion point) - 1)}, as in
+	 *         {@link Arrays#binarySearch(long[], long)}
+	 */
+	public long indexOf(Ulid ulid) {
+		final long msb = ulid.getMostSignificantBits();
+		final long lsb = ulid.getLeastSignificantBits();
+		final long index = lowerBound(msb, lsb);
+		if (index < this.size && msb(index) == msb && lsb(index) == lsb) {
+			return index;
+		}
+		return -index - 1;
+	}
+
+	/**
+	 * Tells whether a ULID is in the file.
+	 * 
+	 * @param ulid a ULID
+	 * @return true if the ULID is in the file
+	 */
+	public boolean contains(Ulid ulid) {
+		return indexOf(ulid) >= 0;
+	}
+
+	/**
+	 * Returns the number of ULIDs in a time range.
+	 * 
+	 * @param fromTime the first time in milliseconds, inclusive
+	 * @param toTime   the last time in milliseconds, inclusive
+	 * @return the number of ULIDs from {@code Ulid.min(fromTime)} to
+	 *         {@code Ulid.max(toTime)}
+	 * @throws IllegalArgumentException if a time is invalid
+	 */
+	public long count(long fromTime, long toTime) {
+		final long[] range = range(fromTime, toTime);
+		return range[1] - range[0];
+	}
+
+	/**
+	 * Reads the ULIDs in a time range, in ascending order.
+	 * <p>
+	 * The records are read in place and no {@link Ulid} is created.
+	 * 
+	 * @param fromTime the first time in milliseconds, inclusive
+	 * @param toTime   the last time in milliseconds, inclusive
+	 * @param consumer a consumer of pairs of longs
+	 * @return the number of ULIDs read
+	 * @throws IllegalArgumentException if a time is invalid
+	 */
+	public long forEach(long fromTime, long toTime, UlidReader.BitsConsumer consumer) {
+		final long[] range = range(fromTime, toTime);
+		for (long i = range[0]; i < range[1]; i++) {
+			consumer.accept(msb(i), lsb(i));
+		}
+		return range[1] - range[0];
+	}
+
+	/**
+	 * Returns a stream of the ULIDs in a time range, in ascending order.
+	 * <p>
+	 * The stream is sized and splits evenly, so it can run in parallel.
+	 * 
+	 * @param fromTime the first time in milliseconds, inclusive
+	 * @param toTime   the last time in milliseconds, inclusive
+	 * @return a stream of ULIDs
+	 * @throws IllegalArgumentException if a time is invalid
+	 */
+	public Stream<Ulid> stream(long fromTime, long toTime) {
+		final long[] range = range(fromTime, toTime);
+		return StreamSupport.stream(new RecordSpliterator(range[0], range[1]), false);
+	}
+
+	private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+		buffer.flip();
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		buffer.clear();
+	}
+
+	/*
+	 * Sorts the pairs of longs from one pair index to another, inclusive, by
+	 * unsigned MSB and then by unsigned LSB. It is a quicksort that falls back to
+	 * heapsort when the partitions are too uneven, and sorts small ranges by
+	 * insertion.
+	 */
+	private static void sort(final long[] longs, int low, int high, int depth) {
+		while (high - low >= INSERTION_SORT) {
+			if (depth-- == 0) {
+				heapSort(longs, low, high);
+				return;
+			}
+			final int p = partition(longs, low, high);
+			// recursion on the smaller part, so the stack stays small
+			if (p - low < high - p) {
+				sort(longs, low, p, depth);
+				low = p + 1;
+			} else {
+				sort(longs, p + 1, high, depth);
+				high = p;
+			}
+		}
+		insertionSort(longs, low, high);
+	}
+
+	/*
+	 * Hoare partition around the median of the first, the middle and the last
+	 * pairs. Returns an index such that the pairs up to it are not greater than
+	 * the pairs after it.
+	 */
+	private static int partition(final long[] longs, final int low, final int high) {
+
+		final int middle = (low + high) >>> 1;
+		if (compare(longs, middle, low) < 0) {
+			swap(longs, middle, low);
+		}
+		if (compare(longs, high, low) < 0) {
+			swap(longs, high, low);
+		}
+		if (compare(longs, high, middle) < 0) {
+			swap(longs, high, middle);
+		}
+		final long msb = longs[2 * middle];
+		final long lsb = longs[2 * middle + 1];
+
+		int i = low - 1;
+		int j = high + 1;
+		while (true) {
+			do {
+				i++;
+			} while (compare(longs, i, msb, lsb) < 0);
+			do {
+				j--;
+			} while (compare(longs, j, msb, lsb) > 0);
+			if (i >= j) {
+				return j;
+			}
+			swap(longs, i, j);
+		}
+	}
+
+	private static void insertionSort(final long[] longs, final int low, final int high) {
+		for (int i = low + 1; i <= high; i++) {
+			final long msb = longs[2 * i];
+			final long lsb = longs[2 * i + 1];
+			int j = i - 1;
+			while (j >= low && compare(longs, j, msb, lsb) > 0) {
+				longs[2 * j + 2] = longs[2 * j];
+				longs[2 * j + 3] = longs[2 * j + 1];
+				j--;
+			}
+			longs[2 * j + 2] = msb;
+			longs[2 * j + 3] = lsb;
+		}
+	}
+
+	private static void heapSort(final long[] longs, final int low, final int high) {
+		final int size = high - low + 1;
+		for (int i = size / 2 - 1; i >= 0; i--) {
+			siftDown(longs, low, i, size);
+		}
+		for (int end = size - 1; end > 0; end--) {
+			swap(longs, low, low + end);
+			siftDown(longs, low, 0, end);
+		}
+	}
+
+	// moves down a pair of a heap that starts at an offset
+	private static void siftDown(final long[] longs, final int offset, int index, final int size) {
+		int child;
+		while ((child = 2 * index + 1) < size) {
+			if (child + 1 < size && compare(longs, offset + child + 1, offset + child) > 0) {
+				child++;
+			}
+			if (compare(longs, offset + index, offset + child) >= 0) {
+				return;
+			}
+			swap(longs, offset + index, offset + child);
+			index = child;
+		}
+	}
+
+	// the depth after which quicksort falls back to heapsort
+	private static int depth(final int size) {
+		return 2 * (32 - Integer.numberOfLeadingZeros(size));
+	}
+
+	private static int compare(final long[] longs, final int i, final int j) {
+		return compare(longs, i, longs[2 * j], longs[2 * j + 1]);
+	}
+
+	private static int compare(final long[] longs, final int i, final long msb, final long lsb) {
+		final int result = Long.compareUnsigned(longs[2 * i], msb);
+		return result != 0 ? result : Long.compareUnsigned(longs[2 * i + 1], lsb);
+	}
+
+	private static void swap(final long[] longs, final int i, final int j) {
+		final long msb = longs[2 * i];
+		final long lsb = longs[2 * i + 1];
+		longs[2 * i] = longs[2 * j];
+		longs[2 * i + 1] = longs[2 * j + 1];
+		longs[2 * j] = msb;
+		longs[2 * j + 1] = lsb;
+	}
+
+	/**
+	 * A task that sorts a large range of pairs, partitioning it and sorting the
+	 * parts in parallel.
+	 */
+	private static final class Sorter extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final long[] longs;
+		private final int low;
+		private final int high;
+		private final int depth;
+
+		private Sorter(long[] longs, int low, int high, int depth) {
+			this.longs = longs;
+			this.low = low;
+			this.high = high;
+			this.depth = depth;
+		}
+
+		@Override
+		protected void compute() {
+			if (this.high - this.low < PARALLEL_SORT || this.depth == 0) {
+				sort(this.longs, this.low, this.high, this.depth);
+				return;
+			}
+			final int p = partition(this.longs, this.low, this.high);
+			invokeAll(new Sorter(this.longs, this.low, p, this.depth - 1),
+					new Sorter(this.longs, p + 1, this.high, this.depth - 1));
+		}
+	}
+
+	/*
+	 * Returns the first and the last index (exclusive) of the records from the
+	 * minimum ULID of the first time to the maximum ULID of the last time.
+	 */
+	private long[] range(long fromTime, long toTime) {
+
+		// the same validation as Ulid(long, byte[])
+		if ((fromTime & 0xffff000000000000L) != 0 || (toTime & 0xffff000000000000L) != 0) {
+			throw new IllegalArgumentException("Invalid time value");
+		}
+		if (fromTime > toTime) {
+			return new long[] { 0, 0 };
+		}
+
+		final Ulid min = Ulid.min(fromTime);
+		final Ulid max = Ulid.max(toTime);
+		final long from = lowerBound(min.getMostSignificantBits(), min.getLeastSignificantBits());
+		final long to = upperBound(max.getMostSignificantBits(), max.getLeastSignificantBits());
+		return new long[] { from, to };
+	}
+
+	// the index of the first record greater than or equal to a ULID
+	private long lowerBound(long msb, long lsb) {
+		long low = 0;
+		long high = this.size;
+		while (low < high) {
+			final long middle = (low + high) >>> 1;
+			if (compare(middle, msb, lsb) < 0) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	// the index of the first record greater than a ULID
+	private long upperBound(long msb, long lsb) {
+		long low = 0;
+		long high = this.size;
+		while (low < high) {
+			final long middle = (low + high) >>> 1;
+			if (compare(middle, msb, lsb) <= 0) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	// compares as unsigned longs, reading the second long only if needed
+	private int compare(long index, long msb, long lsb) {
+		final int result = Long.compareUnsigned(msb(index), msb);
+		return result != 0 ? result : Long.compareUnsigned(lsb(index), lsb);
+	}
+
+	private long msb(long index) {
+		final long position = index << RECORD_SHIFT;
+		return this.segments[(int) (position >>> this.segmentShift)].getLong(offset(position));
+	}
+
+	private long lsb(long index) {
+		final long position = index << RECORD_SHIFT;
+		return this.segments[(int) (position >>> this.segmentShift)].getLong(offset(position) + 8);
+	}
+
+	private int offset(long position) {
+		return (int) (position & ((1L << this.segmentShift) - 1));
+	}
+
+	/**
+	 * A spliterator of a range of records.
+	 */
+	private final class RecordSpliterator implements Spliterator<Ulid> {
+
+		private long index;
+		private final long end;
+
+		private RecordSpliterator(long index, long end) {
+			this.index = index;
+			this.end = end;
+		}
+
+		@Override
+		public boolean tryAdvance(Consumer<? super Ulid> action) {
+			Objects.requireNonNull(action);
+			if (this.index < this.end) {
+				action.accept(new Ulid(msb(this.index), lsb(this.index)));
+				this.index++;
+				return true;
+			}
+			return false;
+		}
+
+		@Override
+		public void forEachRemaining(Consumer<? super Ulid> action) {
+			Objects.requireNonNull(action);
+			for (long i = this.index; i < this.end; i++) {
+				action.accept(new Ulid(msb(i), lsb(i)));
+			}
+			this.index = this.end;
+		}
+
+		@Override
+		public Spliterator<Ulid> trySplit() {
+			final long middle = (this.index + this.end) >>> 1;
+			if (middle <= this.index) {
+				return null;
+			}
+			final RecordSpliterator prefix = new RecordSpliterator(this.index, middle);
+			this.index = middle;
+			return prefix;
+		}
+
+		@Override
+		public long estimateSize() {
+			return this.end - this.index;
+		}
+
+		@Override
+		public int characteristics() {
+			return ORDERED | SORTED | DISTINCT | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+		}
+
+		@Override
+		public Comparator<? super Ulid> getComparator() {
+			return null; // natural order
+		}
+	}
+}
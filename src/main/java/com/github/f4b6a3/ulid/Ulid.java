@@ -24,11 +24,17 @@
 
 package com.github.f4b6a3.ulid;
 
+import java.io.IOException;
 import java.io.Serializable;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.Arrays;
 import java.util.UUID;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongSupplier;
 
 /**
  * A class that represents ULIDs.
@@ -123,6 +129,31 @@ public final class Ulid implements Serializable, Comparable<Ulid> {
 		ALPHABET_VALUES['l'] = 0x01;
 	}
 
+	// the 36-char canonical UUID string
+	private static final int UUID_CHARS = 36;
+
+	// Java 9+ formats a UUID straight into the bytes of a compact string
+	private static final boolean JDK_UUID_STRING = !System.getProperty("java.specification.version", "")
+			.startsWith("1.");
+
+	static final byte[] HEX_VALUES = new byte[256];
+	// two lower case hex digits per byte value, packed as (high << 8) | low
+	static final char[] HEX_PAIRS = new char[256];
+
+	static {
+
+		final char[] digits = "0123456789abcdef".toCharArray();
+
+		Arrays.fill(HEX_VALUES, (byte) -1);
+		for (int i = 0; i < digits.length; i++) {
+			HEX_VALUES[digits[i]] = (byte) i;
+			HEX_VALUES[Character.toUpperCase(digits[i])] = (byte) i;
+		}
+		for (int i = 0; i < HEX_PAIRS.length; i++) {
+			HEX_PAIRS[i] = (char) ((digits[i >>> 4] << 8) | digits[i & 0xf]);
+		}
+	}
+
 	// 0xffffffffffffffffL + 1 = 0x0000000000000000L
 	private static final long INCREMENT_OVERFLOW = 0x0000000000000000L;
 
@@ -223,6 +254,28 @@ public final class Ulid implements Serializable, Comparable<Ulid> {
 		return new Ulid((time << 16) | (random.nextLong() & 0xffffL), random.nextLong());
 	}
 
+	/**
+	 * Returns a fast new ULID with the time of a given clock.
+	 * <p>
+	 * It is the same as {@link #fast()}, but the time is taken from a clock
+	 * function instead of {@link System#currentTimeMillis()}. It is useful with a
+	 * {@link CachedClock}:
+	 * 
+	 * <pre>{@code
+	 * Ulid ulid = Ulid.fast(CachedClock.getInstance());
+	 * }</pre>
+	 * 
+	 * @param timeFunction a function that returns the current time in milliseconds,
+	 *                     measured from the UNIX epoch of 1970-01-01T00:00Z (UTC)
+	 * @return a ULID
+	 * @since 5.3.0
+	 */
+	public static Ulid fast(LongSupplier timeFunction) {
+		final long time = timeFunction.getAsLong();
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		return new Ulid((time << 16) | (random.nextLong() & 0xffffL), random.nextLong());
+	}
+
 	/**
 	 * Returns the minimum ULID for a given time.
 	 * <p>
@@ -326,46 +379,304 @@ public final class Ulid implements Serializable, Comparable<Ulid> {
 	 * @see <a href="https://www.crockford.com/base32.html">Crockford's Base 32</a>
 	 */
 	public static Ulid from(String string) {
+		final Ulid ulid = string == null || string.length() != ULID_CHARS ? null : decode(string, 0);
+		if (ulid == null) {
+			throw new IllegalArgumentException(String.format("Invalid ULID: \"%s\"", string));
+		}
+		return ulid;
+	}
 
-		final char[] chars = toCharArray(string);
+	/**
+	 * Converts a canonical string into a ULID.
+	 * <p>
+	 * It accepts any {@link CharSequence}, such as a {@link StringBuilder} or a
+	 * {@link java.nio.CharBuffer}, without copying it. The characters are
+	 * validated and decoded in a single pass.
+	 * 
+	 * @param chars a canonical string
+	 * @return a ULID
+	 * @throws IllegalArgumentException if the input is invalid
+	 * @since 5.3.0
+	 */
+	public static Ulid parse(CharSequence chars) {
+		final Ulid ulid = chars == null || chars.length() != ULID_CHARS ? null : decode(chars, 0);
+		if (ulid == null) {
+			throw new IllegalArgumentException(String.format("Invalid ULID: \"%s\"", chars));
+		}
+		return ulid;
+	}
 
-		long time = 0;
-		long random0 = 0;
-		long random1 = 0;
+	/**
+	 * Converts 26 characters of a char sequence into a ULID.
+	 * <p>
+	 * The characters from {@code offset} to {@code offset + 26} are validated and
+	 * decoded in a single pass. The rest of the sequence is ignored.
+	 * 
+	 * @param chars  a char sequence
+	 * @param offset the position of the first character
+	 * @return a ULID
+	 * @throws IllegalArgumentException  if the characters are invalid
+	 * @throws IndexOutOfBoundsException if the sequence has fewer than 26
+	 *                                   characters from the offset
+	 * @since 5.3.0
+	 */
+	public static Ulid parse(CharSequence chars, int offset) {
+		checkOffset(chars.length(), offset);
+		final Ulid ulid = decode(chars, offset);
+		if (ulid == null) {
+			throw new IllegalArgumentException(
+					String.format("Invalid ULID: \"%s\"", chars.subSequence(offset, offset + ULID_CHARS)));
+		}
+		return ulid;
+	}
+
+	/**
+	 * Converts 26 characters of a char array into a ULID.
+	 * 
+	 * @param chars  a char array
+	 * @param offset the position of the first character
+	 * @return a ULID
+	 * @throws IllegalArgumentException  if the characters are invalid
+	 * @throws IndexOutOfBoundsException if the array has fewer than 26 characters
+	 *                                   from the offset
+	 * @see #parse(CharSequence, int)
+	 * @since 5.3.0
+	 */
+	public static Ulid parse(char[] chars, int offset) {
+		checkOffset(chars.length, offset);
+		final Ulid ulid = decode(chars, offset);
+		if (ulid == null) {
+			throw new IllegalArgumentException(
+					String.format("Invalid ULID: \"%s\"", new String(chars, offset, ULID_CHARS)));
+		}
+		return ulid;
+	}
 
-		time |= (long) ALPHABET_VALUES[chars[0x00]] << 45;
-		time |= (long) ALPHABET_VALUES[chars[0x01]] << 40;
-		time |= (long) ALPHABET_VALUES[chars[0x02]] << 35;
-		time |= (long) ALPHABET_VALUES[chars[0x03]] << 30;
-		time |= (long) ALPHABET_VALUES[chars[0x04]] << 25;
-		time |= (long) ALPHABET_VALUES[chars[0x05]] << 20;
-		time |= (long) ALPHABET_VALUES[chars[0x06]] << 15;
-		time |= (long) ALPHABET_VALUES[chars[0x07]] << 10;
-		time |= (long) ALPHABET_VALUES[chars[0x08]] << 5;
-		time |= (long) ALPHABET_VALUES[chars[0x09]];
-
-		random0 |= (long) ALPHABET_VALUES[chars[0x0a]] << 35;
-		random0 |= (long) ALPHABET_VALUES[chars[0x0b]] << 30;
-		random0 |= (long) ALPHABET_VALUES[chars[0x0c]] << 25;
-		random0 |= (long) ALPHABET_VALUES[chars[0x0d]] << 20;
-		random0 |= (long) ALPHABET_VALUES[chars[0x0e]] << 15;
-		random0 |= (long) ALPHABET_VALUES[chars[0x0f]] << 10;
-		random0 |= (long) ALPHABET_VALUES[chars[0x10]] << 5;
-		random0 |= (long) ALPHABET_VALUES[chars[0x11]];
-
-		random1 |= (long) ALPHABET_VALUES[chars[0x12]] << 35;
-		random1 |= (long) ALPHABET_VALUES[chars[0x13]] << 30;
-		random1 |= (long) ALPHABET_VALUES[chars[0x14]] << 25;
-		random1 |= (long) ALPHABET_VALUES[chars[0x15]] << 20;
-		random1 |= (long) ALPHABET_VALUES[chars[0x16]] << 15;
-		random1 |= (long) ALPHABET_VALUES[chars[0x17]] << 10;
-		random1 |= (long) ALPHABET_VALUES[chars[0x18]] << 5;
-		random1 |= (long) ALPHABET_VALUES[chars[0x19]];
-
-		final long msb = (time << 16) | (random0 >>> 24);
-		final long lsb = (random0 << 40) | (random1 & 0xffffffffffL);
+	/**
+	 * Converts 26 ASCII bytes of a byte array into a ULID.
+	 * <p>
+	 * It parses the text form, not the 16-byte binary form read by
+	 * {@link #from(byte[])}.
+	 * 
+	 * @param bytes  a byte array with ASCII text
+	 * @param offset the position of the first byte
+	 * @return a ULID
+	 * @throws IllegalArgumentException  if the bytes are invalid
+	 * @throws IndexOutOfBoundsException if the array has fewer than 26 bytes from
+	 *                                   the offset
+	 * @since 5.3.0
+	 */
+	public static Ulid parse(byte[] bytes, int offset) {
+		checkOffset(bytes.length, offset);
+		final Ulid ulid = decode(bytes, offset);
+		if (ulid == null) {
+			throw new IllegalArgumentException(String.format("Invalid ULID: \"%s\"",
+					new String(bytes, offset, ULID_CHARS, StandardCharsets.ISO_8859_1)));
+		}
+		return ulid;
+	}
 
-		return new Ulid(msb, lsb);
+	/**
+	 * Converts 26 ASCII bytes of a byte buffer into a ULID.
+	 * <p>
+	 * The bytes are read from the current position, which is advanced only if they
+	 * are valid, as a relative get would do. Heap and direct buffers are both
+	 * supported.
+	 * 
+	 * @param buffer a byte buffer with ASCII text
+	 * @return a ULID
+	 * @throws IllegalArgumentException if the bytes are invalid
+	 * @throws BufferUnderflowException if fewer than 26 bytes remain in the buffer
+	 * @since 5.3.0
+	 */
+	public static Ulid parse(ByteBuffer buffer) {
+		final Ulid ulid = decode(buffer);
+		if (ulid == null) {
+			final byte[] bytes = new byte[ULID_CHARS];
+			for (int i = 0; i < ULID_CHARS; i++) {
+				bytes[i] = buffer.get(buffer.position() + i);
+			}
+			throw new IllegalArgumentException(
+					String.format("Invalid ULID: \"%s\"", new String(bytes, StandardCharsets.ISO_8859_1)));
+		}
+		return ulid;
+	}
+
+	/**
+	 * Converts a canonical string into a ULID, or returns null if it is invalid.
+	 * <p>
+	 * Unlike {@link #parse(CharSequence)}, it never throws an exception, so
+	 * rejecting an invalid input costs no more than accepting a valid one. It is
+	 * meant for untrusted inputs.
+	 * 
+	 * @param chars a canonical string, or null
+	 * @return a ULID, or null if the input is invalid
+	 * @since 5.3.0
+	 */
+	public static Ulid tryParse(CharSequence chars) {
+		return chars == null || chars.length() != ULID_CHARS ? null : decode(chars, 0);
+	}
+
+	/**
+	 * Converts 26 characters of a char sequence into a ULID, or returns null if
+	 * they are invalid.
+	 * <p>
+	 * It also returns null if the sequence has fewer than 26 characters from the
+	 * offset.
+	 * 
+	 * @param chars  a char sequence, or null
+	 * @param offset the position of the first character
+	 * @return a ULID, or null if the input is invalid
+	 * @see #tryParse(CharSequence)
+	 * @since 5.3.0
+	 */
+	public static Ulid tryParse(CharSequence chars, int offset) {
+		return chars == null || !isOffset(chars.length(), offset) ? null : decode(chars, offset);
+	}
+
+	/**
+	 * Converts 26 characters of a char array into a ULID, or returns null if they
+	 * are invalid.
+	 * 
+	 * @param chars  a char array, or null
+	 * @param offset the position of the first character
+	 * @return a ULID, or null if the input is invalid
+	 * @see #tryParse(CharSequence, int)
+	 * @since 5.3.0
+	 */
+	public static Ulid tryParse(char[] chars, int offset) {
+		return chars == null || !isOffset(chars.length, offset) ? null : decode(chars, offset);
+	}
+
+	/**
+	 * Converts 26 ASCII bytes of a byte array into a ULID, or returns null if they
+	 * are invalid.
+	 * 
+	 * @param bytes  a byte array with ASCII text, or null
+	 * @param offset the position of the first byte
+	 * @return a ULID, or null if the input is invalid
+	 * @see #tryParse(CharSequence, int)
+	 * @since 5.3.0
+	 */
+	public static Ulid tryParse(byte[] bytes, int offset) {
+		return bytes == null || !isOffset(bytes.length, offset) ? null : decode(bytes, offset);
+	}
+
+	/**
+	 * Converts 26 ASCII bytes of a byte buffer into a ULID, or returns null if they
+	 * are invalid.
+	 * <p>
+	 * The buffer position is advanced only if a ULID is returned. It also returns
+	 * null if fewer than 26 bytes remain in the buffer.
+	 * 
+	 * @param buffer a byte buffer with ASCII text, or null
+	 * @return a ULID, or null if the input is invalid
+	 * @see #parse(ByteBuffer)
+	 * @since 5.3.0
+	 */
+	public static Ulid tryParse(ByteBuffer buffer) {
+		return buffer == null || buffer.remaining() < ULID_CHARS ? null : decode(buffer);
+	}
+
+	/**
+	 * Converts a canonical UUID string into a ULID.
+	 * <p>
+	 * It is the same as {@code Ulid.from(UUID.fromString(string))}, but the 36
+	 * characters are validated and decoded in a single pass, without creating a
+	 * {@link UUID}. Upper and lower case hex digits are accepted. Unlike
+	 * {@link UUID#fromString(String)}, it requires the canonical 8-4-4-4-12 form.
+	 * 
+	 * @param chars a canonical UUID string
+	 * @return a ULID
+	 * @throws IllegalArgumentException if the input is invalid
+	 * @see #toUuidString()
+	 * @since 5.3.0
+	 */
+	public static Ulid parseUuid(CharSequence chars) {
+		final Ulid ulid = chars == null || chars.length() != UUID_CHARS ? null : decodeUuid(chars);
+		if (ulid == null) {
+			throw new IllegalArgumentException(String.format("Invalid UUID: \"%s\"", chars));
+		}
+		return ulid;
+	}
+
+	/**
+	 * Converts a canonical ULID string or a canonical UUID string into a ULID.
+	 * <p>
+	 * The format is chosen by the length of the input: 26 characters for a ULID
+	 * and 36 characters for a UUID. Either way, the input is decoded in a single
+	 * pass. It is useful when both formats are stored in the same place.
+	 * 
+	 * @param chars a canonical ULID or UUID string
+	 * @return a ULID
+	 * @throws IllegalArgumentException if the input is invalid
+	 * @see #parse(CharSequence)
+	 * @see #parseUuid(CharSequence)
+	 * @since 5.3.0
+	 */
+	public static Ulid parseAny(CharSequence chars) {
+		final Ulid ulid = tryParseAny(chars);
+		if (ulid == null) {
+			throw new IllegalArgumentException(String.format("Invalid ULID or UUID: \"%s\"", chars));
+		}
+		return ulid;
+	}
+
+	/**
+	 * Converts a canonical ULID string or a canonical UUID string into a ULID, or
+	 * returns null if it is invalid.
+	 * 
+	 * @param chars a canonical ULID or UUID string, or null
+	 * @return a ULID, or null if the input is invalid
+	 * @see #parseAny(CharSequence)
+	 * @since 5.3.0
+	 */
+	public static Ulid tryParseAny(CharSequence chars) {
+		if (chars == null) {
+			return null;
+		}
+		switch (chars.length()) {
+		case ULID_CHARS:
+			return decode(chars, 0);
+		case UUID_CHARS:
+			return decodeUuid(chars);
+		default:
+			return null;
+		}
+	}
+
+	/**
+	 * Converts a base 62 string into a ULID.
+	 * 
+	 * @param chars a 22-char base 62 string
+	 * @return a ULID
+	 * @throws IllegalArgumentException if the input is invalid
+	 * @see #toBase62()
+	 * @since 5.3.0
+	 */
+	public static Ulid fromBase62(CharSequence chars) {
+		final Ulid ulid = chars == null || chars.length() != Base62Codec.CHARS ? null : Base62Codec.decode(chars);
+		if (ulid == null) {
+			throw new IllegalArgumentException(String.format("Invalid base 62 ULID: \"%s\"", chars));
+		}
+		return ulid;
+	}
+
+	/**
+	 * Converts a sortable base 64 string into a ULID.
+	 * 
+	 * @param chars a 22-char sortable base 64 string
+	 * @return a ULID
+	 * @throws IllegalArgumentException if the input is invalid
+	 * @see #toSortableBase64()
+	 * @since 5.3.0
+	 */
+	public static Ulid fromSortableBase64(CharSequence chars) {
+		final Ulid ulid = chars == null || chars.length() != Base64Codec.CHARS ? null : Base64Codec.decode(chars);
+		if (ulid == null) {
+			throw new IllegalArgumentException(String.format("Invalid base 64 ULID: \"%s\"", chars));
+		}
+		return ulid;
 	}
 
 	/**
@@ -381,6 +692,60 @@ public final class Ulid implements Serializable, Comparable<Ulid> {
 		return new UUID(this.msb, this.lsb);
 	}
 
+	/**
+	 * Converts the ULID into a canonical UUID string.
+	 * <p>
+	 * It returns the same lower case string as {@code ulid.toUuid().toString()}.
+	 * On Java 8, whose UUID formatter creates several intermediate strings, the
+	 * hex digits are written from a table instead.
+	 * 
+	 * @return a 36-char UUID string
+	 * @see #parseUuid(CharSequence)
+	 * @since 5.3.0
+	 */
+	public String toUuidString() {
+		return JDK_UUID_STRING ? new UUID(this.msb, this.lsb).toString() : toUuidString(HEX_PAIRS);
+	}
+
+	/**
+	 * Converts the ULID into a base 62 string.
+	 * <p>
+	 * The output string is 22 characters long, 4 fewer than the canonical string.
+	 * The alphabet {@code 0-9A-Za-z} is in ASCII order and the length is fixed,
+	 * so the strings sort in the same order as the ULIDs. Unlike the canonical
+	 * string, it is case sensitive, so it must not be stored in case-insensitive
+	 * columns.
+	 * 
+	 * @return a 22-char base 62 string
+	 * @see #fromBase62(CharSequence)
+	 * @since 5.3.0
+	 */
+	public String toBase62() {
+		final char[] chars = new char[Base62Codec.CHARS];
+		Base62Codec.encode(this.msb, this.lsb, chars, 0);
+		return new String(chars);
+	}
+
+	/**
+	 * Converts the ULID into a sortable base 64 string.
+	 * <p>
+	 * The output string is 22 characters long and URL safe. It has the characters
+	 * of base64url, but in ASCII order: {@code -0-9A-Z_a-z}. So the strings sort in
+	 * the same order as the ULIDs. It is not RFC 4648 base64url, which is not
+	 * sortable, and it is case sensitive.
+	 * <p>
+	 * It is faster than {@link #toBase62()}, which needs divisions.
+	 * 
+	 * @return a 22-char sortable base 64 string
+	 * @see #fromSortableBase64(CharSequence)
+	 * @since 5.3.0
+	 */
+	public String toSortableBase64() {
+		final char[] chars = new char[Base64Codec.CHARS];
+		Base64Codec.encode(this.msb, this.lsb, chars, 0);
+		return new String(chars);
+	}
+
 	/**
 	 * Convert the ULID into a byte array.
 	 * 
@@ -425,7 +790,7 @@ public final class Ulid implements Serializable, Comparable<Ulid> {
 	 */
 	@Override
 	public String toString() {
-		return toString(ALPHABET_UPPERCASE);
+		return toString(Base32Codec.PAIRS_UPPERCASE);
 	}
 
 	/**
@@ -441,7 +806,156 @@ public final class Ulid implements Serializable, Comparable<Ulid> {
 	 * @see <a href="https://www.crockford.com/base32.html">Crockford's Base 32</a>
 	 */
 	public String toLowerCase() {
-		return toString(ALPHABET_LOWERCASE);
+		return toString(Base32Codec.PAIRS_LOWERCASE);
+	}
+
+	/**
+	 * Writes the canonical string in upper case into a char array.
+	 * <p>
+	 * The 26 characters are written from {@code offset} on. Nothing is allocated,
+	 * so it can be used in tight loops that reuse the same buffer.
+	 * 
+	 * @param chars  the destination array
+	 * @param offset the position of the first character
+	 * @throws IndexOutOfBoundsException if the array has no room for 26 characters
+	 *                                   at the offset
+	 * @since 5.3.0
+	 */
+	public void writeTo(char[] chars, int offset) {
+		checkOffset(chars.length, offset);
+		Base32Codec.encode(this.msb, this.lsb, chars, offset, Base32Codec.PAIRS_UPPERCASE);
+	}
+
+	/**
+	 * Writes the canonical string in lower case into a char array.
+	 * 
+	 * @param chars  the destination array
+	 * @param offset the position of the first character
+	 * @throws IndexOutOfBoundsException if the array has no room for 26 characters
+	 *                                   at the offset
+	 * @see #writeTo(char[], int)
+	 * @since 5.3.0
+	 */
+	public void writeLowerCaseTo(char[] chars, int offset) {
+		checkOffset(chars.length, offset);
+		Base32Codec.encode(this.msb, this.lsb, chars, offset, Base32Codec.PAIRS_LOWERCASE);
+	}
+
+	/**
+	 * Writes the canonical string in upper case into a byte array as ASCII.
+	 * <p>
+	 * The 26 bytes are written from {@code offset} on. It is handy for network
+	 * buffers and fixed-width records, where a {@link String} would only be
+	 * encoded again.
+	 * 
+	 * @param bytes  the destination array
+	 * @param offset the position of the first byte
+	 * @throws IndexOutOfBoundsException if the array has no room for 26 bytes at
+	 *                                   the offset
+	 * @since 5.3.0
+	 */
+	public void writeTo(byte[] bytes, int offset) {
+		checkOffset(bytes.length, offset);
+		Base32Codec.encode(this.msb, this.lsb, bytes, offset, Base32Codec.PAIRS_UPPERCASE);
+	}
+
+	/**
+	 * Writes the canonical string in lower case into a byte array as ASCII.
+	 * 
+	 * @param bytes  the destination array
+	 * @param offset the position of the first byte
+	 * @throws IndexOutOfBoundsException if the array has no room for 26 bytes at
+	 *                                   the offset
+	 * @see #writeTo(byte[], int)
+	 * @since 5.3.0
+	 */
+	public void writeLowerCaseTo(byte[] bytes, int offset) {
+		checkOffset(bytes.length, offset);
+		Base32Codec.encode(this.msb, this.lsb, bytes, offset, Base32Codec.PAIRS_LOWERCASE);
+	}
+
+	/**
+	 * Writes the canonical string in upper case into a byte buffer as ASCII.
+	 * <p>
+	 * The 26 bytes are written at the current position, which is then advanced,
+	 * as a relative put would do. Heap and direct buffers are both supported.
+	 * 
+	 * @param buffer the destination buffer
+	 * @throws BufferOverflowException if fewer than 26 bytes remain in the buffer
+	 * @throws java.nio.ReadOnlyBufferException if the buffer is read-only
+	 * @since 5.3.0
+	 */
+	public void writeTo(ByteBuffer buffer) {
+		encode(buffer, Base32Codec.PAIRS_UPPERCASE);
+	}
+
+	/**
+	 * Writes the canonical string in lower case into a byte buffer as ASCII.
+	 * 
+	 * @param buffer the destination buffer
+	 * @throws BufferOverflowException if fewer than 26 bytes remain in the buffer
+	 * @throws java.nio.ReadOnlyBufferException if the buffer is read-only
+	 * @see #writeTo(ByteBuffer)
+	 * @since 5.3.0
+	 */
+	public void writeLowerCaseTo(ByteBuffer buffer) {
+		encode(buffer, Base32Codec.PAIRS_LOWERCASE);
+	}
+
+	/**
+	 * Appends the canonical string in upper case to a string builder.
+	 * 
+	 * @param builder the destination builder
+	 * @return the same builder
+	 * @since 5.3.0
+	 */
+	public StringBuilder appendTo(StringBuilder builder) {
+		encode(builder, Base32Codec.PAIRS_UPPERCASE);
+		return builder;
+	}
+
+	/**
+	 * Appends the canonical string in lower case to a string builder.
+	 * 
+	 * @param builder the destination builder
+	 * @return the same builder
+	 * @since 5.3.0
+	 */
+	public StringBuilder appendLowerCaseTo(StringBuilder builder) {
+		encode(builder, Base32Codec.PAIRS_LOWERCASE);
+		return builder;
+	}
+
+	/**
+	 * Appends the canonical string in upper case to an {@link Appendable}.
+	 * <p>
+	 * The characters are appended one by one, so no intermediate string is
+	 * created. Writers and other appendables are supported.
+	 * 
+	 * @param <T>        the type of the appendable
+	 * @param appendable the destination
+	 * @return the same appendable
+	 * @throws IOException if the appendable fails
+	 * @since 5.3.0
+	 */
+	public <T extends Appendable> T appendTo(T appendable) throws IOException {
+		encode(appendable, Base32Codec.PAIRS_UPPERCASE);
+		return appendable;
+	}
+
+	/**
+	 * Appends the canonical string in lower case to an {@link Appendable}.
+	 * 
+	 * @param <T>        the type of the appendable
+	 * @param appendable the destination
+	 * @return the same appendable
+	 * @throws IOException if the appendable fails
+	 * @see #appendTo(Appendable)
+	 * @since 5.3.0
+	 */
+	public <T extends Appendable> T appendLowerCaseTo(T appendable) throws IOException {
+		encode(appendable, Base32Codec.PAIRS_LOWERCASE);
+		return appendable;
 	}
 
 	/**
@@ -514,23 +1028,7 @@ public final class Ulid implements Serializable, Comparable<Ulid> {
 	 * @throws IllegalArgumentException if the input string is invalid
 	 */
 	public static long getTime(String string) {
-
-		final char[] chars = toCharArray(string);
-
-		long time = 0;
-
-		time |= (long) ALPHABET_VALUES[chars[0x00]] << 45;
-		time |= (long) ALPHABET_VALUES[chars[0x01]] << 40;
-		time |= (long) ALPHABET_VALUES[chars[0x02]] << 35;
-		time |= (long) ALPHABET_VALUES[chars[0x03]] << 30;
-		time |= (long) ALPHABET_VALUES[chars[0x04]] << 25;
-		time |= (long) ALPHABET_VALUES[chars[0x05]] << 20;
-		time |= (long) ALPHABET_VALUES[chars[0x06]] << 15;
-		time |= (long) ALPHABET_VALUES[chars[0x07]] << 10;
-		time |= (long) ALPHABET_VALUES[chars[0x08]] << 5;
-		time |= (long) ALPHABET_VALUES[chars[0x09]];
-
-		return time;
+		return from(string).getTime();
 	}
 
 	/**
@@ -569,45 +1067,7 @@ public final class Ulid implements Serializable, Comparable<Ulid> {
 	 * @throws IllegalArgumentException if the input string is invalid
 	 */
 	public static byte[] getRandom(String string) {
-
-		final char[] chars = toCharArray(string);
-
-		long random0 = 0;
-		long random1 = 0;
-
-		random0 |= (long) ALPHABET_VALUES[chars[0x0a]] << 35;
-		random0 |= (long) ALPHABET_VALUES[chars[0x0b]] << 30;
-		random0 |= (long) ALPHABET_VALUES[chars[0x0c]] << 25;
-		random0 |= (long) ALPHABET_VALUES[chars[0x0d]] << 20;
-		random0 |= (long) ALPHABET_VALUES[chars[0x0e]] << 15;
-		random0 |= (long) ALPHABET_VALUES[chars[0x0f]] << 10;
-		random0 |= (long) ALPHABET_VALUES[chars[0x10]] << 5;
-		random0 |= (long) ALPHABET_VALUES[chars[0x11]];
-
-		random1 |= (long) ALPHABET_VALUES[chars[0x12]] << 35;
-		random1 |= (long) ALPHABET_VALUES[chars[0x13]] << 30;
-		random1 |= (long) ALPHABET_VALUES[chars[0x14]] << 25;
-		random1 |= (long) ALPHABET_VALUES[chars[0x15]] << 20;
-		random1 |= (long) ALPHABET_VALUES[chars[0x16]] << 15;
-		random1 |= (long) ALPHABET_VALUES[chars[0x17]] << 10;
-		random1 |= (long) ALPHABET_VALUES[chars[0x18]] << 5;
-		random1 |= (long) ALPHABET_VALUES[chars[0x19]];
-
-		final byte[] bytes = new byte[RANDOM_BYTES];
-
-		bytes[0x0] = (byte) (random0 >>> 32);
-		bytes[0x1] = (byte) (random0 >>> 24);
-		bytes[0x2] = (byte) (random0 >>> 16);
-		bytes[0x3] = (byte) (random0 >>> 8);
-		bytes[0x4] = (byte) (random0);
-
-		bytes[0x5] = (byte) (random1 >>> 32);
-		bytes[0x6] = (byte) (random1 >>> 24);
-		bytes[0x7] = (byte) (random1 >>> 16);
-		bytes[0x8] = (byte) (random1 >>> 8);
-		bytes[0x9] = (byte) (random1);
-
-		return bytes;
+		return from(string).getRandom();
 	}
 
 	/**
@@ -672,7 +1132,7 @@ public final class Ulid implements Serializable, Comparable<Ulid> {
 	 * @see <a href="https://www.crockford.com/base32.html">Crockford's Base 32</a>
 	 */
 	public static boolean isValid(String string) {
-		return string != null && isValidCharArray(string.toCharArray());
+		return string != null && string.length() == ULID_CHARS && decode(string, 0) != null;
 	}
 
 	/**
@@ -736,44 +1196,303 @@ public final class Ulid implements Serializable, Comparable<Ulid> {
 		return 0;
 	}
 
-	String toString(char[] alphabet) {
-
+	String toString(char[] pairs) {
 		final char[] chars = new char[ULID_CHARS];
+		Base32Codec.encode(this.msb, this.lsb, chars, 0, pairs);
+		return new String(chars);
+	}
 
-		long time = this.msb >>> 16;
-		long random0 = ((this.msb & 0xffffL) << 24) | (this.lsb >>> 40);
-		long random1 = (this.lsb & 0xffffffffffL);
-
-		chars[0x00] = alphabet[(int) (time >>> 45 & 0b11111)];
-		chars[0x01] = alphabet[(int) (time >>> 40 & 0b11111)];
-		chars[0x02] = alphabet[(int) (time >>> 35 & 0b11111)];
-		chars[0x03] = alphabet[(int) (time >>> 30 & 0b11111)];
-		chars[0x04] = alphabet[(int) (time >>> 25 & 0b11111)];
-		chars[0x05] = alphabet[(int) (time >>> 20 & 0b11111)];
-		chars[0x06] = alphabet[(int) (time >>> 15 & 0b11111)];
-		chars[0x07] = alphabet[(int) (time >>> 10 & 0b11111)];
-		chars[0x08] = alphabet[(int) (time >>> 5 & 0b11111)];
-		chars[0x09] = alphabet[(int) (time & 0b11111)];
-
-		chars[0x0a] = alphabet[(int) (random0 >>> 35 & 0b11111)];
-		chars[0x0b] = alphabet[(int) (random0 >>> 30 & 0b11111)];
-		chars[0x0c] = alphabet[(int) (random0 >>> 25 & 0b11111)];
-		chars[0x0d] = alphabet[(int) (random0 >>> 20 & 0b11111)];
-		chars[0x0e] = alphabet[(int) (random0 >>> 15 & 0b11111)];
-		chars[0x0f] = alphabet[(int) (random0 >>> 10 & 0b11111)];
-		chars[0x10] = alphabet[(int) (random0 >>> 5 & 0b11111)];
-		chars[0x11] = alphabet[(int) (random0 & 0b11111)];
-
-		chars[0x12] = alphabet[(int) (random1 >>> 35 & 0b11111)];
-		chars[0x13] = alphabet[(int) (random1 >>> 30 & 0b11111)];
-		chars[0x14] = alphabet[(int) (random1 >>> 25 & 0b11111)];
-		chars[0x15] = alphabet[(int) (random1 >>> 20 & 0b11111)];
-		chars[0x16] = alphabet[(int) (random1 >>> 15 & 0b11111)];
-		chars[0x17] = alphabet[(int) (random1 >>> 10 & 0b11111)];
-		chars[0x18] = alphabet[(int) (random1 >>> 5 & 0b11111)];
-		chars[0x19] = alphabet[(int) (random1 & 0b11111)];
+	void encode(ByteBuffer buffer, char[] pairs) {
 
-		return new String(chars);
+		final int position = buffer.position();
+		if (buffer.remaining() < ULID_CHARS) {
+			throw new BufferOverflowException();
+		}
+
+		if (buffer.hasArray()) {
+			Base32Codec.encode(this.msb, this.lsb, buffer.array(), buffer.arrayOffset() + position, pairs);
+		} else {
+			Base32Codec.encode(this.msb, this.lsb, buffer, position, pairs);
+		}
+
+		buffer.position(position + ULID_CHARS);
+	}
+
+	void encode(Appendable appendable, char[] pairs) throws IOException {
+		for (int i = 0; i < ULID_CHARS / 2; i++) {
+			final char pair = Base32Codec.pair(this.msb, this.lsb, i, pairs);
+			appendable.append((char) (pair >>> 8)).append((char) (pair & 0xff));
+		}
+	}
+
+	void encode(StringBuilder builder, char[] pairs) {
+		final int length = builder.length();
+		builder.setLength(length + ULID_CHARS);
+		for (int i = 0; i < ULID_CHARS / 2; i++) {
+			final char pair = Base32Codec.pair(this.msb, this.lsb, i, pairs);
+			builder.setCharAt(length + 2 * i, (char) (pair >>> 8));
+			builder.setCharAt(length + 2 * i + 1, (char) (pair & 0xff));
+		}
+	}
+
+	static boolean isOffset(int length, int offset) {
+		return offset >= 0 && offset <= length - ULID_CHARS;
+	}
+
+	static void checkOffset(int length, int offset) {
+		if (!isOffset(length, offset)) {
+			throw new IndexOutOfBoundsException(
+					String.format("Invalid offset: %s, array length %s", offset, length));
+		}
+	}
+
+	/*
+	 * Validates and decodes 26 characters in a single pass.
+	 * 
+	 * Invalid characters have the value -1, which sets the sign bit of the check
+	 * variable and of the time component, so a single test at the end is enough.
+	 * 
+	 * Returns null if the characters are invalid.
+	 */
+	static Ulid decode(CharSequence chars, int offset) {
+
+		long time = 0;
+		long random0 = 0;
+		long random1 = 0;
+		int check = 0;
+
+		for (int i = offset; i < offset + 10; i++) {
+			final int value = valueOf(chars.charAt(i));
+			time = (time << 5) | value;
+			check |= value;
+		}
+		for (int i = offset + 10; i < offset + 18; i++) {
+			final int value = valueOf(chars.charAt(i));
+			random0 = (random0 << 5) | value;
+			check |= value;
+		}
+		for (int i = offset + 18; i < offset + 26; i++) {
+			final int value = valueOf(chars.charAt(i));
+			random1 = (random1 << 5) | value;
+			check |= value;
+		}
+
+		return decode(time, random0, random1, check);
+	}
+
+	static Ulid decode(char[] chars, int offset) {
+
+		long time = 0;
+		long random0 = 0;
+		long random1 = 0;
+		int check = 0;
+
+		for (int i = offset; i < offset + 10; i++) {
+			final int value = valueOf(chars[i]);
+			time = (time << 5) | value;
+			check |= value;
+		}
+		for (int i = offset + 10; i < offset + 18; i++) {
+			final int value = valueOf(chars[i]);
+			random0 = (random0 << 5) | value;
+			check |= value;
+		}
+		for (int i = offset + 18; i < offset + 26; i++) {
+			final int value = valueOf(chars[i]);
+			random1 = (random1 << 5) | value;
+			check |= value;
+		}
+
+		return decode(time, random0, random1, check);
+	}
+
+	static Ulid decode(byte[] bytes, int offset) {
+
+		long time = 0;
+		long random0 = 0;
+		long random1 = 0;
+		int check = 0;
+
+		for (int i = offset; i < offset + 10; i++) {
+			final int value = ALPHABET_VALUES[bytes[i] & 0xff];
+			time = (time << 5) | value;
+			check |= value;
+		}
+		for (int i = offset + 10; i < offset + 18; i++) {
+			final int value = ALPHABET_VALUES[bytes[i] & 0xff];
+			random0 = (random0 << 5) | value;
+			check |= value;
+		}
+		for (int i = offset + 18; i < offset + 26; i++) {
+			final int value = ALPHABET_VALUES[bytes[i] & 0xff];
+			random1 = (random1 << 5) | value;
+			check |= value;
+		}
+
+		return decode(time, random0, random1, check);
+	}
+
+	/*
+	 * Decodes the MSB and the LSB into an array, at an index and at the next
+	 * index, without creating a ULID. Returns false if the bytes are invalid.
+	 */
+	static boolean decode(byte[] bytes, int offset, long[] longs, int index) {
+
+		long time = 0;
+		long random0 = 0;
+		long random1 = 0;
+		int check = 0;
+
+		for (int i = offset; i < offset + 10; i++) {
+			final int value = ALPHABET_VALUES[bytes[i] & 0xff];
+			time = (time << 5) | value;
+			check |= value;
+		}
+		for (int i = offset + 10; i < offset + 18; i++) {
+			final int value = ALPHABET_VALUES[bytes[i] & 0xff];
+			random0 = (random0 << 5) | value;
+			check |= value;
+		}
+		for (int i = offset + 18; i < offset + 26; i++) {
+			final int value = ALPHABET_VALUES[bytes[i] & 0xff];
+			random1 = (random1 << 5) | value;
+			check |= value;
+		}
+
+		return decode(time, random0, random1, check, longs, index);
+	}
+
+	static Ulid decode(ByteBuffer buffer) {
+
+		final int position = buffer.position();
+		if (buffer.remaining() < ULID_CHARS) {
+			throw new BufferUnderflowException();
+		}
+
+		final Ulid ulid;
+		if (buffer.hasArray()) {
+			ulid = decode(buffer.array(), buffer.arrayOffset() + position);
+		} else {
+			ulid = Base32Codec.decode(buffer, position);
+		}
+
+		if (ulid != null) {
+			buffer.position(position + ULID_CHARS);
+		}
+		return ulid;
+	}
+
+	static Ulid decode(long time, long random0, long random1, int check) {
+		if (!isValid(time, check)) {
+			return null; // invalid character or time overflow!
+		}
+		return new Ulid(msb(time, random0), lsb(random0, random1));
+	}
+
+	static boolean decode(long time, long random0, long random1, int check, long[] longs, int index) {
+		if (!isValid(time, check)) {
+			return false; // invalid character or time overflow!
+		}
+		longs[index] = msb(time, random0);
+		longs[index + 1] = lsb(random0, random1);
+		return true;
+	}
+
+	private static boolean isValid(long time, int check) {
+		// The time component cannot be greater than than 2^48-1.
+		// So the 2 first bits of the base32 decoded time component must be ZERO.
+		return check >= 0 && (time >>> 48) == 0;
+	}
+
+	private static long msb(long time, long random0) {
+		return (time << 16) | (random0 >>> 24);
+	}
+
+	private static long lsb(long random0, long random1) {
+		return (random0 << 40) | (random1 & 0xffffffffffL);
+	}
+
+	private static int valueOf(char chr) {
+		return chr < ALPHABET_VALUES.length ? ALPHABET_VALUES[chr] : -1; // multibyte character!
+	}
+
+	String toUuidString(char[] pairs) {
+
+		final byte[] bytes = new byte[UUID_CHARS];
+
+		hex(this.msb >>> 32, bytes, 0, 4, pairs);
+		bytes[8] = '-';
+		hex(this.msb >>> 16, bytes, 9, 2, pairs);
+		bytes[13] = '-';
+		hex(this.msb, bytes, 14, 2, pairs);
+		bytes[18] = '-';
+		hex(this.lsb >>> 48, bytes, 19, 2, pairs);
+		bytes[23] = '-';
+		hex(this.lsb, bytes, 24, 6, pairs);
+
+		return new String(bytes, StandardCharsets.ISO_8859_1);
+	}
+
+	// writes the low bytes of a long as hex digits, two at a time
+	private static void hex(long bits, byte[] bytes, int offset, int length, char[] pairs) {
+		for (int i = offset + 2 * (length - 1); i >= offset; i -= 2) {
+			final char pair = pairs[(int) bits & 0xff];
+			bytes[i] = (byte) (pair >>> 8);
+			bytes[i + 1] = (byte) pair;
+			bits >>>= 8;
+		}
+	}
+
+	/*
+	 * Validates and decodes 36 characters of a UUID string in a single pass.
+	 * 
+	 * As in the base32 decoders, invalid digits have the value -1, which sets the
+	 * sign bit of the check variable.
+	 * 
+	 * Returns null if the characters are invalid.
+	 */
+	static Ulid decodeUuid(CharSequence chars) {
+
+		if (chars.charAt(8) != '-' || chars.charAt(13) != '-' || chars.charAt(18) != '-'
+				|| chars.charAt(23) != '-') {
+			return null;
+		}
+
+		long msb = 0;
+		long lsb = 0;
+		int check = 0;
+
+		for (int i = 0; i < 8; i++) {
+			final int value = hexValueOf(chars.charAt(i));
+			msb = (msb << 4) | value;
+			check |= value;
+		}
+		for (int i = 9; i < 13; i++) {
+			final int value = hexValueOf(chars.charAt(i));
+			msb = (msb << 4) | value;
+			check |= value;
+		}
+		for (int i = 14; i < 18; i++) {
+			final int value = hexValueOf(chars.charAt(i));
+			msb = (msb << 4) | value;
+			check |= value;
+		}
+		for (int i = 19; i < 23; i++) {
+			final int value = hexValueOf(chars.charAt(i));
+			lsb = (lsb << 4) | value;
+			check |= value;
+		}
+		for (int i = 24; i < 36; i++) {
+			final int value = hexValueOf(chars.charAt(i));
+			lsb = (lsb << 4) | value;
+			check |= value;
+		}
+
+		return check < 0 ? null : new Ulid(msb, lsb);
+	}
+
+	private static int hexValueOf(char chr) {
+		return chr < HEX_VALUES.length ? HEX_VALUES[chr] : -1; // multibyte character!
 	}
 
 	static char[] toCharArray(String string) {
@@ -24,11 +24,10 @@
 
 package com.github.f4b6a3.ulid;
 
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
-import java.util.Arrays;
+import java.security.SecureRandom;
+import java.util.SplittableRandom;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
 import java.util.function.Supplier;
 
 /**
@@ -95,6 +94,47 @@ public final class UlidCreator {
 		return MONOTONIC_FACTORY.create(time);
 	}
 
+	/**
+	 * Returns a Monotonic ULID that is monotonic only within the current thread.
+	 * <p>
+	 * The random component is incremented for each new ULID generated in the same
+	 * millisecond by the same thread.
+	 * <p>
+	 * Each thread has its own monotonic state, so this method takes no locks at
+	 * all. It can be useful when a thread needs its own ULIDs in order, for
+	 * example, a batch writer that inserts its rows in order.
+	 * <p>
+	 * The random generator of each thread is a {@link SplittableRandom} seeded by
+	 * a {@link SecureRandom}. When two threads generate ULIDs in the same
+	 * millisecond, each one starts from its own random 80-bit value and
+	 * increments from there. They only collide if the two ranges overlap, which
+	 * is as unlikely as a collision between random ULIDs.
+	 * <p>
+	 * ULIDs generated by different threads are not in order.
+	 * 
+	 * @return a ULID
+	 * @since 5.3.0
+	 */
+	public static Ulid getThreadLocalMonotonicUlid() {
+		return THREAD_LOCAL_MONOTONIC_FUNCTION.get().apply(System.currentTimeMillis());
+	}
+
+	/**
+	 * Returns a Monotonic ULID that is monotonic only within the current thread.
+	 * <p>
+	 * The random component is incremented for each new ULID generated in the same
+	 * millisecond by the same thread.
+	 * 
+	 * @param time the current time in milliseconds, measured from the UNIX epoch of
+	 *             1970-01-01T00:00Z (UTC)
+	 * @return a ULID
+	 * @see #getThreadLocalMonotonicUlid()
+	 * @since 5.3.0
+	 */
+	public static Ulid getThreadLocalMonotonicUlid(final long time) {
+		return THREAD_LOCAL_MONOTONIC_FUNCTION.get().apply(time);
+	}
+
 	/**
 	 * Returns a Hash ULID.
 	 * <p>
@@ -118,8 +158,7 @@ public final class UlidCreator {
 	 * @since 5.2.0
 	 */
 	public static Ulid getHashUlid(final long time, String string) {
-		byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
-		return getHashUlid(time, bytes);
+		return HashFactoryHolder.INSTANCE.create(time, string);
 	}
 
 	/**
@@ -145,23 +184,27 @@ public final class UlidCreator {
 	 * @since 5.2.0
 	 */
 	public static Ulid getHashUlid(final long time, byte[] bytes) {
-		// Calculate the hash and take the first 10 bytes
-		byte[] hash = hasher("SHA-256").digest(bytes);
-		byte[] rand = Arrays.copyOf(hash, 10);
-		return new Ulid(time, rand);
-	}
-
-	private static MessageDigest hasher(final String algorithm) {
-		try {
-			return MessageDigest.getInstance(algorithm);
-		} catch (NoSuchAlgorithmException e) {
-			throw new RuntimeException(String.format("%s not supported", algorithm));
-		}
+		return HashFactoryHolder.INSTANCE.create(time, bytes);
 	}
 
 	private static final Proxy FACTORY = new Proxy(UlidFactory::newInstance);
 	private static final Proxy MONOTONIC_FACTORY = new Proxy(UlidFactory::newMonotonicInstance);
 
+	// thread-confined monotonic functions that don't need locks
+	private static final ThreadLocal<UlidFactory.MonotonicFunction> THREAD_LOCAL_MONOTONIC_FUNCTION = ThreadLocal
+			.withInitial(() -> {
+				final SplittableRandom random = new SplittableRandom(new SecureRandom().nextLong());
+				final LongSupplier randomFunction = random::nextLong;
+				final UlidFactory.MonotonicFunction function = new UlidFactory.MonotonicFunction(randomFunction);
+				function.initialize(System::currentTimeMillis);
+				return function;
+			});
+
+	// SHA-256 digests reused by each thread, created on first use
+	private static class HashFactoryHolder {
+		private static final HashUlidFactory INSTANCE = HashUlidFactory.newInstance();
+	}
+
 	private static class Proxy {
 
 		private UlidFactory factory = null;
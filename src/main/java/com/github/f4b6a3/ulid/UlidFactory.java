@@ -24,9 +24,22 @@
 
 package com.github.f4b6a3.ulid;
 
+import java.lang.ref.WeakReference;
+import java.nio.BufferOverflowException;
+import java.nio.LongBuffer;
 import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Objects;
 import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.AbstractQueuedSynchronizer;
+import java.util.concurrent.locks.LockSupport;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.IntFunction;
 import java.util.function.LongFunction;
@@ -46,13 +59,27 @@ import java.util.function.LongSupplier;
  * If the factory is monotonic, the random component is incremented by 1 if more
  * than one ULID is generated within the same millisecond.
  * <p>
+ * Monotonic factories can also be lock-free or striped. See
+ * {@link UlidFactory#newLockFreeMonotonicInstance()} and
+ * {@link UlidFactory#newStripedMonotonicInstance()}.
+ * <p>
+ * Non-monotonic factories can also prefetch ULIDs in background. See
+ * {@link UlidFactory#newPrefetchInstance()}.
+ * <p>
  * The maximum ULIDs that can be generated per millisecond is 2^80.
  */
 public final class UlidFactory {
 
 	private final LongSupplier timeFunction;
-	private final LongFunction<Ulid> ulidFunction;
-	private final ReentrantLock lock = new ReentrantLock();
+	private final IFunction ulidFunction;
+	private final IFunction explicitFunction;
+	private final ReentrantLock lock;
+
+	// number of longs written at a time into buffers without array
+	private static final int BUFFER_CHUNK = 256;
+
+	// reusable chunks for buffers without array, one per thread
+	private static final ThreadLocal<long[]> BUFFER_CHUNKS = ThreadLocal.withInitial(() -> new long[BUFFER_CHUNK]);
 
 	// ******************************
 	// Constructors
@@ -65,22 +92,24 @@ public final class UlidFactory {
 		this(new UlidFunction());
 	}
 
-	private UlidFactory(LongFunction<Ulid> ulidFunction) {
+	private UlidFactory(IFunction ulidFunction) {
 		this(ulidFunction, System::currentTimeMillis);
 	}
 
-	private UlidFactory(LongFunction<Ulid> ulidFunction, LongSupplier timeFunction) {
+	private UlidFactory(IFunction ulidFunction, LongSupplier timeFunction) {
 
 		Objects.requireNonNull(ulidFunction, "ULID function must not be null");
 		Objects.requireNonNull(timeFunction, "Time function must not be null");
 
 		this.ulidFunction = ulidFunction;
+		this.explicitFunction = ulidFunction.explicit();
 		this.timeFunction = timeFunction;
 
-		if (this.ulidFunction instanceof MonotonicFunction) {
-			// initialize the internal state of the monotonic function
-			((MonotonicFunction) this.ulidFunction).initialize(this.timeFunction);
-		}
+		// initialize the internal state of the function
+		this.ulidFunction.initialize(this.timeFunction);
+
+		// some functions take care of their own thread safety
+		this.lock = this.ulidFunction.isThreadSafe() ? null : new ReentrantLock();
 	}
 
 	/**
@@ -128,6 +157,54 @@ public final class UlidFactory {
 		return new UlidFactory(new UlidFunction(randomFunction));
 	}
 
+	/**
+	 * Returns a new factory.
+	 * 
+	 * @param random       a {@link Random} generator
+	 * @param timeFunction a function that returns the current time in milliseconds,
+	 *                     measured from the UNIX epoch of 1970-01-01T00:00Z (UTC)
+	 * @return {@link UlidFactory}
+	 * @see CachedClock
+	 * @since 5.3.0
+	 */
+	public static UlidFactory newInstance(Random random, LongSupplier timeFunction) {
+		return new UlidFactory(new UlidFunction(random), timeFunction);
+	}
+
+	/**
+	 * Returns a new factory.
+	 * <p>
+	 * The given random function must return a long value.
+	 * 
+	 * @param randomFunction a random function that returns a long value
+	 * @param timeFunction   a function that returns the current time in
+	 *                       milliseconds, measured from the UNIX epoch of
+	 *                       1970-01-01T00:00Z (UTC)
+	 * @return {@link UlidFactory}
+	 * @see CachedClock
+	 * @since 5.3.0
+	 */
+	public static UlidFactory newInstance(LongSupplier randomFunction, LongSupplier timeFunction) {
+		return new UlidFactory(new UlidFunction(randomFunction), timeFunction);
+	}
+
+	/**
+	 * Returns a new factory.
+	 * <p>
+	 * The given random function must return a byte array.
+	 * 
+	 * @param randomFunction a random function that returns a byte array
+	 * @param timeFunction   a function that returns the current time in
+	 *                       milliseconds, measured from the UNIX epoch of
+	 *                       1970-01-01T00:00Z (UTC)
+	 * @return {@link UlidFactory}
+	 * @see CachedClock
+	 * @since 5.3.0
+	 */
+	public static UlidFactory newInstance(IntFunction<byte[]> randomFunction, LongSupplier timeFunction) {
+		return new UlidFactory(new UlidFunction(randomFunction), timeFunction);
+	}
+
 	/**
 	 * Returns a new monotonic factory.
 	 * 
@@ -213,6 +290,310 @@ public final class UlidFactory {
 		return new UlidFactory(new MonotonicFunction(randomFunction), timeFunction);
 	}
 
+	/**
+	 * Returns a new monotonic factory with a policy for overflows and clock
+	 * regressions.
+	 * 
+	 * @param policy a {@link MonotonicPolicy}
+	 * @return {@link UlidFactory}
+	 * @see MonotonicPolicy
+	 * @since 5.3.0
+	 */
+	public static UlidFactory newMonotonicInstance(MonotonicPolicy policy) {
+		return new UlidFactory(new MonotonicFunction((Random) null, policy));
+	}
+
+	/**
+	 * Returns a new monotonic factory with a policy for overflows and clock
+	 * regressions.
+	 * <p>
+	 * Policies that wait for the clock read the given time function.
+	 * 
+	 * @param random       a {@link Random} generator
+	 * @param timeFunction a function that returns the current time in milliseconds,
+	 *                     measured from the UNIX epoch of 1970-01-01T00:00Z (UTC)
+	 * @param policy       a {@link MonotonicPolicy}
+	 * @return {@link UlidFactory}
+	 * @see MonotonicPolicy
+	 * @since 5.3.0
+	 */
+	public static UlidFactory newMonotonicInstance(Random random, LongSupplier timeFunction,
+			MonotonicPolicy policy) {
+		return new UlidFactory(new MonotonicFunction(random, policy), timeFunction);
+	}
+
+	/**
+	 * Returns a new lock-free monotonic factory.
+	 * <p>
+	 * It generates the same sequences as {@link #newMonotonicInstance()}, but
+	 * without locking. Like the default monotonic factory, it carries an overflow
+	 * into the time component; it doesn't take a {@link MonotonicPolicy}. The
+	 * state of the factory is replaced with a CAS (compare and swap) only when
+	 * the millisecond changes. Within the same millisecond, concurrent threads
+	 * share the state with a single atomic add, so they don't need to wait for
+	 * each other.
+	 * <p>
+	 * It can be useful when many threads share the same factory.
+	 * 
+	 * @return {@link UlidFactory}
+	 * @since 5.3.0
+	 */
+	public static UlidFactory newLockFreeMonotonicInstance() {
+		return new UlidFactory(new LockFreeMonotonicFunction());
+	}
+
+	/**
+	 * Returns a new lock-free monotonic factory.
+	 * <p>
+	 * The given random generator must be thread-safe.
+	 * 
+	 * @param random a {@link Random} generator
+	 * @return {@link UlidFactory}
+	 * @since 5.3.0
+	 */
+	public static UlidFactory newLockFreeMonotonicInstance(Random random) {
+		return new UlidFactory(new LockFreeMonotonicFunction(random));
+	}
+
+	/**
+	 * Returns a new lock-free monotonic factory.
+	 * <p>
+	 * The given random function must return a long value and must be
+	 * thread-safe.
+	 * 
+	 * @param randomFunction a random function that returns a long value
+	 * @return {@link UlidFactory}
+	 * @since 5.3.0
+	 */
+	public static UlidFactory newLockFreeMonotonicInstance(LongSupplier randomFunction) {
+		return new UlidFactory(new LockFreeMonotonicFunction(randomFunction));
+	}
+
+	/**
+	 * Returns a new lock-free monotonic factory.
+	 * <p>
+	 * The given random function must return a byte array and must be
+	 * thread-safe.
+	 * 
+	 * @param randomFunction a random function that returns a byte array
+	 * @return {@link UlidFactory}
+	 * @since 5.3.0
+	 */
+	public static UlidFactory newLockFreeMonotonicInstance(IntFunction<byte[]> randomFunction) {
+		return new UlidFactory(new LockFreeMonotonicFunction(randomFunction));
+	}
+
+	/**
+	 * Returns a new lock-free monotonic factory.
+	 * <p>
+	 * The given random generator must be thread-safe.
+	 * 
+	 * @param random       a {@link Random} generator
+	 * @param timeFunction a function that returns the current time in milliseconds,
+	 *                     measured from the UNIX epoch of 1970-01-01T00:00Z (UTC)
+	 * @return {@link UlidFactory}
+	 * @since 5.3.0
+	 */
+	public static UlidFactory newLockFreeMonotonicInstance(Random random, LongSupplier timeFunction) {
+		return new UlidFactory(new LockFreeMonotonicFunction(random), timeFunction);
+	}
+
+	/**
+	 * Returns a new lock-free monotonic factory.
+	 * <p>
+	 * The given random function must return a long value and must be
+	 * thread-safe.
+	 * 
+	 * @param randomFunction a random function that returns a long value
+	 * @param timeFunction   a function that returns the current time in
+	 *                       milliseconds, measured from the UNIX epoch of
+	 *                       1970-01-01T00:00Z (UTC)
+	 * @return {@link UlidFactory}
+	 * @since 5.3.0
+	 */
+	public static UlidFactory newLockFreeMonotonicInstance(LongSupplier randomFunction, LongSupplier timeFunction) {
+		return new UlidFactory(new LockFreeMonotonicFunction(randomFunction), timeFunction);
+	}
+
+	/**
+	 * Returns a new lock-free monotonic factory.
+	 * <p>
+	 * The given random function must return a byte array and must be
+	 * thread-safe.
+	 * 
+	 * @param randomFunction a random function that returns a byte array
+	 * @param timeFunction   a function that returns the current time in
+	 *                       milliseconds, measured from the UNIX epoch of
+	 *                       1970-01-01T00:00Z (UTC)
+	 * @return {@link UlidFactory}
+	 * @since 5.3.0
+	 */
+	public static UlidFactory newLockFreeMonotonicInstance(IntFunction<byte[]> randomFunction,
+			LongSupplier timeFunction) {
+		return new UlidFactory(new LockFreeMonotonicFunction(randomFunction), timeFunction);
+	}
+
+	/**
+	 * Returns a new striped monotonic factory.
+	 * <p>
+	 * The number of stripes is the number of available processors.
+	 * 
+	 * @return {@link UlidFactory}
+	 * @see #newStripedMonotonicInstance(int)
+	 * @since 5.3.0
+	 */
+	public static UlidFactory newStripedMonotonicInstance() {
+		return new UlidFactory(new StripedMonotonicFunction(StripedMonotonicFunction.defaultStripes(), null));
+	}
+
+	/**
+	 * Returns a new striped monotonic factory.
+	 * <p>
+	 * The factory keeps many independent monotonic states, called stripes, each
+	 * one with its own lock. A thread is always mapped to the same stripe, so the
+	 * ULIDs generated by a single thread are monotonic, but there is no global
+	 * order between threads.
+	 * <p>
+	 * The most significant bits of the random component hold the index of the
+	 * stripe, so two stripes can never generate the same ULID. For example, 16
+	 * stripes take 4 bits, leaving 76 bits for the random component.
+	 * <p>
+	 * The number of stripes is rounded up to a power of two, up to 1024.
+	 * <p>
+	 * Overflows carry into the time component; the striped factories don't take
+	 * a {@link MonotonicPolicy}.
+	 * 
+	 * @param stripes the number of stripes
+	 * @return {@link UlidFactory}
+	 * @throws IllegalArgumentException if the number of stripes is not between 1
+	 *                                  and 1024
+	 * @since 5.3.0
+	 */
+	public static UlidFactory newStripedMonotonicInstance(int stripes) {
+		return new UlidFactory(new StripedMonotonicFunction(stripes, null));
+	}
+
+	/**
+	 * Returns a new striped monotonic factory.
+	 * <p>
+	 * The given random generator must be thread-safe.
+	 * 
+	 * @param stripes the number of stripes
+	 * @param random  a {@link Random} generator
+	 * @return {@link UlidFactory}
+	 * @throws IllegalArgumentException if the number of stripes is not between 1
+	 *                                  and 1024
+	 * @see #newStripedMonotonicInstance(int)
+	 * @since 5.3.0
+	 */
+	public static UlidFactory newStripedMonotonicInstance(int stripes, Random random) {
+		return new UlidFactory(new StripedMonotonicFunction(stripes, random));
+	}
+
+	/**
+	 * Returns a new striped monotonic factory.
+	 * <p>
+	 * The given random generator must be thread-safe.
+	 * 
+	 * @param stripes      the number of stripes
+	 * @param random       a {@link Random} generator
+	 * @param timeFunction a function that returns the current time in milliseconds,
+	 *                     measured from the UNIX epoch of 1970-01-01T00:00Z (UTC)
+	 * @return {@link UlidFactory}
+	 * @throws IllegalArgumentException if the number of stripes is not between 1
+	 *                                  and 1024
+	 * @see #newStripedMonotonicInstance(int)
+	 * @since 5.3.0
+	 */
+	public static UlidFactory newStripedMonotonicInstance(int stripes, Random random, LongSupplier timeFunction) {
+		return new UlidFactory(new StripedMonotonicFunction(stripes, random), timeFunction);
+	}
+
+	/**
+	 * Returns a new prefetching factory.
+	 * <p>
+	 * The capacity is 1024 ULIDs and the maximum age is 100 milliseconds.
+	 * 
+	 * @return {@link UlidFactory}
+	 * @see #newPrefetchInstance(int, long)
+	 * @since 5.3.0
+	 */
+	public static UlidFactory newPrefetchInstance() {
+		return newPrefetchInstance(PrefetchFunction.DEFAULT_CAPACITY, PrefetchFunction.DEFAULT_MAX_AGE);
+	}
+
+	/**
+	 * Returns a new prefetching factory.
+	 * <p>
+	 * The factory generates non-monotonic ULIDs, like {@link #newInstance()}, but
+	 * it keeps a bounded ring of ready ULIDs that is refilled by a background
+	 * daemon thread. Taking a ULID from the ring costs a single CAS, without
+	 * locks and without calling the random generator.
+	 * <p>
+	 * The ULIDs in the ring carry the time of their generation. An entry that is
+	 * older than the maximum age is discarded. If the ring is empty, or its first
+	 * entry is stale, the ULID is generated synchronously, just like
+	 * {@link #newInstance()} does.
+	 * <p>
+	 * The capacity is rounded up to a power of two, up to 2^20.
+	 * <p>
+	 * The ring holds ULIDs of the times read from the factory's clock, so the
+	 * methods that take an explicit time bypass it and generate synchronously.
+	 * <p>
+	 * The background thread stops when the factory is garbage collected. If a
+	 * refill fails with an exception, the thread waits for the maximum age and
+	 * tries again, while the factory keeps generating synchronously.
+	 * 
+	 * @param capacity the number of ULIDs kept ready
+	 * @param maxAge   the maximum age of a ready ULID in milliseconds
+	 * @return {@link UlidFactory}
+	 * @throws IllegalArgumentException if the capacity is not between 1 and 2^20,
+	 *                                  or if the maximum age is less than 1
+	 * @since 5.3.0
+	 */
+	public static UlidFactory newPrefetchInstance(int capacity, long maxAge) {
+		return new UlidFactory(new PrefetchFunction(capacity, maxAge, null));
+	}
+
+	/**
+	 * Returns a new prefetching factory.
+	 * <p>
+	 * The given random generator must be thread-safe.
+	 * 
+	 * @param capacity the number of ULIDs kept ready
+	 * @param maxAge   the maximum age of a ready ULID in milliseconds
+	 * @param random   a {@link Random} generator
+	 * @return {@link UlidFactory}
+	 * @throws IllegalArgumentException if the capacity is not between 1 and 2^20,
+	 *                                  or if the maximum age is less than 1
+	 * @see #newPrefetchInstance(int, long)
+	 * @since 5.3.0
+	 */
+	public static UlidFactory newPrefetchInstance(int capacity, long maxAge, Random random) {
+		return new UlidFactory(new PrefetchFunction(capacity, maxAge, random));
+	}
+
+	/**
+	 * Returns a new prefetching factory.
+	 * <p>
+	 * The given random generator must be thread-safe.
+	 * 
+	 * @param capacity     the number of ULIDs kept ready
+	 * @param maxAge       the maximum age of a ready ULID in milliseconds
+	 * @param random       a {@link Random} generator
+	 * @param timeFunction a function that returns the current time in milliseconds,
+	 *                     measured from the UNIX epoch of 1970-01-01T00:00Z (UTC)
+	 * @return {@link UlidFactory}
+	 * @throws IllegalArgumentException if the capacity is not between 1 and 2^20,
+	 *                                  or if the maximum age is less than 1
+	 * @see #newPrefetchInstance(int, long)
+	 * @since 5.3.0
+	 */
+	public static UlidFactory newPrefetchInstance(int capacity, long maxAge, Random random,
+			LongSupplier timeFunction) {
+		return new UlidFactory(new PrefetchFunction(capacity, maxAge, random), timeFunction);
+	}
+
 	// ******************************
 	// Public methods
 	// ******************************
@@ -223,7 +604,7 @@ public final class UlidFactory {
 	 * @return a ULID
 	 */
 	public Ulid create() {
-		return create(timeFunction.getAsLong());
+		return generate(this.ulidFunction, timeFunction.getAsLong());
 	}
 
 	/**
@@ -234,117 +615,1226 @@ public final class UlidFactory {
 	 * @return a ULID
 	 */
 	public Ulid create(final long time) {
+		return generate(this.explicitFunction, time);
+	}
+
+	private Ulid generate(final IFunction function, final long time) {
+		if (lock == null) {
+			return function.apply(time);
+		}
 		lock.lock();
 		try {
-			return this.ulidFunction.apply(time);
+			return function.apply(time);
 		} finally {
 			lock.unlock();
 		}
 	}
 
-	// ******************************
-	// Package-private inner classes
-	// ******************************
-
 	/**
-	 * Function that creates ULIDs.
+	 * Fills an array with new ULIDs.
+	 * <p>
+	 * It is faster than calling {@link #create()} many times, since the current
+	 * time is read once and the lock is taken once. The random bytes are drawn
+	 * in chunks of up to 64 ULIDs into reusable buffers, rather than in a single
+	 * call for the whole array, which would need a buffer as large as the array.
+	 * With a {@link SecureRandom}, both cost about the same per ULID.
+	 * <p>
+	 * If the factory is monotonic, the array is filled with a contiguous sequence
+	 * of ULIDs, i.e. each ULID is the previous one incremented by 1.
+	 * 
+	 * @param ulids an array of ULIDs
+	 * @since 5.3.0
 	 */
-	static final class UlidFunction implements LongFunction<Ulid> {
-
-		private final IRandom random;
+	public void fill(final Ulid[] ulids) {
+		generate(this.ulidFunction, timeFunction.getAsLong(), ulids, 0, ulids.length);
+	}
 
-		private UlidFunction(IRandom random) {
-			this.random = random;
-		}
+	/**
+	 * Fills a range of an array with new ULIDs.
+	 * 
+	 * @param ulids  an array of ULIDs
+	 * @param offset the index of the first ULID to be replaced
+	 * @param length the number of ULIDs to be created
+	 * @throws IndexOutOfBoundsException if the range is out of the array bounds
+	 * @see #fill(Ulid[])
+	 * @since 5.3.0
+	 */
+	public void fill(final Ulid[] ulids, final int offset, final int length) {
+		generate(this.ulidFunction, timeFunction.getAsLong(), ulids, offset, length);
+	}
 
-		public UlidFunction() {
-			this(IRandom.newInstance());
-		}
+	/**
+	 * Fills a range of an array with new ULIDs.
+	 * 
+	 * @param time   the current time in milliseconds, measured from the UNIX epoch
+	 *               of 1970-01-01T00:00Z (UTC)
+	 * @param ulids  an array of ULIDs
+	 * @param offset the index of the first ULID to be replaced
+	 * @param length the number of ULIDs to be created
+	 * @throws IndexOutOfBoundsException if the range is out of the array bounds
+	 * @see #fill(Ulid[])
+	 * @since 5.3.0
+	 */
+	public void fill(final long time, final Ulid[] ulids, final int offset, final int length) {
+		generate(this.explicitFunction, time, ulids, offset, length);
+	}
 
-		public UlidFunction(Random random) {
-			this(IRandom.newInstance(random));
+	private void generate(final IFunction function, final long time, final Ulid[] ulids, final int offset,
+			final int length) {
+		checkBounds(ulids.length, offset, length);
+		if (lock == null) {
+			function.fill(time, ulids, offset, length);
+			return;
 		}
-
-		public UlidFunction(LongSupplier randomFunction) {
-			this(IRandom.newInstance(randomFunction));
+		lock.lock();
+		try {
+			function.fill(time, ulids, offset, length);
+		} finally {
+			lock.unlock();
 		}
+	}
 
-		public UlidFunction(IntFunction<byte[]> randomFunction) {
-			this(IRandom.newInstance(randomFunction));
+	/**
+	 * Returns a list of new ULIDs.
+	 * 
+	 * @param size the number of ULIDs to be created
+	 * @return a list of ULIDs
+	 * @throws IllegalArgumentException if the size is negative
+	 * @see #fill(Ulid[])
+	 * @since 5.3.0
+	 */
+	public List<Ulid> createList(final int size) {
+		if (size < 0) {
+			throw new IllegalArgumentException(String.format("Invalid list size: %s", size));
 		}
+		final Ulid[] ulids = new Ulid[size];
+		fill(ulids);
+		return Arrays.asList(ulids);
+	}
 
-		@Override
-		public Ulid apply(final long time) {
-			if (this.random instanceof ByteRandom) {
-				return new Ulid(time, this.random.nextBytes(Ulid.RANDOM_BYTES));
-			} else {
-				final long msb = (time << 16) | (this.random.nextLong() & 0xffffL);
-				final long lsb = this.random.nextLong();
-				return new Ulid(msb, lsb);
-			}
-		}
+	/**
+	 * Fills an array of longs with new ULIDs.
+	 * <p>
+	 * Each ULID is written as a pair of longs: the most significant bits followed
+	 * by the least significant bits. No {@link Ulid} object is created, which can
+	 * be useful for columnar storage.
+	 * <p>
+	 * If the factory is monotonic, the array is filled with a contiguous sequence
+	 * of ULIDs, i.e. each ULID is the previous one incremented by 1.
+	 * 
+	 * @param longs an array of longs with even length
+	 * @throws IllegalArgumentException if the length of the array is odd
+	 * @since 5.3.0
+	 */
+	public void fill(final long[] longs) {
+		generate(this.ulidFunction, timeFunction.getAsLong(), longs, 0, longs.length);
 	}
 
 	/**
-	 * Function that creates Monotonic ULIDs.
+	 * Fills a range of an array of longs with new ULIDs.
+	 * 
+	 * @param longs  an array of longs
+	 * @param offset the index of the first long to be replaced
+	 * @param length the number of longs to be replaced, i.e. twice the number of
+	 *               ULIDs
+	 * @throws IndexOutOfBoundsException if the range is out of the array bounds
+	 * @throws IllegalArgumentException  if the length is odd
+	 * @see #fill(long[])
+	 * @since 5.3.0
 	 */
-	static final class MonotonicFunction implements LongFunction<Ulid> {
+	public void fill(final long[] longs, final int offset, final int length) {
+		generate(this.ulidFunction, timeFunction.getAsLong(), longs, offset, length);
+	}
 
-		private Ulid lastUlid;
+	/**
+	 * Fills a range of an array of longs with new ULIDs.
+	 * 
+	 * @param time   the current time in milliseconds, measured from the UNIX epoch
+	 *               of 1970-01-01T00:00Z (UTC)
+	 * @param longs  an array of longs
+	 * @param offset the index of the first long to be replaced
+	 * @param length the number of longs to be replaced, i.e. twice the number of
+	 *               ULIDs
+	 * @throws IndexOutOfBoundsException if the range is out of the array bounds
+	 * @throws IllegalArgumentException  if the length is odd
+	 * @see #fill(long[])
+	 * @since 5.3.0
+	 */
+	public void fill(final long time, final long[] longs, final int offset, final int length) {
+		generate(this.explicitFunction, time, longs, offset, length);
+	}
+
+	private void generate(final IFunction function, final long time, final long[] longs, final int offset,
+			final int length) {
+		checkBounds(longs.length, offset, length);
+		if ((length & 1) != 0) {
+			throw new IllegalArgumentException(String.format("Invalid length: %s", length));
+		}
+		if (lock == null) {
+			function.fill(time, longs, offset, length);
+			return;
+		}
+		lock.lock();
+		try {
+			function.fill(time, longs, offset, length);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Writes new ULIDs into a buffer of longs.
+	 * <p>
+	 * The ULIDs are written at the current position of the buffer, which is
+	 * incremented by twice the number of ULIDs.
+	 * <p>
+	 * Buffers backed by an array are written directly. Other buffers are written
+	 * in small chunks through a reusable array of the current thread.
+	 * 
+	 * @param buffer a buffer of longs
+	 * @param count  the number of ULIDs to be created
+	 * @throws BufferOverflowException  if there is not enough space remaining in
+	 *                                  the buffer
+	 * @throws IllegalArgumentException if the count is negative
+	 * @see #fill(long[])
+	 * @since 5.3.0
+	 */
+	public void fill(final LongBuffer buffer, final int count) {
+
+		if (count < 0) {
+			throw new IllegalArgumentException(String.format("Invalid count: %s", count));
+		}
+
+		// checked before doubling, which could overflow
+		if (count > buffer.remaining() / 2) {
+			throw new BufferOverflowException();
+		}
+
+		final long time = timeFunction.getAsLong();
+		final int length = count * 2;
+
+		if (buffer.hasArray()) {
+			final int position = buffer.position();
+			generate(this.ulidFunction, time, buffer.array(), buffer.arrayOffset() + position, length);
+			buffer.position(position + length);
+			return;
+		}
+
+		final long[] chunk = BUFFER_CHUNKS.get();
+		for (int i = 0; i < length; i += chunk.length) {
+			final int size = Math.min(chunk.length, length - i);
+			generate(this.ulidFunction, time, chunk, 0, size);
+			buffer.put(chunk, 0, size);
+		}
+	}
+
+	static void checkBounds(final int arrayLength, final int offset, final int length) {
+		if (offset < 0 || length < 0 || offset > arrayLength - length) {
+			throw new IndexOutOfBoundsException(
+					String.format("Invalid range: offset %s, length %s, array length %s", offset, length, arrayLength));
+		}
+	}
+
+	// ******************************
+	// Package-private inner classes
+	// ******************************
+
+	/**
+	 * Function that creates ULIDs, one at a time or in batches.
+	 */
+	static interface IFunction extends LongFunction<Ulid> {
+
+		/**
+		 * Initializes the internal state of the function, if any.
+		 */
+		default void initialize(LongSupplier timeFunction) {
+		}
+
+		/**
+		 * Returns true if the function doesn't need the lock of the factory.
+		 */
+		default boolean isThreadSafe() {
+			return false;
+		}
+
+		/**
+		 * Returns the function for times given by the caller instead of the clock
+		 * of the factory.
+		 */
+		default IFunction explicit() {
+			return this;
+		}
+
+		/**
+		 * Fills a range of an array with ULIDs created at the same time.
+		 */
+		default void fill(final long time, final Ulid[] ulids, final int offset, final int length) {
+			for (int i = 0; i < length; i++) {
+				ulids[offset + i] = apply(time);
+			}
+		}
+
+		/**
+		 * Fills a range of an array with pairs of MSB and LSB created at the same
+		 * time.
+		 */
+		default void fill(final long time, final long[] longs, final int offset, final int length) {
+			for (int i = 0; i < length; i += 2) {
+				final Ulid ulid = apply(time);
+				longs[offset + i] = ulid.getMostSignificantBits();
+				longs[offset + i + 1] = ulid.getLeastSignificantBits();
+			}
+		}
+	}
+
+	/**
+	 * Function that creates ULIDs.
+	 */
+	static final class UlidFunction implements IFunction {
+
+		private final IRandom random;
+
+		// reusable random bytes for 1, 2, 4, ..., 64 ULIDs, or null; used only by
+		// the fill methods, which are called by one thread at a time
+		private final byte[][] buffers;
+
+		// the maximum number of ULIDs per reusable buffer
+		private static final int MAX_CHUNK = 64;
+
+		private UlidFunction(IRandom random) {
+			this.random = random;
+			final boolean reusable = random instanceof ByteRandom && ((ByteRandom) random).canFill();
+			this.buffers = reusable ? new byte[Integer.numberOfTrailingZeros(MAX_CHUNK) + 1][] : null;
+		}
+
+		public UlidFunction() {
+			this(IRandom.newInstance());
+		}
+
+		public UlidFunction(Random random) {
+			this(IRandom.newInstance(random));
+		}
+
+		public UlidFunction(LongSupplier randomFunction) {
+			this(IRandom.newInstance(randomFunction));
+		}
+
+		public UlidFunction(IntFunction<byte[]> randomFunction) {
+			this(IRandom.newInstance(randomFunction));
+		}
+
+		@Override
+		public Ulid apply(final long time) {
+			if (this.random instanceof ByteRandom) {
+				// not the reusable buffers: the prefetching factory calls it without lock
+				return new Ulid(time, this.random.nextBytes(Ulid.RANDOM_BYTES));
+			} else {
+				final long msb = (time << 16) | this.random.nextBits(16);
+				final long lsb = this.random.nextLong();
+				return new Ulid(msb, lsb);
+			}
+		}
+
+		@Override
+		public void fill(final long time, final Ulid[] ulids, final int offset, final int length) {
+
+			if (this.random instanceof ByteRandom && (time & 0xffff000000000000L) != 0) {
+				// the same validation as Ulid(long, byte[])
+				throw new IllegalArgumentException("Invalid time value");
+			}
+
+			for (int i = 0; i < length;) {
+				final int count = chunk(length - i);
+				final byte[] bytes = nextBytes(count);
+				for (int j = 0; j < count * Ulid.RANDOM_BYTES; j += Ulid.RANDOM_BYTES) {
+					final long msb = (time << 16) | ((bytes[j] & 0xffL) << 8) | (bytes[j + 1] & 0xffL);
+					long lsb = 0;
+					for (int k = j + 2; k < j + Ulid.RANDOM_BYTES; k++) {
+						lsb = (lsb << 8) | (bytes[k] & 0xffL);
+					}
+					ulids[offset + i++] = new Ulid(msb, lsb);
+				}
+			}
+		}
+
+		@Override
+		public void fill(final long time, final long[] longs, final int offset, final int length) {
+
+			if (this.random instanceof ByteRandom) {
+				// the same validation as Ulid(long, byte[])
+				if ((time & 0xffff000000000000L) != 0) {
+					throw new IllegalArgumentException("Invalid time value");
+				}
+				for (int i = 0; i < length;) {
+					final int count = chunk((length - i) / 2);
+					final byte[] bytes = nextBytes(count);
+					for (int j = 0; j < count * Ulid.RANDOM_BYTES; j += Ulid.RANDOM_BYTES, i += 2) {
+						long lsb = 0;
+						for (int k = j + 2; k < j + Ulid.RANDOM_BYTES; k++) {
+							lsb = (lsb << 8) | (bytes[k] & 0xffL);
+						}
+						longs[offset + i] = (time << 16) | ((bytes[j] & 0xffL) << 8) | (bytes[j + 1] & 0xffL);
+						longs[offset + i + 1] = lsb;
+					}
+				}
+			} else {
+				for (int i = 0; i < length; i += 2) {
+					longs[offset + i] = (time << 16) | this.random.nextBits(16);
+					longs[offset + i + 1] = this.random.nextLong();
+				}
+			}
+		}
+
+		/*
+		 * Returns the number of ULIDs whose random bytes are drawn at once: all of
+		 * them if the random function creates the arrays, or else the largest power
+		 * of 2 up to 64, so that the bytes fit in a reusable buffer.
+		 */
+		private int chunk(final int count) {
+			return this.buffers == null ? count : Integer.highestOneBit(Math.min(count, MAX_CHUNK));
+		}
+
+		/*
+		 * Returns the random bytes of a chunk of ULIDs.
+		 */
+		private byte[] nextBytes(final int count) {
+			if (this.buffers == null) {
+				return this.random.nextBytes(Ulid.RANDOM_BYTES * count);
+			}
+			final int index = Integer.numberOfTrailingZeros(count);
+			if (this.buffers[index] == null) {
+				this.buffers[index] = new byte[Ulid.RANDOM_BYTES * count];
+			}
+			((ByteRandom) this.random).nextBytes(this.buffers[index]);
+			return this.buffers[index];
+		}
+	}
+
+	/**
+	 * Function that creates Monotonic ULIDs.
+	 */
+	static final class MonotonicFunction implements IFunction {
+
+		private long lastMsb;
+		private long lastLsb;
 
 		private final IRandom random;
+		private final MonotonicPolicy policy;
+		private LongSupplier timeFunction;
 
 		// Used to preserve monotonicity when the system clock is
 		// adjusted by NTP after a small clock drift or when the
 		// system clock jumps back by 1 second due to leap second.
 		static final int CLOCK_DRIFT_TOLERANCE = 10_000;
 
-		private MonotonicFunction(IRandom random) {
+		private MonotonicFunction(IRandom random, MonotonicPolicy policy) {
 			this.random = random;
+			this.policy = Objects.requireNonNull(policy, "Monotonic policy must not be null");
 		}
 
 		public MonotonicFunction() {
-			this(IRandom.newInstance());
+			this(IRandom.newInstance(), MonotonicPolicy.carry());
 		}
 
 		public MonotonicFunction(Random random) {
-			this(IRandom.newInstance(random));
+			this(IRandom.newInstance(random), MonotonicPolicy.carry());
 		}
 
 		public MonotonicFunction(LongSupplier randomFunction) {
-			this(IRandom.newInstance(randomFunction));
+			this(IRandom.newInstance(randomFunction), MonotonicPolicy.carry());
 		}
 
 		public MonotonicFunction(IntFunction<byte[]> randomFunction) {
+			this(IRandom.newInstance(randomFunction), MonotonicPolicy.carry());
+		}
+
+		public MonotonicFunction(Random random, MonotonicPolicy policy) {
+			this(IRandom.newInstance(random), policy);
+		}
+
+		@Override
+		public void initialize(LongSupplier timeFunction) {
+			this.timeFunction = timeFunction;
+			// initialize the factory with the instant 1970-01-01 00:00:00.000 UTC
+			final Ulid ulid = new Ulid(0L, this.random.nextBytes(Ulid.RANDOM_BYTES));
+			this.lastMsb = ulid.getMostSignificantBits();
+			this.lastLsb = ulid.getLeastSignificantBits();
+		}
+
+		@Override
+		public Ulid apply(final long time) {
+			next(time);
+			return new Ulid(this.lastMsb, this.lastLsb);
+		}
+
+		@Override
+		public void fill(final long time, final Ulid[] ulids, final int offset, final int length) {
+			if (length == 0) {
+				return;
+			}
+			// a contiguous sequence of ULIDs
+			reserve(time, length);
+			ulids[offset] = new Ulid(this.lastMsb, this.lastLsb);
+			for (int i = 1; i < length; i++) {
+				increment(time);
+				ulids[offset + i] = new Ulid(this.lastMsb, this.lastLsb);
+			}
+		}
+
+		@Override
+		public void fill(final long time, final long[] longs, final int offset, final int length) {
+			if (length == 0) {
+				return;
+			}
+			// a contiguous sequence of ULIDs
+			reserve(time, length / 2);
+			longs[offset] = this.lastMsb;
+			longs[offset + 1] = this.lastLsb;
+			for (int i = 2; i < length; i += 2) {
+				increment(time);
+				longs[offset + i] = this.lastMsb;
+				longs[offset + i + 1] = this.lastLsb;
+			}
+		}
+
+		/*
+		 * Moves to the first ULID of a sequence, checking before anything is written
+		 * that the policy allows the whole sequence. If the random component would
+		 * overflow and the policy would fail, it fails right away and leaves the
+		 * state unchanged. Policies that wait for the clock are checked only when
+		 * the overflow happens.
+		 */
+		private void reserve(final long time, final int count) {
+
+			final long msb = this.lastMsb;
+			final long lsb = this.lastLsb;
+			next(time);
+
+			if ((this.lastMsb & 0xffffL) != 0xffffL || Long.compareUnsigned(count - 1, ~this.lastLsb) <= 0) {
+				return; // the random component has room for the sequence
+			}
+
+			final long lastTime = this.lastMsb >>> 16;
+			final MonotonicPolicy.Action action = this.policy.action;
+			if (action == MonotonicPolicy.Action.FAIL
+					|| (action == MonotonicPolicy.Action.BORROW && lastTime + 1 - time > this.policy.limit)) {
+				this.policy.overflowed();
+				this.lastMsb = msb;
+				this.lastLsb = lsb;
+				throw action == MonotonicPolicy.Action.FAIL
+						? this.policy.fail("Random component overflow at time %s", lastTime)
+						: this.policy.fail("Random component overflow: %s ms ahead of the clock", lastTime + 1 - time);
+			}
+		}
+
+		private void next(final long time) {
+
+			final long lastTime = this.lastMsb >>> 16;
+
+			// Check if the current time is the same as the previous time or has moved
+			// backwards after a small system clock adjustment or after a leap second.
+			// Drift tolerance = (previous_time - 10s) < current_time <= previous_time
+			if ((time > lastTime - CLOCK_DRIFT_TOLERANCE) && (time <= lastTime)) {
+				increment(time);
+			} else if (time > lastTime) {
+				reset(time);
+			} else {
+				regress(time);
+			}
+		}
+
+		private void reset(final long time) {
+			if (this.random instanceof ByteRandom) {
+				final Ulid ulid = new Ulid(time, this.random.nextBytes(Ulid.RANDOM_BYTES));
+				this.lastMsb = ulid.getMostSignificantBits();
+				this.lastLsb = ulid.getLeastSignificantBits();
+			} else {
+				this.lastMsb = (time << 16) | this.random.nextBits(16);
+				this.lastLsb = this.random.nextLong();
+			}
+		}
+
+		private void increment(final long time) {
+			if (this.lastLsb == 0xffffffffffffffffL && (this.lastMsb & 0xffffL) == 0xffffL) {
+				overflow(time);
+			} else if (++this.lastLsb == 0L) {
+				// the same as Ulid.increment()
+				this.lastMsb++;
+			}
+		}
+
+		private void overflow(final long time) {
+
+			// the 80 bits of the random component are exhausted
+			this.policy.overflowed();
+			final long lastTime = this.lastMsb >>> 16;
+
+			switch (this.policy.action) {
+			case BORROW:
+				if (lastTime + 1 - time > this.policy.limit) {
+					throw this.policy.fail("Random component overflow: %s ms ahead of the clock", lastTime + 1 - time);
+				}
+				carry();
+				break;
+			case CARRY:
+				carry();
+				break;
+			case SPIN:
+			case PARK:
+				reset(this.policy.await(this.timeFunction, lastTime));
+				break;
+			default:
+				throw this.policy.fail("Random component overflow at time %s", lastTime);
+			}
+		}
+
+		private void carry() {
+			// carry into the time component
+			this.policy.borrowed();
+			this.lastMsb++;
+			this.lastLsb = 0L;
+		}
+
+		private void regress(final long time) {
+
+			// the clock moved backwards beyond the drift tolerance
+			this.policy.regressed();
+			final long lastTime = this.lastMsb >>> 16;
+
+			switch (this.policy.action) {
+			case CARRY:
+				this.policy.reset();
+				reset(time);
+				break;
+			case BORROW:
+				if (lastTime - time > this.policy.limit) {
+					throw this.policy.fail("Clock regression: %s ms behind the previous time", lastTime - time);
+				}
+				this.policy.borrowed();
+				increment(time);
+				break;
+			case SPIN:
+			case PARK:
+				next(this.policy.await(this.timeFunction, lastTime - CLOCK_DRIFT_TOLERANCE));
+				break;
+			default:
+				throw this.policy.fail("Clock regression: %s ms behind the previous time", lastTime - time);
+			}
+		}
+	}
+
+	/**
+	 * Function that creates Monotonic ULIDs without locking.
+	 * <p>
+	 * The state is a pair of primitive MSB and LSB taken at the start of a
+	 * millisecond, plus a counter. Threads that generate ULIDs in the same
+	 * millisecond just add 1 to the counter and sum it to the LSB. The state is
+	 * replaced with a CAS only when the millisecond changes or when the random
+	 * component is exhausted. A call draws the random component of a new state at
+	 * most once, before its first CAS, and reuses it if the CAS has to be retried;
+	 * the retries themselves don't allocate.
+	 */
+	static final class LockFreeMonotonicFunction implements IFunction {
+
+		private final AtomicReference<State> state = new AtomicReference<>();
+
+		private final IRandom random;
+
+		static final int CLOCK_DRIFT_TOLERANCE = MonotonicFunction.CLOCK_DRIFT_TOLERANCE;
+
+		private LockFreeMonotonicFunction(IRandom random) {
+			this.random = random;
+		}
+
+		public LockFreeMonotonicFunction() {
+			this(IRandom.newInstance());
+		}
+
+		public LockFreeMonotonicFunction(Random random) {
+			this(IRandom.newInstance(random));
+		}
+
+		public LockFreeMonotonicFunction(LongSupplier randomFunction) {
+			this(IRandom.newInstance(randomFunction));
+		}
+
+		public LockFreeMonotonicFunction(IntFunction<byte[]> randomFunction) {
 			this(IRandom.newInstance(randomFunction));
 		}
 
-		void initialize(LongSupplier timeFunction) {
+		@Override
+		public void initialize(LongSupplier timeFunction) {
 			// initialize the factory with the instant 1970-01-01 00:00:00.000 UTC
-			this.lastUlid = new Ulid(0L, this.random.nextBytes(Ulid.RANDOM_BYTES));
+			this.state.set(newState(0L));
+		}
+
+		@Override
+		public boolean isThreadSafe() {
+			return true;
 		}
 
 		@Override
 		public Ulid apply(final long time) {
+			while (true) {
+				final State state = current(time);
+				final long count = State.COUNTER.getAndIncrement(state);
+				if (fits(state, count)) {
+					return new Ulid(state.msb + carry(state, count), state.lsb + count);
+				}
+				exhaust(state);
+			}
+		}
+
+		@Override
+		public void fill(final long time, final Ulid[] ulids, final int offset, final int length) {
+			if (length == 0) {
+				return;
+			}
+			while (true) {
+				final State state = current(time);
+				final long first = State.COUNTER.getAndAdd(state, length);
+				if (fits(state, first + length - 1)) {
+					// a contiguous sequence of ULIDs
+					for (int i = 0; i < length; i++) {
+						final long count = first + i;
+						ulids[offset + i] = new Ulid(state.msb + carry(state, count), state.lsb + count);
+					}
+					return;
+				}
+				exhaust(state);
+			}
+		}
+
+		@Override
+		public void fill(final long time, final long[] longs, final int offset, final int length) {
+			if (length == 0) {
+				return;
+			}
+			final int count = length / 2;
+			while (true) {
+				final State state = current(time);
+				final long first = State.COUNTER.getAndAdd(state, count);
+				if (fits(state, first + count - 1)) {
+					// a contiguous sequence of ULIDs
+					for (int i = 0; i < length; i += 2) {
+						final long n = first + (i / 2);
+						longs[offset + i] = state.msb + carry(state, n);
+						longs[offset + i + 1] = state.lsb + n;
+					}
+					return;
+				}
+				exhaust(state);
+			}
+		}
+
+		/**
+		 * Returns the state of the given time, replacing it if necessary.
+		 */
+		private State current(final long time) {
+
+			// drawn at most once per call and reused by the retries
+			State candidate = null;
+
+			while (true) {
+
+				final State last = this.state.get();
+				final long lastTime = last.msb >>> 16;
+
+				// Check if the current time is the same as the previous time or has moved
+				// backwards after a small system clock adjustment or after a leap second.
+				// Drift tolerance = (previous_time - 10s) < current_time <= previous_time
+				if ((time > lastTime - CLOCK_DRIFT_TOLERANCE) && (time <= lastTime)) {
+					return last;
+				}
+
+				if (candidate == null) {
+					candidate = newState(time);
+				}
+				if (this.state.compareAndSet(last, candidate)) {
+					return candidate;
+				}
+			}
+		}
+
+		/**
+		 * Replaces a state whose random component is exhausted.
+		 * <p>
+		 * The time component is incremented to maintain monotonicity, like
+		 * {@link Ulid#increment()}.
+		 */
+		private void exhaust(final State last) {
+			this.state.compareAndSet(last, new State(((last.msb >>> 16) + 1) << 16, 0L));
+		}
+
+		private static boolean fits(final State state, final long count) {
+			// check if the time component is unchanged after adding the counter
+			return ((state.msb + carry(state, count)) >>> 16) == (state.msb >>> 16);
+		}
+
+		private static long carry(final State state, final long count) {
+			// carry of the sum of the counter and the LSB
+			return Long.compareUnsigned(state.lsb + count, state.lsb) < 0 ? 1L : 0L;
+		}
+
+		private State newState(final long time) {
+			if (this.random instanceof ByteRandom) {
+				final byte[] bytes = this.random.nextBytes(Ulid.RANDOM_BYTES);
+				long msb = time << 16;
+				long lsb = 0;
+				msb |= (bytes[0x0] & 0xffL) << 8;
+				msb |= (bytes[0x1] & 0xffL);
+				for (int i = 2; i < Ulid.RANDOM_BYTES; i++) {
+					lsb = (lsb << 8) | (bytes[i] & 0xffL);
+				}
+				return new State(msb, lsb);
+			} else {
+				final long msb = (time << 16) | this.random.nextBits(16);
+				final long lsb = this.random.nextLong();
+				return new State(msb, lsb);
+			}
+		}
+
+		private static final class State {
+
+			private final long msb;
+			private final long lsb;
+
+			private volatile long counter;
+
+			private static final AtomicLongFieldUpdater<State> COUNTER = AtomicLongFieldUpdater
+					.newUpdater(State.class, "counter");
+
+			private State(long msb, long lsb) {
+				this.msb = msb;
+				this.lsb = lsb;
+			}
+		}
+	}
+
+	/**
+	 * Function that creates Monotonic ULIDs in many independent stripes.
+	 * <p>
+	 * Each stripe is a monotonic state with its own lock. The index of the stripe
+	 * is stored in the first bits of the random component, and the increment
+	 * never touches those bits. When the remaining bits overflow, the time
+	 * component is incremented, like {@link Ulid#increment()}.
+	 */
+	static final class StripedMonotonicFunction implements IFunction {
 
-			final long lastTime = lastUlid.getTime();
+		private final Stripe[] stripes;
+		private final IRandom random;
+
+		// bits of the MSB that hold the stripe index
+		private final long stripeMask;
+		private final int stripeShift;
+
+		static final int MAX_STRIPES = 1024;
+		static final int CLOCK_DRIFT_TOLERANCE = MonotonicFunction.CLOCK_DRIFT_TOLERANCE;
+
+		public StripedMonotonicFunction(int stripes, Random random) {
+
+			if (stripes < 1 || stripes > MAX_STRIPES) {
+				throw new IllegalArgumentException(String.format("Invalid number of stripes: %s", stripes));
+			}
+
+			// round up to a power of two
+			final int bits = 32 - Integer.numberOfLeadingZeros(stripes - 1);
+
+			this.stripes = new Stripe[1 << bits];
+			this.random = IRandom.newInstance(random);
+			this.stripeShift = 16 - bits;
+			this.stripeMask = (0xffffL >>> this.stripeShift) << this.stripeShift;
+
+			for (int i = 0; i < this.stripes.length; i++) {
+				this.stripes[i] = new Stripe((long) i << this.stripeShift);
+			}
+		}
+
+		static int defaultStripes() {
+			return Math.min(Runtime.getRuntime().availableProcessors(), MAX_STRIPES);
+		}
+
+		int stripes() {
+			return this.stripes.length;
+		}
+
+		@Override
+		public void initialize(LongSupplier timeFunction) {
+			// initialize the stripes with the instant 1970-01-01 00:00:00.000 UTC
+			for (Stripe stripe : this.stripes) {
+				reset(stripe, 0L);
+			}
+		}
+
+		@Override
+		public boolean isThreadSafe() {
+			return true;
+		}
+
+		@Override
+		public Ulid apply(final long time) {
+
+			final Stripe stripe = this.stripes[index(Thread.currentThread())];
+
+			stripe.lock();
+			try {
+				next(stripe, time);
+				return new Ulid(stripe.msb, stripe.lsb);
+			} finally {
+				stripe.unlock();
+			}
+		}
+
+		@Override
+		public void fill(final long time, final Ulid[] ulids, final int offset, final int length) {
+
+			if (length == 0) {
+				return;
+			}
+
+			final Stripe stripe = this.stripes[index(Thread.currentThread())];
+
+			stripe.lock();
+			try {
+				// a contiguous sequence of ULIDs
+				next(stripe, time);
+				ulids[offset] = new Ulid(stripe.msb, stripe.lsb);
+				for (int i = 1; i < length; i++) {
+					increment(stripe);
+					ulids[offset + i] = new Ulid(stripe.msb, stripe.lsb);
+				}
+			} finally {
+				stripe.unlock();
+			}
+		}
+
+		@Override
+		public void fill(final long time, final long[] longs, final int offset, final int length) {
+
+			if (length == 0) {
+				return;
+			}
+
+			final Stripe stripe = this.stripes[index(Thread.currentThread())];
+
+			stripe.lock();
+			try {
+				// a contiguous sequence of ULIDs
+				next(stripe, time);
+				longs[offset] = stripe.msb;
+				longs[offset + 1] = stripe.lsb;
+				for (int i = 2; i < length; i += 2) {
+					increment(stripe);
+					longs[offset + i] = stripe.msb;
+					longs[offset + i + 1] = stripe.lsb;
+				}
+			} finally {
+				stripe.unlock();
+			}
+		}
+
+		private void next(final Stripe stripe, final long time) {
+
+			final long lastTime = stripe.msb >>> 16;
 
 			// Check if the current time is the same as the previous time or has moved
 			// backwards after a small system clock adjustment or after a leap second.
 			// Drift tolerance = (previous_time - 10s) < current_time <= previous_time
 			if ((time > lastTime - CLOCK_DRIFT_TOLERANCE) && (time <= lastTime)) {
-				this.lastUlid = this.lastUlid.increment();
+				increment(stripe);
 			} else {
-				if (this.random instanceof ByteRandom) {
-					this.lastUlid = new Ulid(time, this.random.nextBytes(Ulid.RANDOM_BYTES));
+				reset(stripe, time);
+			}
+		}
+
+		private int index(final Thread thread) {
+			// the same thread is always mapped to the same stripe
+			long hash = thread.getId() * 0x9e3779b97f4a7c15L;
+			hash ^= (hash >>> 32);
+			return (int) hash & (this.stripes.length - 1);
+		}
+
+		private void increment(final Stripe stripe) {
+
+			stripe.lsb++;
+
+			if (stripe.lsb == 0L) {
+				final long free = ~this.stripeMask & 0xffffL;
+				final long next = (stripe.msb & free) + 1;
+				if (next <= free) {
+					stripe.msb = (stripe.msb & ~free) | next;
 				} else {
-					final long msb = (time << 16) | (this.random.nextLong() & 0xffffL);
-					final long lsb = this.random.nextLong();
-					this.lastUlid = new Ulid(msb, lsb);
+					// the random component is exhausted, increment the time component
+					stripe.msb = (((stripe.msb >>> 16) + 1) << 16) | stripe.index;
 				}
 			}
+		}
+
+		private void reset(final Stripe stripe, final long time) {
+			long msb;
+			long lsb;
+			if (this.random instanceof ByteRandom) {
+				final Ulid ulid = new Ulid(time, this.random.nextBytes(Ulid.RANDOM_BYTES));
+				msb = ulid.getMostSignificantBits();
+				lsb = ulid.getLeastSignificantBits();
+			} else {
+				msb = (time << 16) | this.random.nextBits(16);
+				lsb = this.random.nextLong();
+			}
+			stripe.msb = (msb & ~this.stripeMask) | stripe.index;
+			stripe.lsb = lsb;
+		}
+
+		/**
+		 * A monotonic state with its own lock, padded to avoid false sharing between
+		 * stripes.
+		 * <p>
+		 * The JVM may reorder the fields of a class, but it lays out the fields of a
+		 * superclass before the fields of its subclasses. So the lock state comes
+		 * first, then the monotonic state, then the padding, each in its own class.
+		 * The padding separates a stripe from the next one, which is allocated right
+		 * after it.
+		 */
+		@SuppressWarnings("unused")
+		private static final class Stripe extends StripeState {
+
+			private static final long serialVersionUID = 1L;
+
+			// 128 bytes, since cache lines may be fetched in pairs
+			private long p01, p02, p03, p04, p05, p06, p07, p08;
+			private long p09, p10, p11, p12, p13, p14, p15, p16;
+
+			private Stripe(long index) {
+				super(index);
+			}
+		}
 
-			return new Ulid(this.lastUlid);
+		private abstract static class StripeState extends StripeLock {
+
+			private static final long serialVersionUID = 1L;
+
+			protected long msb;
+			protected long lsb;
+
+			protected final long index;
+
+			protected StripeState(long index) {
+				this.index = index;
+			}
+		}
+
+		/**
+		 * A non-reentrant lock whose state is a field of the stripe itself, unlike
+		 * the state of a {@link ReentrantLock}, which is a separate object.
+		 */
+		private abstract static class StripeLock extends AbstractQueuedSynchronizer {
+
+			private static final long serialVersionUID = 1L;
+
+			final void lock() {
+				acquire(1);
+			}
+
+			final void unlock() {
+				release(1);
+			}
+
+			@Override
+			protected final boolean tryAcquire(int arg) {
+				return compareAndSetState(0, 1);
+			}
+
+			@Override
+			protected final boolean tryRelease(int arg) {
+				setState(0);
+				return true;
+			}
+		}
+	}
+
+	static final class PrefetchFunction implements IFunction {
+
+		private final UlidFunction function;
+
+		// ring of ready ULIDs: many consumers, a single producer
+		private final AtomicReferenceArray<Ulid> ring;
+		private final AtomicLong head = new AtomicLong();
+		private volatile long tail;
+
+		private final int mask;
+		private final long maxAge;
+
+		// the producer reuses this array for every refill
+		private final Ulid[] batch;
+
+		private LongSupplier timeFunction;
+		private Thread producer;
+		private final AtomicBoolean waiting = new AtomicBoolean();
+
+		// the last exception thrown by a refill, if any
+		private volatile RuntimeException failure;
+
+		static final int DEFAULT_CAPACITY = 1024;
+		static final long DEFAULT_MAX_AGE = 100; // milliseconds
+		static final int MAX_CAPACITY = 1 << 20;
+
+		public PrefetchFunction(int capacity, long maxAge, Random random) {
+
+			if (capacity < 1 || capacity > MAX_CAPACITY) {
+				throw new IllegalArgumentException(String.format("Invalid capacity: %s", capacity));
+			}
+			if (maxAge < 1) {
+				throw new IllegalArgumentException(String.format("Invalid max age: %s", maxAge));
+			}
+
+			// round up to a power of two
+			final int size = 1 << (32 - Integer.numberOfLeadingZeros(capacity - 1));
+
+			this.function = new UlidFunction(random);
+			this.ring = new AtomicReferenceArray<>(size);
+			this.batch = new Ulid[size];
+			this.mask = size - 1;
+			this.maxAge = maxAge;
+		}
+
+		int capacity() {
+			return this.ring.length();
+		}
+
+		int available() {
+			return (int) (this.tail - this.head.get());
+		}
+
+		@Override
+		public void initialize(LongSupplier timeFunction) {
+			this.timeFunction = timeFunction;
+			this.producer = new Thread(new Producer(this), "ulid-prefetch");
+			this.producer.setDaemon(true);
+			this.producer.start();
+		}
+
+		@Override
+		public boolean isThreadSafe() {
+			return true;
+		}
+
+		@Override
+		public IFunction explicit() {
+			// the ring holds ULIDs of the times read by the producer
+			return this.function::apply;
+		}
+
+		RuntimeException failure() {
+			return this.failure;
+		}
+
+		@Override
+		public Ulid apply(final long time) {
+
+			final long h = this.head.get();
+
+			if (h < this.tail) {
+
+				final Ulid ulid = this.ring.get((int) (h & this.mask));
+				final long age = time - ulid.getTime();
+
+				// entries from the future are left for later calls
+				if (age >= 0) {
+					if (this.head.compareAndSet(h, h + 1)) {
+						if (age <= this.maxAge) {
+							signal(h + 1);
+							return ulid;
+						}
+						// the stale entry is discarded
+					}
+				}
+			}
+
+			// fall back to synchronous generation
+			signal(h);
+			return this.function.apply(time);
+		}
+
+		private void signal(final long h) {
+			// wake up the producer when the ring is half empty
+			if (this.tail - h <= (this.mask >>> 1) && this.waiting.compareAndSet(true, false)) {
+				LockSupport.unpark(this.producer);
+			}
+		}
+
+		/**
+		 * Discards stale entries and refills the ring.
+		 * <p>
+		 * It must be called only by the producer thread.
+		 */
+		void produce() {
+
+			final long now = this.timeFunction.getAsLong();
+
+			long h;
+			while ((h = this.head.get()) < this.tail) {
+				final long age = now - this.ring.get((int) (h & this.mask)).getTime();
+				if (age >= 0 && age <= this.maxAge) {
+					break; // the remaining entries are newer
+				}
+				this.head.compareAndSet(h, h + 1);
+			}
+
+			// the free slots have already been consumed
+			final long t = this.tail;
+			final int free = this.ring.length() - (int) (t - this.head.get());
+
+			if (free > 0) {
+				this.function.fill(now, this.batch, 0, free);
+				for (int i = 0; i < free; i++) {
+					this.ring.lazySet((int) ((t + i) & this.mask), this.batch[i]);
+					this.batch[i] = null;
+				}
+				// publish the new entries
+				this.tail = t + free;
+			}
+		}
+
+		/**
+		 * A background thread that keeps the ring full.
+		 * <p>
+		 * It holds a weak reference to the function, so it stops after the factory is
+		 * garbage collected.
+		 */
+		private static final class Producer implements Runnable {
+
+			private final WeakReference<PrefetchFunction> reference;
+
+			private Producer(PrefetchFunction function) {
+				this.reference = new WeakReference<>(function);
+			}
+
+			@Override
+			public void run() {
+				while (true) {
+
+					PrefetchFunction function = this.reference.get();
+					if (function == null) {
+						return;
+					}
+
+					long nanos;
+					try {
+						function.produce();
+						function.waiting.set(true);
+						// wake up again before the entries get stale
+						nanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1L, function.maxAge / 2));
+					} catch (RuntimeException e) {
+						// consumers fall back to synchronous generation meanwhile
+						function.failure = e;
+						nanos = TimeUnit.MILLISECONDS.toNanos(function.maxAge);
+					} finally {
+						function = null;
+					}
+
+					LockSupport.parkNanos(this, nanos);
+				}
+			}
 		}
 	}
 
@@ -354,6 +1844,16 @@ public final class UlidFactory {
 
 		public byte[] nextBytes(int length);
 
+		/**
+		 * Returns a long whose lower bits are random and the others are zero.
+		 * <p>
+		 * Used to fill the 16 random bits of the MSB. Implementations may override it
+		 * to consume only the bits they need.
+		 */
+		public default long nextBits(int bits) {
+			return nextLong() & (0xffffffffffffffffL >>> (Long.SIZE - bits));
+		}
+
 		static IRandom newInstance() {
 			return new ByteRandom();
 		}
@@ -361,6 +1861,9 @@ public final class UlidFactory {
 		static IRandom newInstance(Random random) {
 			if (random == null) {
 				return new ByteRandom();
+			} else if (random instanceof IRandom) {
+				// a random generator that knows how to feed ULIDs
+				return (IRandom) random;
 			} else {
 				if (random instanceof SecureRandom) {
 					return new ByteRandom(random);
@@ -428,17 +1931,20 @@ public final class UlidFactory {
 	static class ByteRandom implements IRandom {
 
 		private final IntFunction<byte[]> randomFunction;
+		private final Random entropy; // null if the function is not ours
 
 		public ByteRandom() {
-			this(newRandomFunction(null));
+			this((Random) null);
 		}
 
 		public ByteRandom(Random random) {
-			this(newRandomFunction(random));
+			this.entropy = random != null ? random : new SecureRandom();
+			this.randomFunction = newRandomFunction(this.entropy);
 		}
 
 		public ByteRandom(IntFunction<byte[]> randomFunction) {
-			this.randomFunction = randomFunction != null ? randomFunction : newRandomFunction(null);
+			this.entropy = randomFunction != null ? null : new SecureRandom();
+			this.randomFunction = randomFunction != null ? randomFunction : newRandomFunction(this.entropy);
 		}
 
 		@Override
@@ -456,6 +1962,21 @@ public final class UlidFactory {
 			return this.randomFunction.apply(length);
 		}
 
+		/**
+		 * Returns true if the bytes can be written into an existing array, i.e. if
+		 * the random function is not given by the user.
+		 */
+		boolean canFill() {
+			return this.entropy != null;
+		}
+
+		/**
+		 * Fills an existing array with random bytes.
+		 */
+		void nextBytes(byte[] bytes) {
+			this.entropy.nextBytes(bytes);
+		}
+
 		static IntFunction<byte[]> newRandomFunction(Random random) {
 			final Random entropy = random != null ? random : new SecureRandom();
 			return (final int length) -> {
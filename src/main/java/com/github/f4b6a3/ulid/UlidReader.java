@@ -0,0 +1,546 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2020-2023 Fabio Lima
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.f4b6a3.ulid;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A reader of newline-delimited ULIDs in ASCII text.
+ * <p>
+ * Each line is a canonical string, in upper or lower case, followed by
+ * {@code \n} or {@code \r\n}. The last line may have no line break and empty
+ * lines are skipped. The bytes are decoded straight from a byte buffer, without
+ * creating a {@link String} per line.
+ * <p>
+ * An instance reads a {@link ReadableByteChannel} through a reusable direct
+ * buffer. The static methods map a {@link FileChannel} into memory instead, and
+ * {@link #spliterator(FileChannel)} splits the file at line breaks, so it can
+ * be decoded by parallel streams.
+ * <p>
+ * Invalid lines throw an {@link IllegalArgumentException} with the position of
+ * the line in the input.
+ * <p>
+ * Usage example:
+ * 
+ * <pre>{@code
+ * try (UlidReader reader = new UlidReader(Files.newByteChannel(path))) {
+ *     long count = reader.forEach((msb, lsb) -> index.add(msb, lsb));
+ * }
+ * 
+ * try (FileChannel channel = FileChannel.open(path)) {
+ *     long count = UlidReader.stream(channel, true).filter(predicate).count();
+ * }
+ * }</pre>
+ * 
+ * @since 5.3.0
+ */
+public final class UlidReader implements Closeable {
+
+	private final ReadableByteChannel channel;
+	private final ByteBuffer buffer;
+
+	private long offset; // the input position of the first byte in the buffer
+	private boolean end;
+
+	private final long[] pair = new long[2]; // MSB and LSB for the consumers
+
+	private static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+
+	// a canonical string followed by "\r\n"
+	private static final int MAX_LINE = Ulid.ULID_CHARS + 2;
+
+	/**
+	 * A consumer of ULIDs as pairs of longs.
+	 */
+	@FunctionalInterface
+	public static interface BitsConsumer {
+		/**
+		 * Accepts a ULID.
+		 * 
+		 * @param msb the most significant bits
+		 * @param lsb the least significant bits
+		 */
+		void accept(long msb, long lsb);
+	}
+
+	/**
+	 * Creates a reader of a channel with a 64 KiB buffer.
+	 * 
+	 * @param channel a blocking channel
+	 */
+	public UlidReader(ReadableByteChannel channel) {
+		this(channel, DEFAULT_BUFFER_SIZE);
+	}
+
+	/**
+	 * Creates a reader of a channel.
+	 * 
+	 * @param channel    a blocking channel
+	 * @param bufferSize the size of the buffer in bytes
+	 * @throws IllegalArgumentException if the buffer cannot hold a line with
+	 *                                  {@code \r\n}, i.e. 28 bytes
+	 */
+	public UlidReader(ReadableByteChannel channel, int bufferSize) {
+		Objects.requireNonNull(channel, "Channel must not be null");
+		if (bufferSize < MAX_LINE) {
+			throw new IllegalArgumentException(String.format("Invalid buffer size: %s", bufferSize));
+		}
+		this.channel = channel;
+		this.buffer = ByteBuffer.allocateDirect(bufferSize);
+		this.buffer.limit(0); // empty
+	}
+
+	/**
+	 * Reads the next ULID.
+	 * 
+	 * @return a ULID, or null at the end of the input
+	 * @throws IOException              if an I/O error occurs
+	 * @throws IllegalArgumentException if the line is invalid
+	 */
+	public Ulid read() throws IOException {
+		do {
+			final int limit = this.buffer.limit();
+			final int index = skip(this.buffer, this.buffer.position(), limit);
+			this.buffer.position(index);
+			if (index < limit) {
+				final int next = next(this.buffer, index, limit, this.end, this.offset);
+				if (next >= 0) {
+					this.buffer.position(next);
+					return decode(this.buffer, index, this.offset);
+				}
+			}
+		} while (fill());
+		return null;
+	}
+
+	/**
+	 * Reads ULIDs into a range of an array of longs.
+	 * <p>
+	 * Each ULID is written as a pair of longs: the most significant bits followed
+	 * by the least significant bits, as in {@link UlidFactory#fill(long[])}, with
+	 * no {@link Ulid} objects in between. It reads until the range is full or the
+	 * input ends.
+	 * 
+	 * @param longs  an array of longs
+	 * @param offset the index of the first long to be written
+	 * @param length the maximum number of longs to be written, i.e. twice the
+	 *               number of ULIDs
+	 * @return the number of longs written, or -1 at the end of the input
+	 * @throws IOException               if an I/O error occurs
+	 * @throws IllegalArgumentException  if a line is invalid or the length is odd
+	 * @throws IndexOutOfBoundsException if the range is out of the array bounds
+	 */
+	public int read(final long[] longs, final int offset, final int length) throws IOException {
+
+		UlidFactory.checkBounds(longs.length, offset, length);
+		if ((length & 1) != 0) {
+			throw new IllegalArgumentException(String.format("Invalid length: %s", length));
+		}
+
+		int count = 0;
+		do {
+			final ByteBuffer buffer = this.buffer;
+			final int limit = buffer.limit();
+			int index = buffer.position();
+			while (count < length) {
+				index = skip(buffer, index, limit);
+				if (index == limit) {
+					break;
+				}
+				final int next = next(buffer, index, limit, this.end, this.offset);
+				if (next < 0) {
+					break;
+				}
+				decode(buffer, index, this.offset, longs, offset + count);
+				count += 2;
+				index = next;
+			}
+			buffer.position(index);
+		} while (count < length && fill());
+
+		return count == 0 && length != 0 ? -1 : count;
+	}
+
+	/**
+	 * Reads all the remaining ULIDs, without creating {@link Ulid} objects.
+	 * 
+	 * @param consumer a consumer of pairs of longs
+	 * @return the number of ULIDs read
+	 * @throws IOException              if an I/O error occurs
+	 * @throws IllegalArgumentException if a line is invalid
+	 */
+	public long forEach(final BitsConsumer consumer) throws IOException {
+
+		final long[] pair = this.pair;
+		long count = 0;
+		do {
+			final ByteBuffer buffer = this.buffer;
+			final int limit = buffer.limit();
+			int index = buffer.position();
+			while (true) {
+				index = skip(buffer, index, limit);
+				if (index == limit) {
+					break;
+				}
+				final int next = next(buffer, index, limit, this.end, this.offset);
+				if (next < 0) {
+					break;
+				}
+				decode(buffer, index, this.offset, pair, 0);
+				consumer.accept(pair[0], pair[1]);
+				index = next;
+				count++;
+			}
+			buffer.position(index);
+		} while (fill());
+
+		return count;
+	}
+
+	/**
+	 * Closes the channel.
+	 * 
+	 * @throws IOException if an I/O error occurs
+	 */
+	@Override
+	public void close() throws IOException {
+		this.channel.close();
+	}
+
+	/**
+	 * Reads all the ULIDs of a file mapped into memory, without creating
+	 * {@link Ulid} objects.
+	 * <p>
+	 * The file is mapped in windows of up to 256 MiB, from the start to the current
+	 * size. The channel position is not changed.
+	 * 
+	 * @param channel  a file channel open for reading
+	 * @param consumer a consumer of pairs of longs
+	 * @return the number of ULIDs read
+	 * @throws IOException              if an I/O error occurs
+	 * @throws IllegalArgumentException if a line is invalid
+	 */
+	public static long forEach(FileChannel channel, BitsConsumer consumer) throws IOException {
+		try {
+			return new MappedSpliterator(channel, 0, channel.size(), channel.size()).forEach(consumer, Long.MAX_VALUE);
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+	}
+
+	/**
+	 * Returns a spliterator of the ULIDs of a file mapped into memory.
+	 * <p>
+	 * It splits the file in halves, at the nearest line break, down to about 1 MiB
+	 * per part. Each part maps only its own bytes. The size is estimated from the
+	 * size of the file, assuming lines with {@code \n}.
+	 * <p>
+	 * I/O errors during the traversal are thrown as {@link UncheckedIOException}.
+	 * 
+	 * @param channel a file channel open for reading
+	 * @return a spliterator of ULIDs
+	 * @throws IOException if an I/O error occurs
+	 */
+	public static Spliterator<Ulid> spliterator(FileChannel channel) throws IOException {
+		final long size = channel.size();
+		return new MappedSpliterator(channel, 0, size, size);
+	}
+
+	/**
+	 * Returns a stream of the ULIDs of a file mapped into memory.
+	 * 
+	 * @param channel  a file channel open for reading
+	 * @param parallel true for a parallel stream
+	 * @return a stream of ULIDs
+	 * @throws IOException if an I/O error occurs
+	 * @see #spliterator(FileChannel)
+	 */
+	public static Stream<Ulid> stream(FileChannel channel, boolean parallel) throws IOException {
+		return StreamSupport.stream(spliterator(channel), parallel);
+	}
+
+	/*
+	 * Moves the unread bytes to the start of the buffer and reads more.
+	 * 
+	 * Returns false if the end of the input was already reached.
+	 */
+	private boolean fill() throws IOException {
+
+		if (this.end) {
+			return false;
+		}
+
+		this.offset += this.buffer.position();
+		this.buffer.compact();
+
+		int count;
+		do {
+			count = this.channel.read(this.buffer);
+		} while (count == 0);
+
+		this.end = count < 0;
+		this.buffer.flip();
+		return true;
+	}
+
+	/*
+	 * Skips empty lines and returns the index of the next non-empty line, or the
+	 * limit. A "\r" at the limit is left for later.
+	 */
+	static int skip(final ByteBuffer buffer, int index, final int limit) {
+		while (index < limit) {
+			final byte b = buffer.get(index);
+			if (b == '\n') {
+				index++;
+			} else if (b == '\r' && index + 1 < limit && buffer.get(index + 1) == '\n') {
+				index += 2;
+			} else {
+				break;
+			}
+		}
+		return index;
+	}
+
+	/*
+	 * Checks the line break after the ULID at an index and returns the index of
+	 * the next line, or -1 if the line is not complete before the limit.
+	 * 
+	 * At the end of the input, a missing line break is accepted and an incomplete
+	 * line is invalid.
+	 */
+	static int next(final ByteBuffer buffer, final int index, final int limit, final boolean end,
+			final long offset) {
+
+		final int after = index + Ulid.ULID_CHARS;
+		if (after >= limit) {
+			if (!end) {
+				return -1;
+			}
+			if (after > limit) {
+				throw invalid(offset + index);
+			}
+			return after;
+		}
+
+		final byte b = buffer.get(after);
+		if (b == '\n') {
+			return after + 1;
+		}
+		if (b == '\r') {
+			if (after + 1 == limit) {
+				return end ? after + 1 : -1;
+			}
+			if (buffer.get(after + 1) == '\n') {
+				return after + 2;
+			}
+		}
+		throw invalid(offset + index);
+	}
+
+	static Ulid decode(final ByteBuffer buffer, final int index, final long offset) {
+		final Ulid ulid = buffer.hasArray() ? Ulid.decode(buffer.array(), buffer.arrayOffset() + index)
+				: Base32Codec.decode(buffer, index);
+		if (ulid == null) {
+			throw invalid(offset + index);
+		}
+		return ulid;
+	}
+
+	/*
+	 * Decodes the MSB and the LSB of the ULID at an index into an array, at an
+	 * index and at the next index.
+	 */
+	static void decode(final ByteBuffer buffer, final int index, final long offset, final long[] longs,
+			final int at) {
+		final boolean valid = buffer.hasArray() ? Ulid.decode(buffer.array(), buffer.arrayOffset() + index, longs, at)
+				: Base32Codec.decode(buffer, index, longs, at);
+		if (!valid) {
+			throw invalid(offset + index);
+		}
+	}
+
+	private static IllegalArgumentException invalid(long position) {
+		return new IllegalArgumentException(String.format("Invalid ULID at position %s", position));
+	}
+
+	/**
+	 * A spliterator of the lines that start from one position to another of a
+	 * mapped file.
+	 * <p>
+	 * The start is always the first byte of a line. The lines are mapped in
+	 * windows, each one until the end of the last line that starts before the
+	 * other position.
+	 */
+	private static final class MappedSpliterator implements Spliterator<Ulid> {
+
+		private final FileChannel channel;
+		private final long size;
+		private final long to;
+		private long position;
+
+		private ByteBuffer window;
+		private long windowOffset;
+
+		private final long[] pair = new long[2]; // MSB and LSB for the consumers
+
+		private static final long MAX_WINDOW = 1L << 28;
+		private static final long MIN_SPLIT = 1L << 20;
+
+		private MappedSpliterator(FileChannel channel, long from, long to, long size) {
+			this.channel = Objects.requireNonNull(channel, "Channel must not be null");
+			this.position = from;
+			this.to = to;
+			this.size = size;
+		}
+
+		@Override
+		public boolean tryAdvance(Consumer<? super Ulid> action) {
+			return forEach((msb, lsb) -> action.accept(new Ulid(msb, lsb)), 1) != 0;
+		}
+
+		@Override
+		public void forEachRemaining(Consumer<? super Ulid> action) {
+			forEach((msb, lsb) -> action.accept(new Ulid(msb, lsb)), Long.MAX_VALUE);
+		}
+
+		@Override
+		public Spliterator<Ulid> trySplit() {
+
+			final long remaining = this.to - this.position;
+			if (remaining < MIN_SPLIT) {
+				return null;
+			}
+
+			final long split = lineAfter(this.position + remaining / 2);
+			if (split < 0 || split >= this.to) {
+				return null;
+			}
+
+			// the prefix is handed out, as required for ordered spliterators
+			final MappedSpliterator prefix = new MappedSpliterator(this.channel, this.position, split, this.size);
+			this.position = split;
+			this.window = null;
+			return prefix;
+		}
+
+		@Override
+		public long estimateSize() {
+			return (this.to - this.position) / (Ulid.ULID_CHARS + 1);
+		}
+
+		@Override
+		public int characteristics() {
+			return ORDERED | NONNULL;
+		}
+
+		private long forEach(BitsConsumer consumer, long max) {
+
+			final long[] pair = this.pair;
+			long count = 0;
+			while (count < max && this.position < this.to) {
+
+				final ByteBuffer buffer = window();
+				final int limit = buffer.limit();
+				final long offset = this.windowOffset;
+				final boolean end = offset + limit == this.size;
+				final int stop = (int) Math.min(limit, this.to - offset);
+
+				int index = (int) (this.position - offset);
+				while (count < max) {
+					index = skip(buffer, index, limit);
+					if (index >= stop) {
+						break;
+					}
+					final int next = next(buffer, index, limit, end, offset);
+					if (next < 0) {
+						break;
+					}
+					decode(buffer, index, offset, pair, 0);
+					consumer.accept(pair[0], pair[1]);
+					index = next;
+					count++;
+				}
+				this.position = offset + index;
+
+				if (index >= stop && stop < limit) {
+					break; // blank lines past the end of this part
+				}
+			}
+			return count;
+		}
+
+		/*
+		 * Maps a new window if the current one does not hold a whole line from the
+		 * current position.
+		 */
+		private ByteBuffer window() {
+
+			final long windowEnd = this.windowOffset + (this.window == null ? 0 : this.window.limit());
+			if (this.window != null && this.position >= this.windowOffset
+					&& (windowEnd - this.position >= MAX_LINE || windowEnd == this.size)) {
+				return this.window;
+			}
+
+			final long length = Math.min(Math.min(MAX_WINDOW, this.to + MAX_LINE - this.position),
+					this.size - this.position);
+			try {
+				this.window = this.channel.map(FileChannel.MapMode.READ_ONLY, this.position, length);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+			this.windowOffset = this.position;
+			return this.window;
+		}
+
+		/*
+		 * Returns the position of the first line that starts after a position, or
+		 * -1 if there is no line break near it.
+		 */
+		private long lineAfter(long position) {
+			final ByteBuffer bytes = ByteBuffer.allocate(2 * MAX_LINE);
+			try {
+				this.channel.read(bytes, position);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+			for (int i = 0; i < bytes.position(); i++) {
+				if (bytes.get(i) == '\n') {
+					return position + i + 1;
+				}
+			}
+			return -1;
+		}
+	}
+}
@@ -0,0 +1,326 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2020-2023 Fabio Lima
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.f4b6a3.ulid;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded cache of canonical strings of ULIDs.
+ * <p>
+ * It remembers the strings of recently encoded ULIDs, so a hot ULID is not
+ * encoded again and the same {@link String} instance is returned each time. It
+ * is useful when a small set of ULIDs is written over and over, for example
+ * entity keys written into every event.
+ * <p>
+ * The cache is a table of sets of 2 entries, chosen by a hash of the ULID. A
+ * new entry goes first in its set and pushes the older entry to the second
+ * place, whose entry is evicted. A hit in the second place moves the entry to
+ * the first place. So each set is a tiny least recently used (LRU) list.
+ * Because a ULID can only go in its own set, a cache twice as large as the hot
+ * set keeps about 90% of it, and a cache 4 times as large keeps about 97%.
+ * <p>
+ * A hit is a hash, one or two probes that compare the MSB and the LSB, and the
+ * stored string. It allocates nothing. For hot sets of hundreds or a few
+ * thousands of ULIDs, whose strings stay in the CPU caches, it takes a quarter
+ * to a half of the time of encoding. For larger hot sets, a hit waits for
+ * memory about as long as encoding takes, and the gain is less garbage and
+ * fewer copies of the same strings. The statistics add an atomic increment to
+ * each call; they can be turned off with {@link #UlidStringCache(int, boolean)}.
+ * A miss costs more than encoding, so the cache needs a high hit rate. The
+ * {@code StringCache} benchmark compares both.
+ * <p>
+ * The cache has no locks. Entries are immutable and are replaced as a whole, so
+ * threads always see complete entries. Under contention, an entry may be lost
+ * or found twice in its set, which only costs a miss.
+ * <p>
+ * Usage example:
+ * 
+ * <pre>{@code
+ * UlidStringCache cache = new UlidStringCache(100_000);
+ * String string = cache.toString(ulid);
+ * double hitRate = cache.getHitRate();
+ * long bytes = cache.getMemoryFootprint();
+ * }</pre>
+ * 
+ * @since 5.3.0
+ */
+public final class UlidStringCache {
+
+	private final Entry[] entries;
+	private final int sets;
+	private final boolean recordStats;
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+
+	// estimates for a 64-bit JVM with compressed pointers and compact strings
+	private static final int ARRAY_BYTES = 16;
+	private static final int REFERENCE_BYTES = 4;
+	private static final int ENTRY_BYTES = 32; // header, 2 longs and 2 references
+	private static final int STRING_BYTES = 24 + 48; // a string and its byte array of 26 bytes
+
+	/**
+	 * Creates a cache of canonical strings that records statistics.
+	 * 
+	 * @param maximumSize the maximum number of ULIDs in the cache
+	 * @throws IllegalArgumentException if the maximum size is less than 1
+	 */
+	public UlidStringCache(int maximumSize) {
+		this(maximumSize, true);
+	}
+
+	/**
+	 * Creates a cache of canonical strings.
+	 * <p>
+	 * If the statistics are not recorded, the counts and the hit rate are always
+	 * zero, and a hit does no atomic operation.
+	 * 
+	 * @param maximumSize the maximum number of ULIDs in the cache
+	 * @param recordStats true to count hits, misses and evictions
+	 * @throws IllegalArgumentException if the maximum size is less than 1
+	 */
+	public UlidStringCache(int maximumSize, boolean recordStats) {
+		if (maximumSize < 1) {
+			throw new IllegalArgumentException(String.format("Invalid maximum size: %s", maximumSize));
+		}
+		this.entries = new Entry[maximumSize];
+		// an odd size leaves a single entry in the last set
+		this.sets = (maximumSize + 1) / 2;
+		this.recordStats = recordStats;
+	}
+
+	/**
+	 * Returns the canonical string of a ULID in upper case, from the cache if
+	 * possible.
+	 * 
+	 * @param ulid a ULID
+	 * @return a ULID string
+	 * @see Ulid#toString()
+	 */
+	public String toString(final Ulid ulid) {
+		return get(ulid, false);
+	}
+
+	/**
+	 * Returns the canonical string of a ULID in lower case, from the cache if
+	 * possible.
+	 * 
+	 * @param ulid a ULID
+	 * @return a ULID string
+	 * @see Ulid#toLowerCase()
+	 */
+	public String toLowerCase(final Ulid ulid) {
+		return get(ulid, true);
+	}
+
+	/**
+	 * Returns the number of ULIDs in the cache.
+	 * <p>
+	 * It scans the whole cache.
+	 * 
+	 * @return the size of the cache
+	 */
+	public int size() {
+		int size = 0;
+		for (Entry entry : this.entries) {
+			if (entry != null) {
+				size++;
+			}
+		}
+		return size;
+	}
+
+	/**
+	 * Removes all the ULIDs from the cache.
+	 * <p>
+	 * The statistics are not changed.
+	 */
+	public void clear() {
+		for (int i = 0; i < this.entries.length; i++) {
+			this.entries[i] = null;
+		}
+	}
+
+	/**
+	 * Returns how many times a string was found in the cache.
+	 * 
+	 * @return the number of hits
+	 */
+	public long getHitCount() {
+		return this.hits.sum();
+	}
+
+	/**
+	 * Returns how many times a string was not found in the cache and was encoded.
+	 * 
+	 * @return the number of misses
+	 */
+	public long getMissCount() {
+		return this.misses.sum();
+	}
+
+	/**
+	 * Returns how many ULIDs were removed to make room for others.
+	 * 
+	 * @return the number of evictions
+	 */
+	public long getEvictionCount() {
+		return this.evictions.sum();
+	}
+
+	/**
+	 * Returns the ratio of hits to requests, or zero if there was no request.
+	 * 
+	 * @return a number between 0 and 1
+	 */
+	public double getHitRate() {
+		final long hits = getHitCount();
+		final long requests = hits + getMissCount();
+		return requests == 0 ? 0.0 : (double) hits / requests;
+	}
+
+	/**
+	 * Returns an estimate of the memory used by the cache, in bytes.
+	 * <p>
+	 * It counts the table, the entries and the strings, assuming a 64-bit JVM with
+	 * compressed pointers and compact strings (Java 9 or later). It scans the
+	 * whole cache.
+	 * 
+	 * @return an estimate of the memory footprint in bytes
+	 */
+	public long getMemoryFootprint() {
+		long bytes = ARRAY_BYTES + (long) REFERENCE_BYTES * this.entries.length;
+		for (Entry entry : this.entries) {
+			if (entry != null) {
+				bytes += ENTRY_BYTES;
+				bytes += entry.upper != null ? STRING_BYTES : 0;
+				bytes += entry.lower != null ? STRING_BYTES : 0;
+			}
+		}
+		return bytes;
+	}
+
+	private String get(final Ulid ulid, final boolean lower) {
+
+		final long msb = ulid.getMostSignificantBits();
+		final long lsb = ulid.getLeastSignificantBits();
+
+		final Entry[] entries = this.entries;
+		final int first = 2 * set(msb, lsb);
+		final int second = first + 1 < entries.length ? first + 1 : first;
+
+		final Entry entry0 = entries[first];
+		if (entry0 != null && entry0.matches(msb, lsb)) {
+			final String string = entry0.get(lower);
+			if (string != null) {
+				hit();
+				return string;
+			}
+			miss(false);
+			return add(entries, first, entry0, ulid, lower);
+		}
+
+		final Entry entry1 = entries[second];
+		if (entry1 != null && entry1.matches(msb, lsb)) {
+			// move to the first place
+			entries[second] = entry0;
+			entries[first] = entry1;
+			final String string = entry1.get(lower);
+			if (string != null) {
+				hit();
+				return string;
+			}
+			miss(false);
+			return add(entries, first, entry1, ulid, lower);
+		}
+
+		miss((second == first ? entry0 : entry1) != null);
+		entries[second] = entry0; // push to the second place
+		return add(entries, first, null, ulid, lower);
+	}
+
+	private void hit() {
+		if (this.recordStats) {
+			this.hits.increment();
+		}
+	}
+
+	private void miss(final boolean eviction) {
+		if (this.recordStats) {
+			this.misses.increment();
+			if (eviction) {
+				this.evictions.increment();
+			}
+		}
+	}
+
+	/*
+	 * Encodes a string and puts it in the first place, keeping the string of the
+	 * other case if the entry already exists.
+	 */
+	private static String add(final Entry[] entries, final int index, final Entry entry, final Ulid ulid,
+			final boolean lower) {
+		final String string = lower ? ulid.toLowerCase() : ulid.toString();
+		final String upper = lower ? (entry == null ? null : entry.upper) : string;
+		final String other = lower ? string : (entry == null ? null : entry.lower);
+		entries[index] = new Entry(ulid.getMostSignificantBits(), ulid.getLeastSignificantBits(), upper, other);
+		return string;
+	}
+
+	private int set(final long msb, final long lsb) {
+		// the high bits of the product spread the low bits of monotonic ULIDs
+		final long bits = msb ^ lsb;
+		final int hash = ((int) (bits ^ (bits >>> 32))) * 0x9e3779b9;
+		// maps the hash to [0, sets) without a division
+		return (int) (((hash & 0xffffffffL) * this.sets) >>> 32);
+	}
+
+	/**
+	 * A ULID and its strings, either of which may be missing.
+	 */
+	private static final class Entry {
+
+		private final long msb;
+		private final long lsb;
+		private final String upper;
+		private final String lower;
+
+		private Entry(long msb, long lsb, String upper, String lower) {
+			this.msb = msb;
+			this.lsb = lsb;
+			this.upper = upper;
+			this.lower = lower;
+		}
+
+		private boolean matches(long msb, long lsb) {
+			return this.msb == msb && this.lsb == lsb;
+		}
+
+		private String get(boolean lower) {
+			return lower ? this.lower : this.upper;
+		}
+	}
+}
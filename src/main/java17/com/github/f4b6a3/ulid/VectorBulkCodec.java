@@ -0,0 +1,212 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2020-2023 Fabio Lima
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.f4b6a3.ulid;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShuffle;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * A bulk codec engine based on the Vector API.
+ * <p>
+ * It is compiled for Java 17 into the multi-release layer of the jar and is
+ * loaded by {@link BulkCodec} by name. It handles one ULID per iteration: the
+ * 26 characters of a record fit in the lanes of a single vector.
+ * <p>
+ * Encoding gathers, for each character, the two bytes that hold its 5 bits
+ * into a 16-bit lane with one shuffle. Then all lanes are shifted at once and
+ * mapped to the alphabet with a table shuffle.
+ * <p>
+ * Decoding maps each character to its value with comparisons, so it is
+ * validated in the same pass. Then, for each of the 16 output bytes, the three
+ * characters that hold its 8 bits are gathered into 16-bit lanes, combined and
+ * shifted at once.
+ * <p>
+ * The constructor fails if the CPU has no 512-bit vectors, so that the scalar
+ * engine is used instead.
+ */
+final class VectorBulkCodec implements BulkCodec.Engine {
+
+	private static final VectorSpecies<Long> L128 = LongVector.SPECIES_128;
+	private static final VectorSpecies<Byte> B128 = ByteVector.SPECIES_128;
+	private static final VectorSpecies<Byte> B256 = ByteVector.SPECIES_256;
+	private static final VectorSpecies<Byte> B512 = ByteVector.SPECIES_512;
+
+	private static final int CHARS = Ulid.ULID_CHARS;
+
+	private static final VectorMask<Byte> MASK_CHARS = VectorMask.fromLong(B256, (1L << CHARS) - 1);
+
+	private static final ByteVector ALPHABET = ByteVector.fromArray(B256,
+			"0123456789ABCDEFGHJKMNPQRSTVWXYZ".getBytes(java.nio.charset.StandardCharsets.US_ASCII), 0);
+
+	// encoding: the 16-bit window of each character and its shift
+	private static final VectorShuffle<Byte> WINDOWS;
+	private static final ShortVector WINDOW_SHIFTS;
+
+	// decoding: the 3 characters of each byte and the shift of their 15 bits
+	private static final VectorShuffle<Byte> FIRST;
+	private static final VectorShuffle<Byte> SECOND;
+	private static final VectorShuffle<Byte> THIRD;
+	private static final ShortVector BYTE_SHIFTS;
+
+	// decoding: the value of each letter from A to Z, -1 for U
+	private static final ByteVector LETTERS;
+	// decoding: all bits set in the lanes of the 26 characters
+	private static final ByteVector CHARS_ONLY;
+	// decoding: the first character must be between 0 and 7
+	private static final ByteVector LIMITS;
+
+	static {
+
+		// the 128 bits are loaded as [msb, lsb] into long lanes, so the bytes are
+		// little-endian in each long; lane 16 of the byte vector is always zero
+		final int zero = 16;
+		final int[] windows = new int[B512.length()];
+		final short[] windowShifts = new short[B512.length() / 2];
+		for (int k = 0; k < windowShifts.length; k++) {
+			windows[2 * k] = zero;
+			windows[2 * k + 1] = zero;
+			if (k < CHARS) {
+				// the 5 bits of character k start at bit 5k-2 of the 128 bits,
+				// because the 26 characters hold 130 bits
+				final int bit = 5 * k - 2;
+				final int hi = Math.floorDiv(bit, 8);
+				windows[2 * k] = lane(hi + 1);
+				windows[2 * k + 1] = hi < 0 ? zero : lane(hi);
+				windowShifts[k] = (short) (11 - (bit - 8 * hi));
+			}
+		}
+		WINDOWS = VectorShuffle.fromArray(B512, windows, 0);
+		WINDOW_SHIFTS = ShortVector.fromArray(ShortVector.SPECIES_512, windowShifts, 0);
+
+		// lane 31 of the value vector is always zero
+		final int none = B256.length() - 1;
+		final int[] first = new int[B256.length()];
+		final int[] second = new int[B256.length()];
+		final int[] third = new int[B256.length()];
+		final short[] byteShifts = new short[B256.length() / 2];
+		for (int j = 0; j < Ulid.ULID_BYTES; j++) {
+			final int bit = 8 * j + 2;
+			final int k = bit / 5;
+			final int lane = 2 * lane(j);
+			first[lane] = k;
+			second[lane] = k + 1;
+			third[lane] = Math.min(k + 2, none);
+			first[lane + 1] = second[lane + 1] = third[lane + 1] = none;
+			byteShifts[lane / 2] = (short) (7 - (bit - 5 * k));
+		}
+		FIRST = VectorShuffle.fromArray(B256, first, 0);
+		SECOND = VectorShuffle.fromArray(B256, second, 0);
+		THIRD = VectorShuffle.fromArray(B256, third, 0);
+		BYTE_SHIFTS = ShortVector.fromArray(ShortVector.SPECIES_256, byteShifts, 0);
+
+		final byte[] letters = new byte[B256.length()];
+		for (int i = 0; i < 26; i++) {
+			letters[i] = Ulid.ALPHABET_VALUES['a' + i];
+		}
+		LETTERS = ByteVector.fromArray(B256, letters, 0);
+		CHARS_ONLY = ByteVector.zero(B256).blend((byte) -1, MASK_CHARS);
+
+		final byte[] limits = new byte[B256.length()];
+		java.util.Arrays.fill(limits, (byte) 31);
+		limits[0] = 7;
+		LIMITS = ByteVector.fromArray(B256, limits, 0);
+	}
+
+	VectorBulkCodec() {
+		if (ByteVector.SPECIES_PREFERRED.vectorBitSize() < 512) {
+			throw new UnsupportedOperationException("512-bit vectors are not supported");
+		}
+	}
+
+	@Override
+	public void encode(long[] longs, int offset, int count, byte[] bytes, int position) {
+		for (int i = 0; i < count; i++) {
+
+			final ByteVector windows = ((ByteVector) LongVector.fromArray(L128, longs, offset + 2 * i) //
+					.reinterpretShape(B512, 0)).rearrange(WINDOWS);
+			final ShortVector values = windows.reinterpretAsShorts() //
+					.lanewise(VectorOperators.LSHR, WINDOW_SHIFTS).and((short) 0b11111);
+			final ByteVector chars = ((ByteVector) values.convertShape(VectorOperators.S2B, B256, 0))
+					.selectFrom(ALPHABET);
+
+			final int start = position + i * CHARS;
+			if (i < count - 1) {
+				chars.intoArray(bytes, start); // the 6 extra bytes are overwritten by the next record
+			} else {
+				chars.intoArray(bytes, start, MASK_CHARS);
+			}
+		}
+	}
+
+	@Override
+	public int decode(byte[] bytes, int position, long[] longs, int offset, int count) {
+		for (int i = 0; i < count; i++) {
+
+			final int start = position + i * CHARS;
+			final ByteVector chars = start + B256.length() <= bytes.length ? ByteVector.fromArray(B256, bytes, start)
+					: ByteVector.fromArray(B256, bytes, start, MASK_CHARS);
+
+			// bytes are signed, so non-ASCII bytes are negative and never match
+			final ByteVector folded = chars.or((byte) 0x20);
+			final VectorMask<Byte> digit = chars.compare(VectorOperators.GE, (byte) '0')
+					.and(chars.compare(VectorOperators.LE, (byte) '9'));
+			final VectorMask<Byte> letter = folded.compare(VectorOperators.GE, (byte) 'a')
+					.and(folded.compare(VectorOperators.LE, (byte) 'z'));
+
+			final ByteVector values = folded.sub((byte) 'a').and((byte) 0b11111).selectFrom(LETTERS) //
+					.blend(chars.sub((byte) '0'), digit).and(CHARS_ONLY);
+
+			// U has the value -1 and the first character must be between 0 and 7
+			if (digit.or(letter).not().or(values.compare(VectorOperators.LT, (byte) 0))
+					.or(values.compare(VectorOperators.GT, LIMITS)).and(MASK_CHARS).anyTrue()) {
+				return i; // invalid character or time overflow!
+			}
+
+			final ShortVector first = values.rearrange(FIRST).reinterpretAsShorts();
+			final ShortVector second = values.rearrange(SECOND).reinterpretAsShorts();
+			final ShortVector third = values.rearrange(THIRD).reinterpretAsShorts();
+			final ShortVector joined = first.lanewise(VectorOperators.LSHL, 10)
+					.or(second.lanewise(VectorOperators.LSHL, 5)).or(third) //
+					.lanewise(VectorOperators.LSHR, BYTE_SHIFTS);
+
+			((ByteVector) joined.convertShape(VectorOperators.S2B, B128, 0)).reinterpretAsLongs() //
+					.intoArray(longs, offset + 2 * i);
+		}
+		return count;
+	}
+
+	/*
+	 * Returns the lane of byte j of the 128 bits, counted from the most
+	 * significant, when [msb, lsb] is viewed as little-endian bytes.
+	 */
+	private static int lane(int j) {
+		return j < 8 ? 7 - j : 23 - j;
+	}
+}
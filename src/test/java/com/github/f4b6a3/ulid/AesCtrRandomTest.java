@@ -0,0 +1,102 @@
+package com.github.f4b6a3.ulid;
+
+import static org.junit.Assert.*;
+
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.junit.Test;
+
+public class AesCtrRandomTest extends UlidFactoryTest {
+
+	@Test
+	public void testCreate() {
+		UlidFactory[] factories = { UlidFactory.newInstance(new AesCtrRandom()),
+				UlidFactory.newMonotonicInstance(new AesCtrRandom()),
+				UlidFactory.newLockFreeMonotonicInstance(new AesCtrRandom()) };
+		for (UlidFactory factory : factories) {
+
+			Ulid[] list = new Ulid[DEFAULT_LOOP_MAX];
+
+			long startTime = System.currentTimeMillis();
+			for (int i = 0; i < DEFAULT_LOOP_MAX; i++) {
+				list[i] = factory.create();
+			}
+			long endTime = System.currentTimeMillis();
+
+			checkNullOrInvalid(list);
+			checkUniqueness(list);
+			checkCreationTime(list, startTime, endTime);
+		}
+	}
+
+	@Test
+	public void testKeyStream() throws Exception {
+
+		// a seeder that returns a known key and counter
+		byte[] seed = new byte[32];
+		Arrays.fill(seed, (byte) 7);
+		AesCtrRandom random = new AesCtrRandom(seeder(seed, new AtomicInteger()), 64, Long.MAX_VALUE);
+
+		Cipher cipher = Cipher.getInstance("AES/CTR/NoPadding");
+		cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(seed, 0, 16, "AES"), new IvParameterSpec(seed, 16, 16));
+		byte[] expected = cipher.update(new byte[64]);
+
+		byte[] bytes = new byte[64];
+		random.nextBytes(bytes);
+		assertArrayEquals(expected, bytes);
+
+		// the next block uses a new key
+		random.nextBytes(bytes);
+		assertFalse(Arrays.equals(expected, bytes));
+		assertFalse(Arrays.equals(cipher.update(new byte[64]), bytes));
+	}
+
+	@Test
+	public void testReseed() {
+
+		AtomicInteger calls = new AtomicInteger();
+		AesCtrRandom random = new AesCtrRandom(seeder(null, calls), 64, 256);
+
+		byte[] bytes = new byte[64 * 10];
+		random.nextBytes(bytes);
+
+		// seeded once, then reseeded after every 4 blocks
+		assertEquals(3, calls.get());
+	}
+
+	@Test
+	public void testDifferentThreadsDifferentStreams() throws InterruptedException {
+
+		AesCtrRandom random = new AesCtrRandom();
+		long[] values = new long[2];
+
+		Thread thread = new Thread(() -> values[1] = random.nextLong());
+		thread.start();
+		thread.join();
+		values[0] = random.nextLong();
+
+		assertNotEquals(values[0], values[1]);
+	}
+
+	private static SecureRandom seeder(byte[] seed, AtomicInteger calls) {
+		return new SecureRandom() {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			public void nextBytes(byte[] bytes) {
+				calls.incrementAndGet();
+				if (seed != null) {
+					System.arraycopy(seed, 0, bytes, 0, bytes.length);
+				} else {
+					super.nextBytes(bytes);
+				}
+			}
+		};
+	}
+}
@@ -0,0 +1,83 @@
+package com.github.f4b6a3.ulid;
+
+import static org.junit.Assert.*;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class Base32CodecTest {
+
+	private static final int DEFAULT_LOOP_MAX = 1_000;
+
+	@Test
+	public void testEncode() {
+		Random random = new Random();
+		for (int i = 0; i < DEFAULT_LOOP_MAX; i++) {
+
+			long msb = random.nextLong();
+			long lsb = random.nextLong();
+			String expected = UlidTest.toString(msb, lsb);
+
+			char[] chars = new char[Ulid.ULID_CHARS + 2];
+			Base32Codec.encode(msb, lsb, chars, 1, Base32Codec.PAIRS_UPPERCASE);
+			assertEquals(expected, new String(chars, 1, Ulid.ULID_CHARS));
+
+			byte[] bytes = new byte[Ulid.ULID_CHARS + 2];
+			Base32Codec.encode(msb, lsb, bytes, 1, Base32Codec.PAIRS_LOWERCASE);
+			assertEquals(expected.toLowerCase(), new String(bytes, 1, Ulid.ULID_CHARS, StandardCharsets.US_ASCII));
+
+			for (ByteOrder order : new ByteOrder[] { ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN }) {
+				ByteBuffer buffer = ByteBuffer.allocateDirect(Ulid.ULID_CHARS + 2).order(order);
+				Base32Codec.encode(msb, lsb, buffer, 1, Base32Codec.PAIRS_UPPERCASE);
+				for (int j = 0; j < Ulid.ULID_CHARS; j++) {
+					assertEquals(expected.charAt(j), (char) buffer.get(1 + j));
+				}
+			}
+
+			for (int j = 0; j < Ulid.ULID_CHARS / 2; j++) {
+				char pair = Base32Codec.pair(msb, lsb, j, Base32Codec.PAIRS_UPPERCASE);
+				assertEquals(expected.charAt(2 * j), (char) (pair >>> 8));
+				assertEquals(expected.charAt(2 * j + 1), (char) (pair & 0xff));
+			}
+		}
+	}
+
+	@Test
+	public void testDecode() {
+		Random random = new Random();
+		for (int i = 0; i < DEFAULT_LOOP_MAX; i++) {
+
+			Ulid ulid = new Ulid(random.nextLong(), random.nextLong());
+			String string = random.nextBoolean() ? ulid.toString() : ulid.toLowerCase();
+
+			for (ByteOrder order : new ByteOrder[] { ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN }) {
+				ByteBuffer buffer = ByteBuffer.allocateDirect(Ulid.ULID_CHARS + 2).order(order);
+				buffer.position(1);
+				buffer.put(string.getBytes(StandardCharsets.US_ASCII));
+				assertEquals(ulid, Base32Codec.decode(buffer, 1));
+			}
+		}
+	}
+
+	@Test
+	public void testDecodeEveryByte() {
+
+		// every byte value in every position must agree with the scalar decoder
+		byte[] bytes = "7ZZZZZZZZZZZZZZZZZZZZZZZZZ".getBytes(StandardCharsets.US_ASCII);
+		ByteBuffer buffer = ByteBuffer.allocateDirect(Ulid.ULID_CHARS);
+
+		for (int i = 0; i < Ulid.ULID_CHARS; i++) {
+			for (int b = 0; b < 256; b++) {
+				byte[] copy = bytes.clone();
+				copy[i] = (byte) b;
+				buffer.clear();
+				buffer.put(copy);
+				assertEquals(Ulid.decode(copy, 0), Base32Codec.decode(buffer, 0));
+			}
+		}
+	}
+}
@@ -0,0 +1,84 @@
+package com.github.f4b6a3.ulid;
+
+import static org.junit.Assert.*;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class Base64CodecTest {
+
+	private static final int DEFAULT_LOOP_MAX = 1_000;
+
+	@Test
+	public void testEncode() {
+		Random random = new Random();
+		for (int i = 0; i < DEFAULT_LOOP_MAX; i++) {
+
+			long msb = random.nextLong();
+			long lsb = random.nextLong();
+
+			char[] chars = new char[Base64Codec.CHARS + 2];
+			Base64Codec.encode(msb, lsb, chars, 1);
+			assertEquals(toString(msb, lsb), new String(chars, 1, Base64Codec.CHARS));
+		}
+
+		assertEquals(toString(0L, 0L), toString(Ulid.MIN));
+		assertEquals(toString(-1L, -1L), toString(Ulid.MAX));
+	}
+
+	@Test
+	public void testDecode() {
+		Random random = new Random();
+		for (int i = 0; i < DEFAULT_LOOP_MAX; i++) {
+
+			long msb = random.nextLong();
+			long lsb = random.nextLong();
+
+			assertEquals(new Ulid(msb, lsb), Base64Codec.decode(toString(msb, lsb)));
+		}
+
+		assertEquals(Ulid.MIN, Base64Codec.decode(toString(Ulid.MIN)));
+		assertEquals(Ulid.MAX, Base64Codec.decode(toString(Ulid.MAX)));
+	}
+
+	@Test
+	public void testDecodeInvalid() {
+
+		// one more than the maximum
+		BigInteger overflow = BigInteger.ONE.shiftLeft(128);
+		assertNull(Base64Codec.decode(toString(overflow)));
+
+		char[] chars = toString(Ulid.MAX).toCharArray();
+		for (char chr : new char[] { '+', '/', '=', ' ', '.', '\u00e0', '\u0130' }) {
+			for (int i = 0; i < chars.length; i++) {
+				char[] copy = chars.clone();
+				copy[i] = chr;
+				assertNull(Base64Codec.decode(new String(copy)));
+			}
+		}
+	}
+
+	private static String toString(Ulid ulid) {
+		char[] chars = new char[Base64Codec.CHARS];
+		Base64Codec.encode(ulid.getMostSignificantBits(), ulid.getLeastSignificantBits(), chars, 0);
+		return new String(chars);
+	}
+
+	private static String toString(long msb, long lsb) {
+		BigInteger number = new BigInteger(1, new Ulid(msb, lsb).toBytes());
+		return toString(number);
+	}
+
+	// a reference implementation with big integers
+	private static String toString(BigInteger number) {
+		BigInteger base = BigInteger.valueOf(Base64Codec.ALPHABET.length);
+		char[] chars = new char[Base64Codec.CHARS];
+		for (int i = chars.length - 1; i >= 0; i--) {
+			chars[i] = Base64Codec.ALPHABET[number.mod(base).intValue()];
+			number = number.divide(base);
+		}
+		return new String(chars);
+	}
+}
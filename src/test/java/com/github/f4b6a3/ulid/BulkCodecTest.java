@@ -0,0 +1,162 @@
+package com.github.f4b6a3.ulid;
+
+import static org.junit.Assert.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class BulkCodecTest {
+
+	private static final int DEFAULT_LOOP_MAX = 1_000;
+
+	@Test
+	public void testEncode() {
+		Random random = new Random();
+		long[] longs = new long[2 * DEFAULT_LOOP_MAX];
+		Ulid[] ulids = new Ulid[DEFAULT_LOOP_MAX];
+		StringBuilder expected = new StringBuilder();
+		for (int i = 0; i < ulids.length; i++) {
+			ulids[i] = new Ulid(random.nextLong(), random.nextLong());
+			longs[2 * i] = ulids[i].getMostSignificantBits();
+			longs[2 * i + 1] = ulids[i].getLeastSignificantBits();
+			expected.append(ulids[i].toString());
+		}
+
+		assertEquals(expected.toString(), new String(BulkCodec.encode(longs), StandardCharsets.US_ASCII));
+		assertEquals(expected.toString(), new String(BulkCodec.encode(ulids), StandardCharsets.US_ASCII));
+
+		// the bytes around the range are not touched
+		byte[] bytes = new byte[Ulid.ULID_CHARS * 3 + 2];
+		Arrays.fill(bytes, (byte) '#');
+		BulkCodec.encode(ulids, 5, 3, bytes, 1);
+		assertEquals('#' + expected.substring(5 * Ulid.ULID_CHARS, 8 * Ulid.ULID_CHARS) + '#',
+				new String(bytes, StandardCharsets.US_ASCII));
+	}
+
+	@Test
+	public void testDecode() {
+		Random random = new Random();
+		long[] longs = new long[2 * DEFAULT_LOOP_MAX];
+		StringBuilder text = new StringBuilder();
+		for (int i = 0; i < DEFAULT_LOOP_MAX; i++) {
+			Ulid ulid = new Ulid(random.nextLong(), random.nextLong());
+			longs[2 * i] = ulid.getMostSignificantBits();
+			longs[2 * i + 1] = ulid.getLeastSignificantBits();
+			text.append(random.nextBoolean() ? ulid.toString() : ulid.toLowerCase());
+		}
+		byte[] bytes = text.toString().getBytes(StandardCharsets.US_ASCII);
+
+		assertArrayEquals(longs, BulkCodec.decode(bytes));
+
+		Ulid[] ulids = new Ulid[DEFAULT_LOOP_MAX + 1];
+		BulkCodec.decode(bytes, 0, ulids, 1, DEFAULT_LOOP_MAX);
+		assertNull(ulids[0]);
+		for (int i = 0; i < DEFAULT_LOOP_MAX; i++) {
+			assertEquals(new Ulid(longs[2 * i], longs[2 * i + 1]), ulids[i + 1]);
+		}
+	}
+
+	@Test
+	public void testDecodeInvalid() {
+		String text = "0123456789ABCDEFGHJKMNPQRS" + "0123456789ABCDEFGHJKMNPQRU" + "0123456789ABCDEFGHJKMNPQRS";
+		byte[] bytes = text.getBytes(StandardCharsets.US_ASCII);
+
+		long[] longs = new long[6];
+		try {
+			BulkCodec.decode(bytes, 0, longs, 0, longs.length);
+			fail("Should throw an exception");
+		} catch (IllegalArgumentException e) {
+			assertTrue(e.getMessage().contains("0123456789ABCDEFGHJKMNPQRU"));
+		}
+		// the records before the invalid one are decoded
+		assertEquals(Ulid.from("0123456789ABCDEFGHJKMNPQRS").getMostSignificantBits(), longs[0]);
+
+		try {
+			BulkCodec.decode(Arrays.copyOf(bytes, bytes.length - 1));
+			fail("Should throw an exception");
+		} catch (IllegalArgumentException e) {
+			// success
+		}
+
+		try {
+			BulkCodec.decode(bytes, 0, new long[3], 0, 3);
+			fail("Should throw an exception");
+		} catch (IllegalArgumentException e) {
+			// success
+		}
+
+		try {
+			BulkCodec.decode(bytes, 1, new long[6], 0, 6);
+			fail("Should throw an exception");
+		} catch (IndexOutOfBoundsException e) {
+			// success
+		}
+
+		try {
+			BulkCodec.encode(new Ulid[2], 0, 2, new byte[Ulid.ULID_CHARS * 2 - 1], 0);
+			fail("Should throw an exception");
+		} catch (IndexOutOfBoundsException e) {
+			// success
+		}
+	}
+
+	@Test
+	public void testEngines() {
+		Random random = new Random();
+		int count = DEFAULT_LOOP_MAX;
+		long[] longs = new long[2 * count];
+		for (int i = 0; i < longs.length; i++) {
+			longs[i] = random.nextLong();
+		}
+		byte[] expected = new byte[Ulid.ULID_CHARS * count];
+		new BulkCodec.ScalarEngine().encode(longs, 0, count, expected, 0);
+
+		for (BulkCodec.Engine engine : engines()) {
+			byte[] bytes = new byte[expected.length];
+			engine.encode(longs, 0, count, bytes, 0);
+			assertArrayEquals(expected, bytes);
+
+			long[] decoded = new long[longs.length];
+			assertEquals(count, engine.decode(bytes, 0, decoded, 0, count));
+			assertArrayEquals(longs, decoded);
+		}
+	}
+
+	@Test
+	public void testEnginesEveryByte() {
+
+		// every byte value in every position must agree with the scalar decoder
+		byte[] bytes = "7ZZZZZZZZZZZZZZZZZZZZZZZZZ".getBytes(StandardCharsets.US_ASCII);
+		long[] longs = new long[2];
+
+		for (BulkCodec.Engine engine : engines()) {
+			for (int i = 0; i < Ulid.ULID_CHARS; i++) {
+				for (int b = 0; b < 256; b++) {
+					byte[] copy = bytes.clone();
+					copy[i] = (byte) b;
+					Ulid expected = Ulid.decode(copy, 0);
+					assertEquals(expected == null ? 0 : 1, engine.decode(copy, 0, longs, 0, 1));
+					if (expected != null) {
+						assertEquals(expected, new Ulid(longs[0], longs[1]));
+					}
+				}
+			}
+		}
+	}
+
+	private static List<BulkCodec.Engine> engines() {
+		List<BulkCodec.Engine> engines = new ArrayList<>();
+		engines.add(new BulkCodec.ScalarEngine());
+		try {
+			engines.add((BulkCodec.Engine) Class.forName(BulkCodec.VECTOR_ENGINE).getDeclaredConstructor().newInstance());
+		} catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+			// not available in this environment
+		}
+		return engines;
+	}
+}
@@ -0,0 +1,45 @@
+package com.github.f4b6a3.ulid;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class CachedClockTest {
+
+	@Test
+	public void testGetAsLong() throws InterruptedException {
+		CachedClock clock = new CachedClock();
+
+		long before = System.currentTimeMillis();
+		long time = clock.getAsLong();
+		long after = System.currentTimeMillis();
+
+		assertTrue(time <= after);
+		assertTrue(time >= before - 1000); // the cached time lags a bit
+
+		// the ticker keeps the clock going
+		for (int i = 0; i < 1000 && clock.getAsLong() == time; i++) {
+			Thread.sleep(1);
+		}
+		assertTrue(clock.getAsLong() > time);
+	}
+
+	@Test
+	public void testGetInstance() {
+		assertSame(CachedClock.getInstance(), CachedClock.getInstance());
+		assertEquals(CachedClock.DEFAULT_TICK, CachedClock.getInstance().getTick());
+	}
+
+	@Test
+	public void testInvalidTick() {
+		long[] ticks = { -1, 0, CachedClock.MAX_TICK + 1 };
+		for (long tick : ticks) {
+			try {
+				new CachedClock(tick);
+				fail("Should throw an exception");
+			} catch (IllegalArgumentException e) {
+				// success
+			}
+		}
+	}
+}
@@ -0,0 +1,115 @@
+package com.github.f4b6a3.ulid;
+
+import static org.junit.Assert.*;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+public class HashUlidCacheTest extends UlidFactoryTest {
+
+	@Test
+	public void testGet() {
+		HashUlidCache cache = new HashUlidCache(100_000);
+		for (int i = 0; i < DEFAULT_LOOP_MAX; i++) {
+			long time = i % 10;
+			String key = "key-" + (i % 100);
+			byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+			assertEquals(UlidCreator.getHashUlid(time, key), cache.get(time, key));
+			assertEquals(UlidCreator.getHashUlid(time, bytes), cache.get(time, bytes));
+		}
+
+		// 100 pairs of time and key, as strings and as bytes
+		assertEquals(200, cache.getMissCount());
+		assertEquals(2 * DEFAULT_LOOP_MAX - 200, cache.getHitCount());
+		assertEquals(200, cache.size());
+		assertEquals(0, cache.getEvictionCount());
+	}
+
+	@Test
+	public void testKeyIsCopied() {
+		HashUlidCache cache = new HashUlidCache(HashUlidFactory.newMurmur3Instance(), 100);
+
+		byte[] bytes = { 1, 2, 3 };
+		Ulid ulid = cache.get(0L, bytes);
+
+		bytes[0] = 9;
+		assertNotEquals(ulid, cache.get(0L, bytes));
+
+		bytes[0] = 1;
+		assertEquals(ulid, cache.get(0L, bytes));
+		assertEquals(1, cache.getHitCount());
+		assertEquals(2, cache.getMissCount());
+	}
+
+	@Test
+	public void testEviction() {
+		HashUlidCache cache = new HashUlidCache(HashUlidFactory.newMurmur3Instance(), 10);
+		assertEquals(1, cache.stripes());
+
+		for (int i = 0; i < 10; i++) {
+			cache.get(0L, "key-" + i);
+		}
+		// key-0 becomes the most recently used
+		cache.get(0L, "key-0");
+		// key-1 is evicted
+		cache.get(0L, "key-10");
+
+		assertEquals(10, cache.size());
+		assertEquals(1, cache.getEvictionCount());
+
+		cache.get(0L, "key-0");
+		assertEquals(2, cache.getHitCount());
+		cache.get(0L, "key-1");
+		assertEquals(12, cache.getMissCount());
+
+		cache.clear();
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	public void testGetInParallel() throws InterruptedException {
+
+		Thread[] threads = new Thread[THREAD_TOTAL];
+		HashUlidCache cache = new HashUlidCache(HashUlidFactory.newMurmur3Instance(), 500);
+		HashUlidFactory factory = HashUlidFactory.newMurmur3Instance();
+		boolean[] failed = new boolean[1];
+
+		for (int i = 0; i < THREAD_TOTAL; i++) {
+			threads[i] = new Thread(() -> {
+				for (int j = 0; j < DEFAULT_LOOP_MAX; j++) {
+					String key = "key-" + RANDOM.nextInt(1000);
+					if (!factory.create(1L, key).equals(cache.get(1L, key))) {
+						failed[0] = true;
+					}
+				}
+			});
+			threads[i].start();
+		}
+
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		assertFalse(failed[0]);
+		assertTrue(cache.size() <= 500);
+		assertEquals(THREAD_TOTAL * DEFAULT_LOOP_MAX, cache.getHitCount() + cache.getMissCount());
+	}
+
+	@Test
+	public void testInvalidArguments() {
+		try {
+			new HashUlidCache(0);
+			fail("Should throw an exception");
+		} catch (IllegalArgumentException e) {
+			// success
+		}
+
+		try {
+			new HashUlidCache(10).get(-1L, "key");
+			fail("Should throw an exception");
+		} catch (IllegalArgumentException e) {
+			// success
+		}
+	}
+}
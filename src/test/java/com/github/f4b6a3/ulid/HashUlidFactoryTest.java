@@ -0,0 +1,369 @@
+package com.github.f4b6a3.ulid;
+
+import static org.junit.Assert.*;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+public class HashUlidFactoryTest extends UlidFactoryTest {
+
+	@Test
+	public void testSha256() {
+		HashUlidFactory factory = HashUlidFactory.newInstance();
+		for (int i = 0; i < DEFAULT_LOOP_MAX; i++) {
+			long time = RANDOM.nextLong() & TIME_MASK;
+			String string = UUID.randomUUID().toString();
+			assertEquals(UlidCreator.getHashUlid(time, string), factory.create(time, string));
+			byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+			assertEquals(UlidCreator.getHashUlid(time, bytes), factory.create(time, bytes));
+		}
+	}
+
+	@Test
+	public void testMurmur3() {
+		HashUlidFactory factory = HashUlidFactory.newMurmur3Instance();
+
+		// the hash of an empty key is zero
+		assertEquals(new Ulid(0L, 0L), factory.create(0L, ""));
+
+		// 6c1b07bc7bbc4be347939ac4a93c437a
+		String string = "The quick brown fox jumps over the lazy dog";
+		byte[] expected = { 0x6c, 0x1b, 0x07, (byte) 0xbc, 0x7b, (byte) 0xbc, 0x4b, (byte) 0xe3, 0x47, (byte) 0x93 };
+		assertArrayEquals(expected, factory.create(0L, string).getRandom());
+		assertArrayEquals(expected, factory.create(0L, string.getBytes(StandardCharsets.UTF_8)).getRandom());
+
+		// the seed changes the hash
+		assertNotEquals(factory.create(0L, string), HashUlidFactory.newMurmur3Instance(1L).create(0L, string));
+	}
+
+	@Test
+	public void testMurmur3Vectors() {
+
+		// the first 10 bytes of Guava's murmur3_128, with seed 0 for the keys and
+		// seed 7 for "namespace" followed by the keys
+		int[] lengths = { 0, 15, 16, 17, 31, 32, 600 };
+		String[][] vectors = { { "00000000000000000000", "f5df65f3813313c8c34e" },
+				{ "17ab8267b5f475375e41", "4e502608dc40de2ffc52" }, { "14da89f6eb796b468a85", "4c96b810a8a0384fb698" },
+				{ "24e59d30842f32eb1b48", "4ac873804168d202c92e" }, { "69059632da93db491e6c", "9b14344048aab05e107a" },
+				{ "326112a8ce3886422e5d", "e2c20f7c2e314e28500d" }, { "9e8e2967c5554cdde25b", "039c360b68e2b7912d6b" } };
+
+		HashUlidFactory factory = HashUlidFactory.newMurmur3Instance();
+		HashUlidFactory prefixed = HashUlidFactory.newMurmur3Instance(7L,
+				"namespace".getBytes(StandardCharsets.US_ASCII));
+
+		for (int i = 0; i < lengths.length; i++) {
+
+			byte[] key = new byte[lengths[i]];
+			for (int j = 0; j < key.length; j++) {
+				key[j] = (byte) (j * 31 + 7);
+			}
+
+			for (int v = 0; v < 2; v++) {
+				HashUlidFactory f = v == 0 ? factory : prefixed;
+				Ulid expected = new Ulid(1L, hex(vectors[i][v]));
+
+				assertEquals(expected, f.create(1L, key));
+				assertEquals(expected, f.create(1L, ByteBuffer.wrap(key)));
+
+				// direct buffers in both byte orders, at a position that misaligns the blocks
+				for (ByteOrder order : new ByteOrder[] { ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN }) {
+					ByteBuffer direct = ByteBuffer.allocateDirect(key.length + 3).order(order);
+					direct.position(3);
+					direct.put(key).position(3);
+					assertEquals(expected, f.create(1L, direct));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testStringAsUtf8() {
+		HashUlidFactory[] factories = { HashUlidFactory.newInstance(), HashUlidFactory.newMurmur3Instance() };
+		Random random = new Random();
+		for (HashUlidFactory factory : factories) {
+			// multi-byte chars, surrogate pairs, unpaired surrogates and long strings
+			for (int length = 0; length < 1000; length += 7) {
+				StringBuilder builder = new StringBuilder();
+				for (int i = 0; i < length; i++) {
+					builder.append((char) random.nextInt(0x10000));
+				}
+				String string = builder.toString();
+				byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+				assertEquals(factory.create(1L, bytes), factory.create(1L, string));
+			}
+		}
+	}
+
+	@Test
+	public void testSlice() {
+		HashUlidFactory[] factories = { HashUlidFactory.newInstance(), HashUlidFactory.newMurmur3Instance() };
+		byte[] bytes = new byte[100];
+		RANDOM.nextBytes(bytes);
+		for (HashUlidFactory factory : factories) {
+			for (int offset = 0; offset < 40; offset += 3) {
+				for (int length = 0; length < 60; length += 5) {
+					byte[] slice = Arrays.copyOfRange(bytes, offset, offset + length);
+					assertEquals(factory.create(1L, slice), factory.create(1L, bytes, offset, length));
+				}
+			}
+
+			int[][] ranges = { { -1, 10 }, { 0, -1 }, { 0, 101 }, { 91, 10 } };
+			for (int[] range : ranges) {
+				try {
+					factory.create(1L, bytes, range[0], range[1]);
+					fail("Should throw an exception");
+				} catch (IndexOutOfBoundsException e) {
+					// success
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testByteBuffer() {
+		HashUlidFactory[] factories = { HashUlidFactory.newInstance(), HashUlidFactory.newMurmur3Instance() };
+		for (HashUlidFactory factory : factories) {
+			for (int length = 0; length < 100; length += 7) {
+
+				byte[] bytes = new byte[length];
+				RANDOM.nextBytes(bytes);
+				Ulid expected = factory.create(1L, bytes);
+
+				ByteBuffer heap = ByteBuffer.allocate(length + 10);
+				ByteBuffer direct = ByteBuffer.allocateDirect(length + 10);
+				ByteBuffer little = ByteBuffer.allocateDirect(length + 10).order(ByteOrder.LITTLE_ENDIAN);
+
+				for (ByteBuffer buffer : new ByteBuffer[] { heap, direct, little }) {
+					buffer.position(3);
+					buffer.put(bytes);
+					buffer.limit(buffer.position());
+					buffer.position(3);
+
+					assertEquals(expected, factory.create(1L, buffer));
+					assertEquals(expected, factory.create(1L, buffer.asReadOnlyBuffer()));
+					assertEquals(expected, factory.create(1L, buffer.slice()));
+
+					// the position is not changed
+					assertEquals(3, buffer.position());
+					assertEquals(length, buffer.remaining());
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testCharSequence() {
+		HashUlidFactory[] factories = { HashUlidFactory.newInstance(), HashUlidFactory.newMurmur3Instance() };
+		for (HashUlidFactory factory : factories) {
+			String string = "The quick brown fox jumps over the lazy dog \u00e7\u20ac\ud83d\ude00";
+			StringBuilder builder = new StringBuilder(string);
+			CharBuffer chars = CharBuffer.wrap(string);
+			assertEquals(factory.create(1L, string), factory.create(1L, builder));
+			assertEquals(factory.create(1L, string), factory.create(1L, chars));
+		}
+	}
+
+	@Test
+	public void testNamespace() {
+		for (int size = 0; size < 40; size += 3) {
+
+			byte[] namespace = new byte[size];
+			RANDOM.nextBytes(namespace);
+
+			HashUlidFactory[][] factories = {
+					{ HashUlidFactory.newInstance("SHA-256"), HashUlidFactory.newInstance("SHA-256", namespace) },
+					{ HashUlidFactory.newMurmur3Instance(7L), HashUlidFactory.newMurmur3Instance(7L, namespace) } };
+
+			for (HashUlidFactory[] pair : factories) {
+				for (int length = 0; length < 40; length += 5) {
+					byte[] key = new byte[length];
+					RANDOM.nextBytes(key);
+
+					byte[] prefixed = Arrays.copyOf(namespace, size + length);
+					System.arraycopy(key, 0, prefixed, size, length);
+
+					// hash(namespace || key)
+					Ulid expected = pair[0].create(1L, prefixed);
+					assertEquals(expected, pair[1].create(1L, key));
+					assertEquals(expected, pair[1].create(1L, ByteBuffer.wrap(key)));
+					// the namespace state is reused
+					assertEquals(expected, pair[1].create(1L, key));
+				}
+			}
+		}
+
+		// the namespace is copied
+		byte[] namespace = "namespace".getBytes(StandardCharsets.UTF_8);
+		HashUlidFactory factory = HashUlidFactory.newMurmur3Instance(0L, namespace);
+		Ulid ulid = factory.create(1L, "key");
+		namespace[0] = 'N';
+		assertEquals(ulid, factory.create(1L, "key"));
+	}
+
+	@Test
+	public void testFill() {
+		HashUlidFactory[] factories = { HashUlidFactory.newInstance(), HashUlidFactory.newMurmur3Instance() };
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			for (HashUlidFactory factory : factories) {
+				// enough keys to be split among the workers
+				final int size = DEFAULT_LOOP_MAX;
+				long[] times = new long[size];
+				byte[][] bytes = new byte[size][];
+				String[] strings = new String[size];
+				for (int i = 0; i < size; i++) {
+					times[i] = RANDOM.nextLong() & TIME_MASK;
+					strings[i] = UUID.randomUUID().toString();
+					bytes[i] = strings[i].getBytes(StandardCharsets.UTF_8);
+				}
+
+				Ulid[] ulids1 = new Ulid[size];
+				Ulid[] ulids2 = new Ulid[size];
+				long[] longs1 = new long[size * 2];
+				long[] longs2 = new long[size * 2];
+				factory.fill(times, bytes, ulids1);
+				factory.fill(pool, times, strings, ulids2);
+				factory.fill(pool, times, bytes, longs1);
+				factory.fill(times, strings, longs2);
+
+				for (int i = 0; i < size; i++) {
+					Ulid expected = factory.create(times[i], bytes[i]);
+					assertEquals(expected, ulids1[i]);
+					assertEquals(expected, ulids2[i]);
+					assertEquals(expected, new Ulid(longs1[2 * i], longs1[2 * i + 1]));
+					assertEquals(expected, new Ulid(longs2[2 * i], longs2[2 * i + 1]));
+				}
+			}
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void testFillLongs() {
+		HashUlidFactory[] factories = { HashUlidFactory.newInstance(), HashUlidFactory.newMurmur3Instance(),
+				HashUlidFactory.newMurmur3Instance(RANDOM.nextLong()) };
+		for (HashUlidFactory factory : factories) {
+			// keys of every length up to three blocks, with non-ASCII chars
+			final int size = 3 * 16 + 1;
+			long[] times = new long[size];
+			byte[][] bytes = new byte[size][];
+			String[] strings = new String[size];
+			for (int i = 0; i < size; i++) {
+				times[i] = i == 0 ? TIME_MASK : RANDOM.nextLong() & TIME_MASK;
+				char[] chars = new char[i];
+				for (int j = 0; j < i; j++) {
+					chars[j] = (char) (RANDOM.nextBoolean() ? 'a' + RANDOM.nextInt(26) : 0xe0 + RANDOM.nextInt(32));
+				}
+				strings[i] = new String(chars);
+				bytes[i] = strings[i].getBytes(StandardCharsets.UTF_8);
+			}
+
+			long[] longs1 = new long[size * 2];
+			long[] longs2 = new long[size * 2];
+			factory.fill(times, bytes, longs1);
+			factory.fill(times, strings, longs2);
+
+			for (int i = 0; i < size; i++) {
+				Ulid expected = factory.create(times[i], strings[i]);
+				assertEquals(expected.getMostSignificantBits(), longs1[2 * i]);
+				assertEquals(expected.getLeastSignificantBits(), longs1[2 * i + 1]);
+				assertEquals(expected.getMostSignificantBits(), longs2[2 * i]);
+				assertEquals(expected.getLeastSignificantBits(), longs2[2 * i + 1]);
+				assertEquals(times[i], new Ulid(longs1[2 * i], longs1[2 * i + 1]).getTime());
+			}
+		}
+	}
+
+	@Test
+	public void testFillInvalidArguments() {
+		HashUlidFactory factory = HashUlidFactory.newMurmur3Instance();
+		byte[][] keys = { { 1 }, { 2 } };
+
+		try {
+			factory.fill(new long[2], keys, new Ulid[3]);
+			fail("Should throw an exception");
+		} catch (IllegalArgumentException e) {
+			// success
+		}
+
+		try {
+			factory.fill(new long[2], keys, new long[3]);
+			fail("Should throw an exception");
+		} catch (IllegalArgumentException e) {
+			// success
+		}
+
+		try {
+			factory.fill(new long[] { 0L, -1L }, keys, new Ulid[2]);
+			fail("Should throw an exception");
+		} catch (IllegalArgumentException e) {
+			// success
+		}
+	}
+
+	@Test
+	public void testCreateInParallel() throws InterruptedException {
+
+		Thread[] threads = new Thread[THREAD_TOTAL];
+		Ulid[][] lists = new Ulid[THREAD_TOTAL][DEFAULT_LOOP_MAX];
+		HashUlidFactory factory = HashUlidFactory.newMurmur3Instance();
+
+		// All the threads share the same factory and hash the same keys
+		for (int i = 0; i < THREAD_TOTAL; i++) {
+			final Ulid[] list = lists[i];
+			threads[i] = new Thread(() -> {
+				for (int j = 0; j < DEFAULT_LOOP_MAX; j++) {
+					list[j] = factory.create(0L, "key-" + j);
+				}
+			});
+			threads[i].start();
+		}
+
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		for (int i = 1; i < THREAD_TOTAL; i++) {
+			assertTrue(Arrays.equals(lists[0], lists[i]));
+		}
+		checkUniqueness(lists[0]);
+	}
+
+	@Test
+	public void testInvalidArguments() {
+		HashUlidFactory factory = HashUlidFactory.newMurmur3Instance();
+		long[] times = { -1L, 0x0001000000000000L };
+		for (long time : times) {
+			try {
+				factory.create(time, "key");
+				fail("Should throw an exception");
+			} catch (IllegalArgumentException e) {
+				// success
+			}
+		}
+
+		try {
+			HashUlidFactory.newInstance("MD2-NOT-SUPPORTED");
+			fail("Should throw an exception");
+		} catch (RuntimeException e) {
+			// success
+		}
+	}
+
+	private static byte[] hex(String string) {
+		byte[] bytes = new byte[string.length() / 2];
+		for (int i = 0; i < bytes.length; i++) {
+			bytes[i] = (byte) Integer.parseInt(string.substring(2 * i, 2 * i + 2), 16);
+		}
+		return bytes;
+	}
+}
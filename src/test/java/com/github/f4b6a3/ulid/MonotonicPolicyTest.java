@@ -0,0 +1,248 @@
+package com.github.f4b6a3.ulid;
+
+import static org.junit.Assert.*;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+import org.junit.Test;
+
+public class MonotonicPolicyTest {
+
+	private static final long TIME = Instant.parse("2021-12-31T23:59:59.999Z").toEpochMilli();
+	private static final long DIFF = UlidFactory.MonotonicFunction.CLOCK_DRIFT_TOLERANCE;
+
+	// the random component is always 0xffff..., so the second ULID overflows
+	private static final Random OVERFLOW_RANDOM = new Random() {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		public void nextBytes(byte[] bytes) {
+			Arrays.fill(bytes, (byte) 0xff);
+		}
+
+		@Override
+		public long nextLong() {
+			return 0xffffffffffffffffL;
+		}
+	};
+
+	@Test
+	public void testCarry() {
+		MonotonicPolicy policy = MonotonicPolicy.carry();
+		UlidFactory factory = UlidFactory.newMonotonicInstance(OVERFLOW_RANDOM, () -> TIME, policy);
+
+		Ulid ulid1 = factory.create();
+		Ulid ulid2 = factory.create();
+
+		assertEquals(ulid1.increment(), ulid2);
+		assertEquals(TIME + 1, ulid2.getTime());
+		assertEquals(1, policy.getOverflowCount());
+		assertEquals(1, policy.getBorrowCount());
+
+		// the clock moves backwards beyond the tolerance
+		Ulid ulid3 = factory.create(TIME - DIFF);
+		assertEquals(TIME - DIFF, ulid3.getTime());
+		assertEquals(1, policy.getRegressionCount());
+		assertEquals(1, policy.getResetCount());
+		assertEquals(0, policy.getFailureCount());
+	}
+
+	@Test
+	public void testFailFast() {
+		MonotonicPolicy policy = MonotonicPolicy.failFast();
+		UlidFactory factory = UlidFactory.newMonotonicInstance(OVERFLOW_RANDOM, () -> TIME, policy);
+
+		Ulid ulid1 = factory.create();
+		try {
+			factory.create();
+			fail("Should throw an exception");
+		} catch (IllegalStateException e) {
+			// success
+		}
+
+		// the state is unchanged
+		try {
+			factory.create();
+			fail("Should throw an exception");
+		} catch (IllegalStateException e) {
+			// success
+		}
+
+		// the clock moves forward
+		Ulid ulid2 = factory.create(TIME + 1);
+		assertTrue(ulid2.compareTo(ulid1) > 0);
+
+		try {
+			factory.create(TIME - DIFF);
+			fail("Should throw an exception");
+		} catch (IllegalStateException e) {
+			// success
+		}
+
+		assertEquals(2, policy.getOverflowCount());
+		assertEquals(1, policy.getRegressionCount());
+		assertEquals(3, policy.getFailureCount());
+	}
+
+	@Test
+	public void testBorrow() {
+		MonotonicPolicy policy = MonotonicPolicy.borrow(1);
+		UlidFactory factory = UlidFactory.newMonotonicInstance(OVERFLOW_RANDOM, () -> TIME, policy);
+
+		// 1 ms ahead of the clock
+		Ulid ulid1 = factory.create();
+		Ulid ulid2 = factory.create();
+		assertEquals(TIME + 1, ulid2.getTime());
+		assertEquals(ulid1.increment(), ulid2);
+
+		// the random component of the next millisecond is not exhausted
+		Ulid ulid3 = factory.create();
+		assertEquals(ulid2.increment(), ulid3);
+
+		assertEquals(1, policy.getOverflowCount());
+		assertEquals(1, policy.getBorrowCount());
+	}
+
+	@Test
+	public void testFillFailsBeforeWriting() {
+		MonotonicPolicy[] policies = { MonotonicPolicy.failFast(), MonotonicPolicy.borrow(0) };
+		for (MonotonicPolicy policy : policies) {
+			UlidFactory factory = UlidFactory.newMonotonicInstance(OVERFLOW_RANDOM, () -> TIME, policy);
+
+			// the second ULID of each fill overflows
+			long[] longs = new long[4];
+			try {
+				factory.fill(longs);
+				fail("Should throw an exception");
+			} catch (IllegalStateException e) {
+				// success
+			}
+			assertArrayEquals(new long[4], longs);
+
+			Ulid[] ulids = new Ulid[2];
+			try {
+				factory.fill(ulids);
+				fail("Should throw an exception");
+			} catch (IllegalStateException e) {
+				// success
+			}
+			assertArrayEquals(new Ulid[2], ulids);
+
+			// the state is unchanged, so the first ULID is still available
+			factory.fill(ulids, 0, 1);
+			assertEquals(TIME, ulids[0].getTime());
+			assertEquals(Ulid.MAX.getLeastSignificantBits(), ulids[0].getLeastSignificantBits());
+			assertEquals(2, policy.getFailureCount());
+		}
+
+		// the overflow is within the limit
+		MonotonicPolicy policy = MonotonicPolicy.borrow(1);
+		UlidFactory factory = UlidFactory.newMonotonicInstance(OVERFLOW_RANDOM, () -> TIME, policy);
+		Ulid[] ulids = new Ulid[2];
+		factory.fill(ulids);
+		assertEquals(ulids[0].increment(), ulids[1]);
+		assertEquals(TIME + 1, ulids[1].getTime());
+	}
+
+	@Test
+	public void testBorrowAfterRegression() {
+		MonotonicPolicy policy = MonotonicPolicy.borrow(2 * DIFF);
+		UlidFactory factory = UlidFactory.newMonotonicInstance(new Random(), () -> TIME, policy);
+
+		Ulid ulid1 = factory.create();
+		Ulid ulid2 = factory.create(TIME - DIFF);
+		assertEquals(ulid1.increment(), ulid2);
+
+		try {
+			factory.create(TIME - 2 * DIFF - 1);
+			fail("Should throw an exception");
+		} catch (IllegalStateException e) {
+			// success
+		}
+
+		assertEquals(2, policy.getRegressionCount());
+		assertEquals(1, policy.getBorrowCount());
+		assertEquals(1, policy.getFailureCount());
+	}
+
+	@Test
+	public void testSpin() {
+		long[] times = { TIME, TIME, TIME, TIME + 1 };
+		AtomicInteger i = new AtomicInteger();
+		LongSupplier timeFunction = () -> times[Math.min(i.getAndIncrement(), times.length - 1)];
+
+		MonotonicPolicy policy = MonotonicPolicy.spin(1000);
+		UlidFactory factory = UlidFactory.newMonotonicInstance(OVERFLOW_RANDOM, timeFunction, policy);
+
+		Ulid ulid1 = factory.create();
+		Ulid ulid2 = factory.create();
+
+		// waited for the next millisecond and took new random bits
+		assertEquals(TIME, ulid1.getTime());
+		assertEquals(TIME + 1, ulid2.getTime());
+		assertEquals(0xffffL, ulid2.getMostSignificantBits() & 0xffffL);
+		assertEquals(1, policy.getOverflowCount());
+		assertEquals(1, policy.getWaitCount());
+	}
+
+	@Test
+	public void testParkAfterRegression() {
+		long[] times = { TIME, TIME - DIFF, TIME - DIFF, TIME };
+		AtomicInteger i = new AtomicInteger();
+		LongSupplier timeFunction = () -> times[Math.min(i.getAndIncrement(), times.length - 1)];
+
+		MonotonicPolicy policy = MonotonicPolicy.park(1000);
+		UlidFactory factory = UlidFactory.newMonotonicInstance(new Random(), timeFunction, policy);
+
+		Ulid ulid1 = factory.create();
+		Ulid ulid2 = factory.create();
+
+		// waited for the clock to get back into the tolerance
+		assertEquals(ulid1.increment(), ulid2);
+		assertEquals(1, policy.getRegressionCount());
+		assertEquals(1, policy.getWaitCount());
+	}
+
+	@Test
+	public void testParkTimeout() {
+		MonotonicPolicy policy = MonotonicPolicy.park(5);
+		UlidFactory factory = UlidFactory.newMonotonicInstance(OVERFLOW_RANDOM, () -> TIME, policy);
+
+		factory.create();
+		try {
+			factory.create();
+			fail("Should throw an exception");
+		} catch (IllegalStateException e) {
+			// success
+		}
+
+		assertEquals(1, policy.getWaitCount());
+		assertEquals(1, policy.getFailureCount());
+	}
+
+	@Test
+	public void testInvalidLimit() {
+		try {
+			MonotonicPolicy.spin(-1);
+			fail("Should throw an exception");
+		} catch (IllegalArgumentException e) {
+			// success
+		}
+		try {
+			MonotonicPolicy.park(-1);
+			fail("Should throw an exception");
+		} catch (IllegalArgumentException e) {
+			// success
+		}
+		try {
+			MonotonicPolicy.borrow(-1);
+			fail("Should throw an exception");
+		} catch (IllegalArgumentException e) {
+			// success
+		}
+	}
+}
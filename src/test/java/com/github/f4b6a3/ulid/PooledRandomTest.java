@@ -0,0 +1,91 @@
+package com.github.f4b6a3.ulid;
+
+import static org.junit.Assert.*;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+public class PooledRandomTest extends UlidFactoryTest {
+
+	@Test
+	public void testCreate() {
+		UlidFactory[] factories = { UlidFactory.newInstance(new PooledRandom()),
+				UlidFactory.newMonotonicInstance(new PooledRandom()),
+				UlidFactory.newLockFreeMonotonicInstance(new PooledRandom()) };
+		for (UlidFactory factory : factories) {
+
+			Ulid[] list = new Ulid[DEFAULT_LOOP_MAX];
+
+			long startTime = System.currentTimeMillis();
+			for (int i = 0; i < DEFAULT_LOOP_MAX; i++) {
+				list[i] = factory.create();
+			}
+			long endTime = System.currentTimeMillis();
+
+			checkNullOrInvalid(list);
+			checkUniqueness(list);
+			checkCreationTime(list, startTime, endTime);
+		}
+	}
+
+	@Test
+	public void testCreateTakesOnly80Bits() throws NoSuchAlgorithmException {
+
+		final int blockSize = 64;
+		byte[] expected = new byte[blockSize];
+		seeded().nextBytes(expected);
+
+		UlidFactory factory = UlidFactory.newInstance(new PooledRandom(seeded(), blockSize));
+		long time = RANDOM.nextLong() & TIME_MASK;
+
+		// 6 ULIDs of 10 bytes fit in a block of 64 bytes
+		for (int i = 0; i < 6; i++) {
+			byte[] random = Arrays.copyOfRange(expected, i * Ulid.RANDOM_BYTES, (i + 1) * Ulid.RANDOM_BYTES);
+			assertEquals(new Ulid(time, random), factory.create(time));
+		}
+	}
+
+	@Test
+	public void testNextBytes() throws NoSuchAlgorithmException {
+
+		final int blockSize = 16;
+		byte[] expected = new byte[blockSize * 4];
+		seeded().nextBytes(expected);
+
+		// reads across many blocks
+		PooledRandom random = new PooledRandom(seeded(), blockSize);
+		byte[] bytes1 = new byte[5];
+		byte[] bytes2 = new byte[blockSize * 3 - 5];
+		random.nextBytes(bytes1);
+		random.nextBytes(bytes2);
+
+		assertArrayEquals(Arrays.copyOfRange(expected, 0, 5), bytes1);
+		assertArrayEquals(Arrays.copyOfRange(expected, 5, blockSize * 3), bytes2);
+	}
+
+	@Test
+	public void testInvalidBlockSize() {
+		try {
+			new PooledRandom(PooledRandom.MIN_BLOCK_SIZE - 1);
+			fail("Should throw an exception");
+		} catch (IllegalArgumentException e) {
+			// success
+		}
+		try {
+			new PooledRandom(PooledRandom.MAX_BLOCK_SIZE + 1);
+			fail("Should throw an exception");
+		} catch (IllegalArgumentException e) {
+			// success
+		}
+	}
+
+	private static SecureRandom seeded() throws NoSuchAlgorithmException {
+		// a deterministic secure random generator
+		SecureRandom random = SecureRandom.getInstance("SHA1PRNG");
+		random.setSeed(42L);
+		return random;
+	}
+}
@@ -0,0 +1,265 @@
+package com.github.f4b6a3.ulid;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.Test;
+
+public class SortedUlidFileTest extends UlidFactoryTest {
+
+	private static final long TIME = 1_700_000_000_000L;
+
+	@Test
+	public void testWrite() throws IOException {
+
+		Ulid[] ulids = ulids(DEFAULT_LOOP_MAX);
+		Ulid[] copy = ulids.clone();
+
+		// with duplicates
+		List<Ulid> list = new ArrayList<>(Arrays.asList(ulids));
+		list.addAll(Arrays.asList(ulids).subList(0, 100));
+
+		Path path = Files.createTempFile("ulids", ".bin");
+		try {
+			assertEquals(ulids.length, SortedUlidFile.write(path, list));
+			assertEquals(16L * ulids.length, Files.size(path));
+			assertArrayEquals(copy, ulids); // unchanged
+
+			Arrays.sort(ulids);
+			byte[] bytes = Files.readAllBytes(path);
+			for (int i = 0; i < ulids.length; i++) {
+				assertArrayEquals(ulids[i].toBytes(), Arrays.copyOfRange(bytes, 16 * i, 16 * i + 16));
+			}
+		} finally {
+			Files.delete(path);
+		}
+	}
+
+	@Test
+	public void testWriteLongs() throws IOException {
+
+		// many, so that the array is sorted in parallel
+		Ulid[] ulids = new Ulid[100_000];
+		for (int i = 0; i < ulids.length; i++) {
+			// with the sign bits set, so that the order is unsigned
+			ulids[i] = new Ulid(RANDOM.nextLong(), RANDOM.nextLong());
+		}
+		ulids[0] = Ulid.MIN;
+		ulids[1] = Ulid.MAX;
+
+		// with duplicates
+		long[] longs = new long[2 * ulids.length + 200];
+		for (int i = 0; i < longs.length / 2; i++) {
+			Ulid ulid = ulids[i % ulids.length];
+			longs[2 * i] = ulid.getMostSignificantBits();
+			longs[2 * i + 1] = ulid.getLeastSignificantBits();
+		}
+
+		Path path = Files.createTempFile("ulids", ".bin");
+		try {
+			assertEquals(ulids.length, SortedUlidFile.write(path, longs));
+
+			// sorted in place
+			Arrays.sort(ulids);
+			for (int i = 0, j = 0; i < longs.length / 2; i++) {
+				Ulid ulid = new Ulid(longs[2 * i], longs[2 * i + 1]);
+				if (!ulid.equals(ulids[j])) {
+					assertEquals(ulids[++j], ulid);
+				}
+			}
+
+			SortedUlidFile file = SortedUlidFile.open(path);
+			for (int i = 0; i < ulids.length; i++) {
+				assertEquals(ulids[i], file.get(i));
+			}
+
+			// small arrays are sorted without threads
+			long[] small = { -1L, 2L, 0L, 1L, -1L, 2L, 1L, 0L };
+			assertEquals(3, SortedUlidFile.write(path, small));
+			assertArrayEquals(new long[] { 0L, 1L, 1L, 0L, -1L, 2L, -1L, 2L }, small);
+		} finally {
+			Files.delete(path);
+		}
+
+		try {
+			SortedUlidFile.write(path, new long[3]);
+			fail("Should throw an exception");
+		} catch (IllegalArgumentException e) {
+			// success
+		}
+	}
+
+	@Test
+	public void testReplace() throws IOException {
+
+		Ulid[] ulids = ulids(DEFAULT_LOOP_MAX);
+		Arrays.sort(ulids);
+
+		Path directory = Files.createTempDirectory("ulids");
+		Path path = directory.resolve("ulids.bin");
+		try {
+			SortedUlidFile.write(path, ulids);
+			SortedUlidFile file = SortedUlidFile.open(path);
+
+			// the old file stays mapped while the new one replaces it
+			assertEquals(1, SortedUlidFile.write(path, new Ulid[] { Ulid.MAX }));
+			for (int i = 0; i < ulids.length; i++) {
+				assertEquals(ulids[i], file.get(i));
+			}
+			assertEquals(Ulid.MAX, SortedUlidFile.open(path).get(0));
+
+			// without temporary files left behind
+			try (Stream<Path> files = Files.list(directory)) {
+				assertEquals(Arrays.asList(path), files.collect(Collectors.toList()));
+			}
+		} finally {
+			Files.delete(path);
+			Files.delete(directory);
+		}
+	}
+
+	@Test
+	public void testSearch() throws IOException {
+
+		Ulid[] ulids = ulids(DEFAULT_LOOP_MAX);
+		Arrays.sort(ulids);
+
+		Path path = Files.createTempFile("ulids", ".bin");
+		try {
+			SortedUlidFile.write(path, ulids);
+
+			// the small segments split the records among many buffers
+			for (SortedUlidFile file : new SortedUlidFile[] { SortedUlidFile.open(path),
+					SortedUlidFile.open(path, 6) }) {
+
+				assertEquals(ulids.length, file.size());
+				for (int i = 0; i < ulids.length; i++) {
+					assertEquals(ulids[i], file.get(i));
+					assertEquals(i, file.indexOf(ulids[i]));
+					assertTrue(file.contains(ulids[i]));
+
+					Ulid absent = ulids[i].increment();
+					assertEquals(Arrays.binarySearch(ulids, absent), file.indexOf(absent));
+				}
+
+				assertFalse(file.contains(Ulid.MIN));
+				assertFalse(file.contains(Ulid.MAX));
+				assertEquals(-1, file.indexOf(Ulid.MIN));
+				assertEquals(-ulids.length - 1, file.indexOf(Ulid.MAX));
+			}
+		} finally {
+			Files.delete(path);
+		}
+	}
+
+	@Test
+	public void testRange() throws IOException {
+
+		Ulid[] ulids = ulids(DEFAULT_LOOP_MAX);
+		Arrays.sort(ulids);
+
+		Path path = Files.createTempFile("ulids", ".bin");
+		try {
+			SortedUlidFile.write(path, ulids);
+			SortedUlidFile file = SortedUlidFile.open(path, 7);
+
+			for (int i = 0; i < 100; i++) {
+				long fromTime = TIME + RANDOM.nextInt(120);
+				long toTime = fromTime + RANDOM.nextInt(20);
+
+				List<Ulid> expected = new ArrayList<>();
+				for (Ulid ulid : ulids) {
+					if (ulid.getTime() >= fromTime && ulid.getTime() <= toTime) {
+						expected.add(ulid);
+					}
+				}
+
+				assertEquals(expected.size(), file.count(fromTime, toTime));
+
+				List<Ulid> actual = new ArrayList<>();
+				assertEquals(expected.size(), file.forEach(fromTime, toTime, (msb, lsb) -> actual.add(new Ulid(msb, lsb))));
+				assertEquals(expected, actual);
+
+				assertEquals(expected, file.stream(fromTime, toTime).collect(Collectors.toList()));
+				assertEquals(expected, file.stream(fromTime, toTime).parallel().collect(Collectors.toList()));
+			}
+
+			assertEquals(ulids.length, file.count(0, (1L << 48) - 1));
+			assertEquals(0, file.count(TIME + 1, TIME));
+		} finally {
+			Files.delete(path);
+		}
+	}
+
+	@Test
+	public void testEmpty() throws IOException {
+		Path path = Files.createTempFile("ulids", ".bin");
+		try {
+			assertEquals(0, SortedUlidFile.write(path, new Ulid[0]));
+			SortedUlidFile file = SortedUlidFile.open(path);
+			assertEquals(0, file.size());
+			assertEquals(-1, file.indexOf(Ulid.MIN));
+			assertEquals(0, file.count(0, TIME));
+		} finally {
+			Files.delete(path);
+		}
+	}
+
+	@Test
+	public void testInvalid() throws IOException {
+
+		Path path = Files.createTempFile("ulids", ".bin");
+		try {
+			Files.write(path, new byte[17]);
+			try {
+				SortedUlidFile.open(path);
+				fail("Should throw an exception");
+			} catch (IllegalArgumentException e) {
+				// success
+			}
+
+			SortedUlidFile.write(path, ulids(10));
+			SortedUlidFile file = SortedUlidFile.open(path);
+
+			try {
+				file.get(10);
+				fail("Should throw an exception");
+			} catch (IndexOutOfBoundsException e) {
+				// success
+			}
+
+			try {
+				file.count(-1, TIME);
+				fail("Should throw an exception");
+			} catch (IllegalArgumentException e) {
+				// success
+			}
+
+			try {
+				file.count(0, 1L << 48);
+				fail("Should throw an exception");
+			} catch (IllegalArgumentException e) {
+				// success
+			}
+		} finally {
+			Files.delete(path);
+		}
+	}
+
+	// ULIDs within 120 milliseconds, so that time ranges have many of them
+	private static Ulid[] ulids(int count) {
+		Ulid[] ulids = new Ulid[count];
+		for (int i = 0; i < count; i++) {
+			ulids[i] = UlidCreator.getUlid(TIME + RANDOM.nextInt(120));
+		}
+		return ulids;
+	}
+}
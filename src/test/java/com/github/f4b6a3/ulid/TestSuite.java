@@ -6,8 +6,24 @@ import org.junit.runners.Suite;
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
 	UlidFactoryMonotonicTest.class,
+	UlidFactoryLockFreeMonotonicTest.class,
+	UlidFactoryStripedMonotonicTest.class,
 	UlidFactoryDefaultfTest.class,
 	UlidTest.class,
+	PooledRandomTest.class,
+	AesCtrRandomTest.class,
+	UlidFactoryPrefetchTest.class,
+	CachedClockTest.class,
+	MonotonicPolicyTest.class,
+	HashUlidFactoryTest.class,
+	HashUlidCacheTest.class,
+	Base32CodecTest.class,
+	BulkCodecTest.class,
+	UlidStringCacheTest.class,
+	Base62CodecTest.class,
+	Base64CodecTest.class,
+	UlidReaderTest.class,
+	SortedUlidFileTest.class,
 })
 
 /**
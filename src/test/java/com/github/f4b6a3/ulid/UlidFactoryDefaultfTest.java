@@ -8,9 +8,13 @@ import com.github.f4b6a3.ulid.UlidFactory;
 
 import static org.junit.Assert.*;
 
+import java.nio.BufferOverflowException;
 import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
 import java.security.SecureRandom;
+import java.time.Instant;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Random;
 import java.util.SplittableRandom;
 import java.util.concurrent.ThreadLocalRandom;
@@ -87,6 +91,179 @@ public class UlidFactoryDefaultfTest extends UlidFactoryTest {
 		}
 	}
 
+	@Test
+	public void testFill() {
+		UlidFactory[] factories = { UlidFactory.newInstance(), UlidFactory.newInstance(new Random()) };
+		for (UlidFactory factory : factories) {
+
+			Ulid[] list = new Ulid[DEFAULT_LOOP_MAX];
+
+			long startTime = System.currentTimeMillis();
+			factory.fill(list);
+			long endTime = System.currentTimeMillis();
+
+			checkNullOrInvalid(list);
+			checkUniqueness(list);
+			checkCreationTime(list, startTime, endTime);
+		}
+	}
+
+	@Test
+	public void testFillRange() {
+		UlidFactory factory = UlidFactory.newInstance();
+		long time = RANDOM.nextLong() & TIME_MASK;
+
+		Ulid[] list = new Ulid[10];
+		factory.fill(time, list, 2, 5);
+
+		for (int i = 0; i < list.length; i++) {
+			if (i >= 2 && i < 7) {
+				assertEquals(time, list[i].getTime());
+			} else {
+				assertNull(list[i]);
+			}
+		}
+
+		try {
+			factory.fill(time, list, 6, 5);
+			fail("Should throw an exception");
+		} catch (IndexOutOfBoundsException e) {
+			// success
+		}
+
+		try {
+			UlidFactory.newInstance(new SecureRandom()).fill(TIME_MASK + 1, list, 0, 1);
+			fail("Should throw an exception");
+		} catch (IllegalArgumentException e) {
+			// success
+		}
+	}
+
+	@Test
+	public void testFillWithRandomBytes() {
+
+		byte[] bytes = new byte[Ulid.RANDOM_BYTES * 100];
+		RANDOM.nextBytes(bytes);
+
+		IntFunction<byte[]> randomFunction = (length) -> Arrays.copyOf(bytes, length);
+		UlidFactory factory = UlidFactory.newInstance(randomFunction);
+		long time = RANDOM.nextLong() & TIME_MASK;
+
+		Ulid[] list = new Ulid[100];
+		factory.fill(time, list, 0, list.length);
+
+		for (int i = 0; i < list.length; i++) {
+			byte[] random = Arrays.copyOfRange(bytes, i * Ulid.RANDOM_BYTES, (i + 1) * Ulid.RANDOM_BYTES);
+			assertEquals(new Ulid(time, random), list[i]);
+		}
+	}
+
+	@Test
+	public void testFillInChunks() {
+
+		// a generator of sequential bytes, to check that no byte is lost or reused
+		final byte[] sequence = new byte[Ulid.RANDOM_BYTES * 300];
+		RANDOM.nextBytes(sequence);
+		class SequentialRandom extends SecureRandom {
+			private static final long serialVersionUID = 1L;
+			private int index;
+
+			@Override
+			public void nextBytes(byte[] bytes) {
+				for (int i = 0; i < bytes.length; i++) {
+					bytes[i] = sequence[index++];
+				}
+			}
+		}
+
+		long time = RANDOM.nextLong() & TIME_MASK;
+
+		// 150 ULIDs are drawn in chunks of 64, 64, 16, 4 and 2 ULIDs
+		Ulid[] list = new Ulid[150];
+		long[] longs = new long[list.length * 2];
+		UlidFactory factory = UlidFactory.newInstance(new SequentialRandom());
+		factory.fill(time, list, 0, list.length);
+		factory.fill(time, longs, 0, longs.length);
+
+		for (int i = 0; i < list.length; i++) {
+			byte[] random = Arrays.copyOfRange(sequence, i * Ulid.RANDOM_BYTES, (i + 1) * Ulid.RANDOM_BYTES);
+			assertEquals(new Ulid(time, random), list[i]);
+			int j = i + list.length;
+			random = Arrays.copyOfRange(sequence, j * Ulid.RANDOM_BYTES, (j + 1) * Ulid.RANDOM_BYTES);
+			assertEquals(new Ulid(time, random), new Ulid(longs[i * 2], longs[i * 2 + 1]));
+		}
+	}
+
+	@Test
+	public void testFillLongs() {
+		UlidFactory[] factories = { UlidFactory.newInstance(), UlidFactory.newInstance(new Random()) };
+		for (UlidFactory factory : factories) {
+
+			long[] longs = new long[DEFAULT_LOOP_MAX * 2];
+
+			long startTime = System.currentTimeMillis();
+			factory.fill(longs);
+			long endTime = System.currentTimeMillis();
+
+			Ulid[] list = new Ulid[DEFAULT_LOOP_MAX];
+			for (int i = 0; i < list.length; i++) {
+				list[i] = new Ulid(longs[i * 2], longs[i * 2 + 1]);
+			}
+
+			checkUniqueness(list);
+			checkCreationTime(list, startTime, endTime);
+		}
+
+		try {
+			UlidFactory.newInstance().fill(new long[3]);
+			fail("Should throw an exception");
+		} catch (IllegalArgumentException e) {
+			// success
+		}
+	}
+
+	@Test
+	public void testFillLongBuffer() {
+		UlidFactory factory = UlidFactory.newInstance();
+		LongBuffer[] buffers = { LongBuffer.allocate(1000),
+				ByteBuffer.allocateDirect(1000 * Long.BYTES).asLongBuffer() };
+		for (LongBuffer buffer : buffers) {
+
+			buffer.position(2);
+			factory.fill(buffer, 400);
+			assertEquals(802, buffer.position());
+
+			Ulid[] list = new Ulid[400];
+			for (int i = 0; i < list.length; i++) {
+				list[i] = new Ulid(buffer.get(2 + i * 2), buffer.get(2 + i * 2 + 1));
+			}
+			checkUniqueness(list);
+
+			assertEquals(0L, buffer.get(0));
+			assertEquals(0L, buffer.get(802));
+
+			// the doubled counts overflow an int
+			for (int count : new int[] { 100, 1 << 30, Integer.MAX_VALUE }) {
+				try {
+					factory.fill(buffer, count);
+					fail("Should throw an exception");
+				} catch (BufferOverflowException e) {
+					// success
+				}
+				assertEquals(802, buffer.position());
+			}
+		}
+	}
+
+	@Test
+	public void testCreateList() {
+		UlidFactory factory = UlidFactory.newInstance();
+		List<Ulid> list = factory.createList(DEFAULT_LOOP_MAX);
+		assertEquals(DEFAULT_LOOP_MAX, list.size());
+		checkUniqueness(list.toArray(new Ulid[0]));
+		assertEquals(0, factory.createList(0).size());
+	}
+
 	@Test
 	public void testWithRandomNull() {
 		UlidFactory factory = UlidFactory.newInstance((Random) null);
@@ -112,6 +289,28 @@ public class UlidFactoryDefaultfTest extends UlidFactoryTest {
 		}
 	}
 
+	@Test
+	public void testWithTimeFunction() {
+
+		final long time = Instant.parse("2021-12-31T23:59:59.000Z").toEpochMilli();
+		LongSupplier timeFunction = () -> time;
+
+		UlidFactory[] factories = { UlidFactory.newInstance(new Random(), timeFunction),
+				UlidFactory.newInstance(() -> RANDOM.nextLong(), timeFunction),
+				UlidFactory.newInstance((IntFunction<byte[]>) null, timeFunction),
+				UlidFactory.newInstance(new Random(), CachedClock.getInstance()) };
+
+		for (int i = 0; i < 3; i++) {
+			assertEquals(time, factories[i].create().getTime());
+		}
+
+		long before = System.currentTimeMillis();
+		long ulidTime = factories[3].create().getTime();
+		long after = System.currentTimeMillis();
+		assertTrue(ulidTime <= after);
+		assertTrue(ulidTime >= before - 1000); // the cached time lags a bit
+	}
+
 	@Test
 	public void testWithRandomFunctionNull() {
 		{
@@ -0,0 +1,203 @@
+package com.github.f4b6a3.ulid;
+
+import static org.junit.Assert.*;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import java.util.function.LongSupplier;
+
+import org.junit.Test;
+
+public class UlidFactoryLockFreeMonotonicTest extends UlidFactoryTest {
+
+	@Test
+	public void testCreate() {
+		Ulid[] list = new Ulid[DEFAULT_LOOP_MAX];
+		UlidFactory factory = UlidFactory.newLockFreeMonotonicInstance();
+
+		long startTime = System.currentTimeMillis();
+
+		for (int i = 0; i < DEFAULT_LOOP_MAX; i++) {
+			list[i] = factory.create();
+		}
+
+		long endTime = System.currentTimeMillis();
+
+		checkNullOrInvalid(list);
+		checkUniqueness(list);
+		checkOrdering(list);
+		checkCreationTime(list, startTime, endTime);
+	}
+
+	@Test
+	public void testFill() {
+		checkMonotonicFill(UlidFactory.newLockFreeMonotonicInstance(),
+				UlidFactory.newLockFreeMonotonicInstance(new Random()));
+	}
+
+	@Test
+	public void testFillLongs() {
+		checkMonotonicFillLongs(UlidFactory.newLockFreeMonotonicInstance());
+	}
+
+	@Test
+	public void testCreateSameSequenceAsMonotonicFactory() {
+
+		long time = Instant.parse("2021-12-31T23:59:59.000Z").toEpochMilli();
+		long times[] = { time, time, time + 1, time + 1, time + 1, time - 1, time + 2 };
+
+		AtomicInteger i = new AtomicInteger();
+		AtomicInteger j = new AtomicInteger();
+		LongSupplier timeFunction1 = () -> times[i.getAndIncrement() % times.length];
+		LongSupplier timeFunction2 = () -> times[j.getAndIncrement() % times.length];
+
+		UlidFactory factory1 = UlidFactory.newMonotonicInstance(new Random(42), timeFunction1);
+		UlidFactory factory2 = UlidFactory.newLockFreeMonotonicInstance(new Random(42), timeFunction2);
+
+		for (int k = 0; k < times.length; k++) {
+			assertEquals(factory1.create(), factory2.create());
+		}
+	}
+
+	@Test
+	public void testCreateAfterClockDrift() {
+
+		long diff = UlidFactory.LockFreeMonotonicFunction.CLOCK_DRIFT_TOLERANCE;
+		long time = Instant.parse("2021-12-31T23:59:59.000Z").toEpochMilli();
+		long times[] = { time + 0, time + 1, time + 2, time + 3, time + 4 - diff, time + 5 - diff, time + 6 - diff };
+
+		AtomicInteger i = new AtomicInteger();
+		LongSupplier timeFunction = () -> times[i.getAndIncrement() % times.length];
+
+		LongSupplier randomFunction = () -> 0;
+		UlidFactory factory = UlidFactory.newLockFreeMonotonicInstance(randomFunction, timeFunction);
+
+		long[] expectedTimes = { time + 0, time + 1, time + 2, time + 3, time + 3, time + 3, time + 3 };
+		long[] expectedRandoms = { 0, 0, 0, 0, 1, 2, 3 };
+
+		for (int k = 0; k < times.length; k++) {
+			Ulid ulid = factory.create();
+			assertEquals(expectedTimes[k], ulid.getTime());
+			assertEquals(expectedRandoms[k], ulid.getLeastSignificantBits());
+		}
+	}
+
+	@Test
+	public void testCreateAfterRandomBitsOverflowFollowedByTimeBitsIncrement() {
+
+		long time = Instant.parse("2021-12-31T23:59:59.999Z").toEpochMilli();
+		long times[] = { time + 1, time + 2, time + 3, time, time, time };
+
+		AtomicInteger i = new AtomicInteger();
+		LongSupplier timeFunction = () -> times[i.getAndIncrement() % times.length];
+
+		LongSupplier randomSupplier = () -> 0xffffffffffffffffL;
+		UlidFactory factory = UlidFactory.newLockFreeMonotonicInstance(randomSupplier, timeFunction);
+
+		Ulid ulid1 = factory.create();
+		Ulid ulid2 = factory.create();
+		Ulid ulid3 = factory.create();
+		Ulid ulid4 = factory.create();
+		Ulid ulid5 = factory.create();
+		Ulid ulid6 = factory.create();
+
+		assertEquals(time + 1, ulid1.getTime());
+		assertEquals(time + 2, ulid2.getTime());
+		assertEquals(time + 3, ulid3.getTime());
+		assertEquals(time + 4, ulid4.getTime());
+		assertEquals(time + 4, ulid5.getTime());
+		assertEquals(time + 4, ulid6.getTime());
+
+		assertEquals(0xffffffffffffffffL, ulid3.getLeastSignificantBits());
+		assertEquals(0x0000000000000000L, ulid4.getLeastSignificantBits());
+		assertEquals(0x0000000000000001L, ulid5.getLeastSignificantBits());
+		assertEquals(0x0000000000000002L, ulid6.getLeastSignificantBits());
+	}
+
+	@Test
+	public void testCreateInParallel() throws InterruptedException {
+
+		Thread[] threads = new Thread[THREAD_TOTAL];
+		Ulid[][] lists = new Ulid[THREAD_TOTAL][DEFAULT_LOOP_MAX];
+		UlidFactory factory = UlidFactory.newLockFreeMonotonicInstance();
+
+		// All the threads share the same factory
+		for (int i = 0; i < THREAD_TOTAL; i++) {
+			final Ulid[] list = lists[i];
+			threads[i] = new Thread(() -> {
+				for (int j = 0; j < DEFAULT_LOOP_MAX; j++) {
+					list[j] = factory.create();
+				}
+			});
+			threads[i].start();
+		}
+
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		Ulid[] all = new Ulid[THREAD_TOTAL * DEFAULT_LOOP_MAX];
+		for (int i = 0; i < THREAD_TOTAL; i++) {
+			checkOrdering(lists[i]);
+			System.arraycopy(lists[i], 0, all, i * DEFAULT_LOOP_MAX, DEFAULT_LOOP_MAX);
+		}
+		checkUniqueness(all);
+	}
+
+	@Test
+	public void testRandomDrawnOncePerMillisecond() {
+
+		final byte[] bytes = { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10 };
+		final AtomicInteger draws = new AtomicInteger();
+		final long[] time = { 1_700_000_000_000L };
+
+		UlidFactory factory = UlidFactory.newLockFreeMonotonicInstance((IntFunction<byte[]>) length -> {
+			draws.incrementAndGet();
+			return bytes.clone();
+		}, () -> time[0]);
+		int initial = draws.get();
+
+		for (int i = 0; i < 10; i++) {
+			time[0]++;
+			Ulid first = factory.create();
+			assertEquals(new Ulid(time[0], bytes), first); // packed as Ulid(long, byte[]) does
+			for (int j = 0; j < 100; j++) {
+				assertEquals(first.increment(), first = factory.create());
+			}
+		}
+
+		assertEquals(10, draws.get() - initial);
+	}
+
+	@Test
+	public void testWithRandomFunction() {
+		{
+			UlidFactory factory = UlidFactory.newLockFreeMonotonicInstance(new Random());
+			assertNotNull(factory.create());
+		}
+		{
+			UlidFactory factory = UlidFactory.newLockFreeMonotonicInstance((Random) null);
+			assertNotNull(factory.create());
+		}
+		{
+			UlidFactory factory = UlidFactory.newLockFreeMonotonicInstance((LongSupplier) null);
+			assertNotNull(factory.create());
+		}
+		{
+			UlidFactory factory = UlidFactory.newLockFreeMonotonicInstance((IntFunction<byte[]>) null);
+			assertNotNull(factory.create());
+		}
+	}
+
+	private void checkOrdering(Ulid[] list) {
+		Ulid[] other = Arrays.copyOf(list, list.length);
+		Arrays.sort(other);
+
+		for (int i = 0; i < list.length; i++) {
+			assertEquals("The ULID list is not ordered", list[i], other[i]);
+		}
+	}
+}
@@ -38,6 +38,64 @@ public class UlidFactoryMonotonicTest extends UlidFactoryTest {
 		checkCreationTime(list, startTime, endTime);
 	}
 
+	@Test
+	public void testGetThreadLocalMonotonicUlid() {
+		Ulid[] list = new Ulid[DEFAULT_LOOP_MAX];
+
+		long startTime = System.currentTimeMillis();
+
+		for (int i = 0; i < DEFAULT_LOOP_MAX; i++) {
+			list[i] = UlidCreator.getThreadLocalMonotonicUlid();
+		}
+
+		long endTime = System.currentTimeMillis();
+
+		checkNullOrInvalid(list);
+		checkUniqueness(list);
+		checkOrdering(list);
+		checkCreationTime(list, startTime, endTime);
+	}
+
+	@Test
+	public void testGetThreadLocalMonotonicUlidInParallel() throws InterruptedException {
+
+		Thread[] threads = new Thread[THREAD_TOTAL];
+		Ulid[][] lists = new Ulid[THREAD_TOTAL][DEFAULT_LOOP_MAX];
+		final long time = System.currentTimeMillis(); // fixed timestamp
+
+		for (int i = 0; i < THREAD_TOTAL; i++) {
+			final Ulid[] list = lists[i];
+			threads[i] = new Thread(() -> {
+				for (int j = 0; j < DEFAULT_LOOP_MAX; j++) {
+					list[j] = UlidCreator.getThreadLocalMonotonicUlid(time);
+				}
+			});
+			threads[i].start();
+		}
+
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		Ulid[] all = new Ulid[THREAD_TOTAL * DEFAULT_LOOP_MAX];
+		for (int i = 0; i < THREAD_TOTAL; i++) {
+			checkOrdering(lists[i]);
+			System.arraycopy(lists[i], 0, all, i * DEFAULT_LOOP_MAX, DEFAULT_LOOP_MAX);
+		}
+		checkUniqueness(all);
+	}
+
+	@Test
+	public void testFill() {
+		checkMonotonicFill(UlidFactory.newMonotonicInstance(),
+				UlidFactory.newMonotonicInstance(new Random()));
+	}
+
+	@Test
+	public void testFillLongs() {
+		checkMonotonicFillLongs(UlidFactory.newMonotonicInstance());
+	}
+
 	@Test
 	public void testGetMonotonicUlidAfterClockDrift() {
 
@@ -0,0 +1,229 @@
+package com.github.f4b6a3.ulid;
+
+import static org.junit.Assert.*;
+
+import java.time.Instant;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+public class UlidFactoryPrefetchTest extends UlidFactoryTest {
+
+	private static final long MAX_AGE = 10;
+
+	@Test
+	public void testCreate() {
+		Ulid[] list = new Ulid[DEFAULT_LOOP_MAX];
+		UlidFactory factory = UlidFactory.newPrefetchInstance(256, MAX_AGE);
+
+		long startTime = System.currentTimeMillis();
+
+		for (int i = 0; i < DEFAULT_LOOP_MAX; i++) {
+			list[i] = factory.create();
+		}
+
+		long endTime = System.currentTimeMillis();
+
+		checkNullOrInvalid(list);
+		checkUniqueness(list);
+		// prefetched ULIDs can be a bit older than the start time
+		checkCreationTime(list, startTime - MAX_AGE, endTime);
+	}
+
+	@Test
+	public void testCreateFromRing() throws InterruptedException {
+
+		final long time = Instant.parse("2021-12-31T23:59:59.000Z").toEpochMilli();
+		AtomicLong clock = new AtomicLong(time);
+		UlidFactory factory = UlidFactory.newPrefetchInstance(16, MAX_AGE, new Random(), clock::get);
+
+		// prefetched ULIDs carry the time of the producer
+		Ulid ulid = awaitPrefetched(factory, clock, time);
+		assertEquals(time, ulid.getTime());
+
+		// entries from the future are not consumed
+		clock.set(time - 1);
+		assertEquals(time - 1, factory.create().getTime());
+
+		// stale entries are discarded
+		clock.set(time + MAX_AGE + 1);
+		assertEquals(time + MAX_AGE + 1, factory.create().getTime());
+	}
+
+	@Test
+	public void testCreateWhenDrained() throws InterruptedException {
+
+		final long time = Instant.parse("2021-12-31T23:59:59.000Z").toEpochMilli();
+		AtomicLong clock = new AtomicLong(time);
+		UlidFactory factory = UlidFactory.newPrefetchInstance(4, MAX_AGE, new Random(), clock::get);
+
+		awaitPrefetched(factory, clock, time);
+
+		// many more ULIDs than the capacity
+		Ulid[] list = new Ulid[DEFAULT_LOOP_MAX];
+		for (int i = 0; i < DEFAULT_LOOP_MAX; i++) {
+			list[i] = factory.create();
+		}
+
+		checkNullOrInvalid(list);
+		checkUniqueness(list);
+		for (Ulid ulid : list) {
+			assertEquals(time, ulid.getTime());
+		}
+	}
+
+	@Test
+	public void testCreateInParallel() throws InterruptedException {
+
+		Thread[] threads = new Thread[THREAD_TOTAL];
+		Ulid[][] lists = new Ulid[THREAD_TOTAL][DEFAULT_LOOP_MAX];
+		UlidFactory factory = UlidFactory.newPrefetchInstance();
+
+		// All the threads share the same factory
+		for (int i = 0; i < THREAD_TOTAL; i++) {
+			final Ulid[] list = lists[i];
+			threads[i] = new Thread(() -> {
+				for (int j = 0; j < DEFAULT_LOOP_MAX; j++) {
+					list[j] = factory.create();
+				}
+			});
+			threads[i].start();
+		}
+
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		Ulid[] all = new Ulid[THREAD_TOTAL * DEFAULT_LOOP_MAX];
+		for (int i = 0; i < THREAD_TOTAL; i++) {
+			System.arraycopy(lists[i], 0, all, i * DEFAULT_LOOP_MAX, DEFAULT_LOOP_MAX);
+		}
+		checkNullOrInvalid(all);
+		checkUniqueness(all);
+	}
+
+	@Test
+	public void testFill() {
+		UlidFactory factory = UlidFactory.newPrefetchInstance(64, MAX_AGE);
+
+		Ulid[] list = new Ulid[DEFAULT_LOOP_MAX];
+
+		long startTime = System.currentTimeMillis();
+		factory.fill(list);
+		long endTime = System.currentTimeMillis();
+
+		checkNullOrInvalid(list);
+		checkUniqueness(list);
+		checkCreationTime(list, startTime - MAX_AGE, endTime);
+	}
+
+	@Test
+	public void testExplicitTime() throws InterruptedException {
+
+		final long time = Instant.parse("2021-12-31T23:59:59.000Z").toEpochMilli();
+		AtomicLong clock = new AtomicLong(time);
+		UlidFactory factory = UlidFactory.newPrefetchInstance(16, MAX_AGE, new Random(), clock::get);
+		awaitPrefetched(factory, clock, time);
+
+		// the ring is bypassed, even when it has entries of the given time
+		final long other = time - 1000;
+		assertEquals(other, factory.create(other).getTime());
+		assertEquals(time, factory.create(time).getTime());
+
+		Ulid[] ulids = new Ulid[20];
+		factory.fill(other, ulids, 0, ulids.length);
+		checkNullOrInvalid(ulids);
+		checkUniqueness(ulids);
+		for (Ulid ulid : ulids) {
+			assertEquals(other, ulid.getTime());
+		}
+
+		long[] longs = new long[4];
+		factory.fill(other, longs, 0, longs.length);
+		assertEquals(other, new Ulid(longs[0], longs[1]).getTime());
+		assertEquals(other, new Ulid(longs[2], longs[3]).getTime());
+	}
+
+	@Test
+	public void testProducerFailure() throws InterruptedException {
+
+		final IllegalStateException cause = new IllegalStateException("broken generator");
+		final AtomicBoolean broken = new AtomicBoolean(true);
+		Random random = new Random() {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			public long nextLong() {
+				if (broken.get() && Thread.currentThread().getName().equals("ulid-prefetch")) {
+					throw cause;
+				}
+				return super.nextLong();
+			}
+		};
+
+		final long time = Instant.parse("2021-12-31T23:59:59.000Z").toEpochMilli();
+		AtomicLong clock = new AtomicLong(time);
+		UlidFactory.PrefetchFunction function = new UlidFactory.PrefetchFunction(16, MAX_AGE, random);
+		function.initialize(clock::get);
+
+		// the synchronous fallback keeps working while the producer fails
+		for (int i = 0; i < 1000 && function.failure() == null; i++) {
+			assertEquals(time, function.apply(time).getTime());
+			Thread.sleep(1);
+		}
+		assertSame(cause, function.failure());
+		assertEquals(time, function.apply(time).getTime());
+
+		// the producer tries again and refills the ring
+		broken.set(false);
+		for (int i = 0; i < 1000 && function.available() == 0; i++) {
+			Thread.sleep(1);
+		}
+		assertEquals(function.capacity(), function.available());
+	}
+
+	@Test
+	public void testCapacity() {
+		assertEquals(1, new UlidFactory.PrefetchFunction(1, MAX_AGE, null).capacity());
+		assertEquals(1024, new UlidFactory.PrefetchFunction(1000, MAX_AGE, null).capacity());
+		assertEquals(1024, new UlidFactory.PrefetchFunction(1024, MAX_AGE, null).capacity());
+	}
+
+	@Test
+	public void testInvalidArguments() {
+		int[] capacities = { -1, 0, UlidFactory.PrefetchFunction.MAX_CAPACITY + 1 };
+		for (int capacity : capacities) {
+			try {
+				UlidFactory.newPrefetchInstance(capacity, MAX_AGE);
+				fail("Should throw an exception");
+			} catch (IllegalArgumentException e) {
+				// success
+			}
+		}
+
+		try {
+			UlidFactory.newPrefetchInstance(16, 0);
+			fail("Should throw an exception");
+		} catch (IllegalArgumentException e) {
+			// success
+		}
+	}
+
+	private static Ulid awaitPrefetched(UlidFactory factory, AtomicLong clock, long time)
+			throws InterruptedException {
+		// wait for the producer to fill the ring
+		for (int i = 0; i < 1000; i++) {
+			clock.set(time + 1);
+			Ulid ulid = factory.create();
+			clock.set(time);
+			if (ulid.getTime() == time) {
+				return ulid;
+			}
+			Thread.sleep(1);
+		}
+		fail("The ring was never filled");
+		return null;
+	}
+}
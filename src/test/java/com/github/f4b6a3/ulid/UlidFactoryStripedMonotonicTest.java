@@ -0,0 +1,146 @@
+package com.github.f4b6a3.ulid;
+
+import static org.junit.Assert.*;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+import org.junit.Test;
+
+public class UlidFactoryStripedMonotonicTest extends UlidFactoryTest {
+
+	@Test
+	public void testCreate() {
+		Ulid[] list = new Ulid[DEFAULT_LOOP_MAX];
+		UlidFactory factory = UlidFactory.newStripedMonotonicInstance();
+
+		long startTime = System.currentTimeMillis();
+
+		for (int i = 0; i < DEFAULT_LOOP_MAX; i++) {
+			list[i] = factory.create();
+		}
+
+		long endTime = System.currentTimeMillis();
+
+		checkNullOrInvalid(list);
+		checkUniqueness(list);
+		checkOrdering(list);
+		checkCreationTime(list, startTime, endTime);
+	}
+
+	@Test
+	public void testFill() {
+		checkMonotonicFill(UlidFactory.newStripedMonotonicInstance(),
+				UlidFactory.newStripedMonotonicInstance(4, new Random()));
+	}
+
+	@Test
+	public void testFillLongs() {
+		checkMonotonicFillLongs(UlidFactory.newStripedMonotonicInstance());
+	}
+
+	@Test
+	public void testCreateInParallel() throws InterruptedException {
+
+		Thread[] threads = new Thread[THREAD_TOTAL];
+		Ulid[][] lists = new Ulid[THREAD_TOTAL][DEFAULT_LOOP_MAX];
+		UlidFactory factory = UlidFactory.newStripedMonotonicInstance(THREAD_TOTAL / 2);
+		final long time = System.currentTimeMillis(); // fixed timestamp
+
+		// All the threads share the same factory
+		for (int i = 0; i < THREAD_TOTAL; i++) {
+			final Ulid[] list = lists[i];
+			threads[i] = new Thread(() -> {
+				for (int j = 0; j < DEFAULT_LOOP_MAX; j++) {
+					list[j] = factory.create(time);
+				}
+			});
+			threads[i].start();
+		}
+
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		Ulid[] all = new Ulid[THREAD_TOTAL * DEFAULT_LOOP_MAX];
+		for (int i = 0; i < THREAD_TOTAL; i++) {
+			checkOrdering(lists[i]);
+			System.arraycopy(lists[i], 0, all, i * DEFAULT_LOOP_MAX, DEFAULT_LOOP_MAX);
+		}
+		checkUniqueness(all);
+	}
+
+	@Test
+	public void testCreateKeepsStripeIndex() {
+
+		int stripes = 16;
+		long time = Instant.parse("2021-12-31T23:59:59.999Z").toEpochMilli();
+		long times[] = { time, time, time, time };
+
+		AtomicInteger i = new AtomicInteger();
+		LongSupplier timeFunction = () -> times[i.getAndIncrement() % times.length];
+
+		// random component filled with ONEs to force an overflow
+		Random random = new Random() {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			public long nextLong() {
+				return 0xffffffffffffffffL;
+			}
+		};
+
+		UlidFactory factory = UlidFactory.newStripedMonotonicInstance(stripes, random, timeFunction);
+
+		Ulid ulid1 = factory.create();
+		Ulid ulid2 = factory.create();
+		Ulid ulid3 = factory.create();
+
+		// the first 4 bits of the random component are the stripe index
+		long stripe = (ulid1.getMostSignificantBits() & 0xf000L);
+		assertEquals(stripe, ulid2.getMostSignificantBits() & 0xf000L);
+		assertEquals(stripe, ulid3.getMostSignificantBits() & 0xf000L);
+
+		assertEquals(time, ulid1.getTime());
+		assertEquals(stripe | 0x0fffL, ulid1.getMostSignificantBits() & 0xffffL);
+		assertEquals(0xffffffffffffffffL, ulid1.getLeastSignificantBits());
+
+		// the overflow increments the time component
+		assertEquals(time + 1, ulid2.getTime());
+		assertEquals(stripe, ulid2.getMostSignificantBits() & 0xffffL);
+		assertEquals(0x0000000000000000L, ulid2.getLeastSignificantBits());
+
+		assertEquals(time + 1, ulid3.getTime());
+		assertEquals(0x0000000000000001L, ulid3.getLeastSignificantBits());
+	}
+
+	@Test
+	public void testInvalidStripes() {
+		try {
+			UlidFactory.newStripedMonotonicInstance(0);
+			fail("Should throw an exception");
+		} catch (IllegalArgumentException e) {
+			// success
+		}
+		try {
+			UlidFactory.newStripedMonotonicInstance(UlidFactory.StripedMonotonicFunction.MAX_STRIPES + 1);
+			fail("Should throw an exception");
+		} catch (IllegalArgumentException e) {
+			// success
+		}
+		assertEquals(8, new UlidFactory.StripedMonotonicFunction(5, null).stripes());
+		assertEquals(1, new UlidFactory.StripedMonotonicFunction(1, null).stripes());
+	}
+
+	private void checkOrdering(Ulid[] list) {
+		Ulid[] other = Arrays.copyOf(list, list.length);
+		Arrays.sort(other);
+
+		for (int i = 0; i < list.length; i++) {
+			assertEquals("The ULID list is not ordered", list[i], other[i]);
+		}
+	}
+}
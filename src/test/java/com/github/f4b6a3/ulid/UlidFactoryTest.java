@@ -61,6 +61,50 @@ public abstract class UlidFactoryTest {
 		}
 	}
 
+	protected void checkMonotonicFill(UlidFactory... factories) {
+		for (UlidFactory factory : factories) {
+
+			Ulid[] list = new Ulid[DEFAULT_LOOP_MAX];
+
+			long startTime = System.currentTimeMillis();
+			factory.fill(list);
+			long endTime = System.currentTimeMillis();
+
+			checkNullOrInvalid(list);
+			checkUniqueness(list);
+			checkCreationTime(list, startTime, endTime);
+
+			// a contiguous sequence, so also ordered
+			for (int i = 1; i < list.length; i++) {
+				assertEquals(list[i - 1].increment(), list[i]);
+				assertTrue(list[i - 1].compareTo(list[i]) < 0);
+			}
+
+			// the sequence goes on after the batch
+			Ulid last = list[list.length - 1];
+			assertEquals(last.increment(), factory.create(last.getTime()));
+		}
+	}
+
+	protected void checkMonotonicFillLongs(UlidFactory... factories) {
+		for (UlidFactory factory : factories) {
+
+			long[] longs = new long[DEFAULT_LOOP_MAX * 2];
+			factory.fill(longs);
+
+			// a contiguous sequence
+			Ulid first = new Ulid(longs[0], longs[1]);
+			for (int i = 1; i < DEFAULT_LOOP_MAX; i++) {
+				Ulid ulid = new Ulid(longs[i * 2], longs[i * 2 + 1]);
+				assertEquals(first.increment(), ulid);
+				first = ulid;
+			}
+
+			// the sequence goes on after the batch
+			assertEquals(first.increment(), factory.create(first.getTime()));
+		}
+	}
+
 	protected static class TestThread extends Thread {
 
 		public static Set<UUID> hashSet = new HashSet<>();
@@ -0,0 +1,190 @@
+package com.github.f4b6a3.ulid;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+public class UlidReaderTest extends UlidFactoryTest {
+
+	@Test
+	public void testForEach() throws IOException {
+
+		Ulid[] ulids = ulids(DEFAULT_LOOP_MAX);
+		byte[] text = text(ulids);
+
+		// the buffer sizes split the lines at every possible place
+		for (int size = 28; size < 60; size++) {
+			List<Ulid> list = new ArrayList<>();
+			try (UlidReader reader = reader(text, size)) {
+				assertEquals(ulids.length, reader.forEach((msb, lsb) -> list.add(new Ulid(msb, lsb))));
+				assertEquals(0, reader.forEach((msb, lsb) -> fail()));
+			}
+			assertArrayEquals(ulids, list.toArray());
+		}
+	}
+
+	@Test
+	public void testRead() throws IOException {
+
+		Ulid[] ulids = ulids(DEFAULT_LOOP_MAX);
+		byte[] text = text(ulids);
+
+		try (UlidReader reader = reader(text, 100)) {
+			for (Ulid ulid : ulids) {
+				assertEquals(ulid, reader.read());
+			}
+			assertNull(reader.read());
+		}
+
+		long[] longs = new long[2 * ulids.length + 2];
+		try (UlidReader reader = reader(text, 100)) {
+			assertEquals(200, reader.read(longs, 1, 200));
+			assertEquals(longs.length - 202, reader.read(longs, 201, longs.length - 202));
+			assertEquals(-1, reader.read(longs, 0, 2));
+		}
+		for (int i = 0; i < ulids.length; i++) {
+			assertEquals(ulids[i].getMostSignificantBits(), longs[1 + 2 * i]);
+			assertEquals(ulids[i].getLeastSignificantBits(), longs[1 + 2 * i + 1]);
+		}
+	}
+
+	@Test
+	public void testLineBreaks() throws IOException {
+
+		Ulid[] ulids = ulids(5);
+		String text = "\n" + ulids[0] + "\r\n" + ulids[1].toLowerCase() + "\n\n\r\n" + ulids[2] + "\r\n\n"
+				+ ulids[3] + "\n" + ulids[4];
+
+		for (int size = 28; size < 40; size++) {
+			List<Ulid> list = new ArrayList<>();
+			try (UlidReader reader = reader(text.getBytes(StandardCharsets.US_ASCII), size)) {
+				reader.forEach((msb, lsb) -> list.add(new Ulid(msb, lsb)));
+			}
+			assertArrayEquals(ulids, list.toArray());
+		}
+
+		try (UlidReader reader = reader(new byte[0], 28)) {
+			assertNull(reader.read());
+		}
+	}
+
+	@Test
+	public void testInvalid() throws IOException {
+
+		Ulid ulid = UlidCreator.getUlid();
+		String[] texts = { ulid + "\n" + "8ZZZZZZZZZABCDEFGHJKMNPQRS\n", ulid + "\n" + ulid + "0\n", ulid + " \n",
+				ulid + "\n0123", ulid + "\r" + ulid, ulid + "\n" + ulid.toString().replace('0', '\u00e0') };
+
+		for (String text : texts) {
+			try (UlidReader reader = reader(text.getBytes(StandardCharsets.ISO_8859_1), 28)) {
+				reader.forEach((msb, lsb) -> {
+				});
+				fail("Should throw an exception");
+			} catch (IllegalArgumentException e) {
+				// success
+			}
+			Path path = file(text.getBytes(StandardCharsets.ISO_8859_1));
+			try (FileChannel channel = FileChannel.open(path)) {
+				UlidReader.forEach(channel, (msb, lsb) -> {
+				});
+				fail("Should throw an exception");
+			} catch (IllegalArgumentException e) {
+				// success
+			} finally {
+				Files.delete(path);
+			}
+		}
+
+		// the longs of an invalid line are not written
+		long[] longs = new long[4];
+		try (UlidReader reader = reader(texts[0].getBytes(StandardCharsets.US_ASCII), 28)) {
+			reader.read(longs, 0, longs.length);
+			fail("Should throw an exception");
+		} catch (IllegalArgumentException e) {
+			// success
+		}
+		assertEquals(ulid, new Ulid(longs[0], longs[1]));
+		assertArrayEquals(new long[2], Arrays.copyOfRange(longs, 2, 4));
+
+		try {
+			new UlidReader(Channels.newChannel(new ByteArrayInputStream(new byte[0])), 27);
+			fail("Should throw an exception");
+		} catch (IllegalArgumentException e) {
+			// success
+		}
+	}
+
+	@Test
+	public void testMapped() throws IOException {
+
+		// about 2.7 MiB, so that the spliterator splits
+		Ulid[] ulids = ulids(100_000);
+		Path path = file(text(ulids));
+
+		try (FileChannel channel = FileChannel.open(path)) {
+
+			List<Ulid> list = new ArrayList<>();
+			assertEquals(ulids.length, UlidReader.forEach(channel, (msb, lsb) -> list.add(new Ulid(msb, lsb))));
+			assertArrayEquals(ulids, list.toArray());
+
+			assertArrayEquals(ulids, UlidReader.stream(channel, false).toArray());
+			assertArrayEquals(ulids, UlidReader.stream(channel, true).toArray());
+			assertEquals(ulids.length, UlidReader.stream(channel, true).collect(Collectors.toSet()).size());
+
+			Spliterator<Ulid> spliterator = UlidReader.spliterator(channel);
+			Spliterator<Ulid> prefix = spliterator.trySplit();
+			assertNotNull(prefix);
+			List<Ulid> halves = new ArrayList<>();
+			assertTrue(prefix.tryAdvance(halves::add));
+			prefix.forEachRemaining(halves::add);
+			spliterator.forEachRemaining(halves::add);
+			assertFalse(spliterator.tryAdvance(halves::add));
+			assertArrayEquals(ulids, halves.toArray());
+		} finally {
+			Files.delete(path);
+		}
+	}
+
+	private static Ulid[] ulids(int count) {
+		Ulid[] ulids = new Ulid[count];
+		for (int i = 0; i < count; i++) {
+			ulids[i] = UlidCreator.getUlid();
+		}
+		return ulids;
+	}
+
+	// one ULID per line, some with "\r\n", the last one without a line break
+	private static byte[] text(Ulid[] ulids) {
+		StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < ulids.length; i++) {
+			builder.append(i % 3 == 0 ? ulids[i].toLowerCase() : ulids[i].toString());
+			if (i < ulids.length - 1) {
+				builder.append(i % 7 == 0 ? "\r\n" : "\n");
+			}
+		}
+		return builder.toString().getBytes(StandardCharsets.US_ASCII);
+	}
+
+	private static UlidReader reader(byte[] text, int bufferSize) {
+		return new UlidReader(Channels.newChannel(new ByteArrayInputStream(text)), bufferSize);
+	}
+
+	private static Path file(byte[] text) throws IOException {
+		Path path = Files.createTempFile("ulids", ".txt");
+		Files.write(path, text);
+		return path;
+	}
+}
@@ -0,0 +1,144 @@
+package com.github.f4b6a3.ulid;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class UlidStringCacheTest extends UlidFactoryTest {
+
+	@Test
+	public void testToString() {
+		UlidStringCache cache = new UlidStringCache(100_000);
+		Ulid[] ulids = new Ulid[100];
+		for (int i = 0; i < ulids.length; i++) {
+			ulids[i] = UlidCreator.getUlid();
+		}
+
+		for (int i = 0; i < DEFAULT_LOOP_MAX; i++) {
+			Ulid ulid = ulids[i % ulids.length];
+			assertEquals(ulid.toString(), cache.toString(ulid));
+			assertEquals(ulid.toLowerCase(), cache.toLowerCase(new Ulid(ulid)));
+		}
+
+		// 100 ULIDs in upper and lower case
+		assertEquals(200, cache.getMissCount());
+		assertEquals(2 * DEFAULT_LOOP_MAX - 200, cache.getHitCount());
+		assertEquals((2.0 * DEFAULT_LOOP_MAX - 200) / (2 * DEFAULT_LOOP_MAX), cache.getHitRate(), 1e-9);
+
+		// the same instance is returned
+		assertSame(cache.toString(ulids[0]), cache.toString(ulids[0]));
+		assertSame(cache.toLowerCase(ulids[0]), cache.toLowerCase(ulids[0]));
+	}
+
+	@Test
+	public void testEviction() {
+		UlidStringCache cache = new UlidStringCache(2);
+
+		// a cache of 2 is a single set of 2 entries
+		Ulid ulid0 = new Ulid(0L, 0L);
+		Ulid ulid1 = new Ulid(0L, 1L);
+		Ulid ulid2 = new Ulid(0L, 2L);
+
+		cache.toString(ulid0);
+		cache.toString(ulid1);
+		// ulid0 becomes the most recently used
+		cache.toString(ulid0);
+		// ulid1 is evicted
+		cache.toString(ulid2);
+
+		assertEquals(2, cache.size());
+		assertEquals(1, cache.getEvictionCount());
+
+		cache.toString(ulid0);
+		assertEquals(2, cache.getHitCount());
+		cache.toString(ulid1);
+		assertEquals(4, cache.getMissCount());
+
+		cache.clear();
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	public void testOddSize() {
+		// every entry is used, the last set has a single one
+		int[] sizes = { 1, 3, 5, 101 };
+		for (int size : sizes) {
+			UlidStringCache cache = new UlidStringCache(size);
+			for (int i = 0; i < 100 * size; i++) {
+				cache.toString(UlidCreator.getUlid());
+			}
+			assertEquals(size, cache.size());
+		}
+	}
+
+	@Test
+	public void testWithoutStats() {
+		UlidStringCache cache = new UlidStringCache(100, false);
+		Ulid ulid = UlidCreator.getUlid();
+		assertSame(cache.toString(ulid), cache.toString(ulid));
+		assertEquals(ulid.toLowerCase(), cache.toLowerCase(ulid));
+		assertEquals(1, cache.size());
+		assertEquals(0, cache.getHitCount());
+		assertEquals(0, cache.getMissCount());
+		assertEquals(0.0, cache.getHitRate(), 0.0);
+	}
+
+	@Test
+	public void testMemoryFootprint() {
+		UlidStringCache cache = new UlidStringCache(1000);
+		long empty = cache.getMemoryFootprint();
+		assertTrue(empty > 1000);
+
+		Ulid ulid = UlidCreator.getUlid();
+		cache.toString(ulid);
+		long one = cache.getMemoryFootprint();
+		assertTrue(one > empty);
+
+		cache.toLowerCase(ulid);
+		assertTrue(cache.getMemoryFootprint() > one);
+		assertEquals(1, cache.size());
+	}
+
+	@Test
+	public void testToStringInParallel() throws InterruptedException {
+
+		Thread[] threads = new Thread[THREAD_TOTAL];
+		UlidStringCache cache = new UlidStringCache(500);
+		Ulid[] ulids = new Ulid[1000];
+		for (int i = 0; i < ulids.length; i++) {
+			ulids[i] = UlidCreator.getUlid();
+		}
+		boolean[] failed = new boolean[1];
+
+		for (int i = 0; i < THREAD_TOTAL; i++) {
+			threads[i] = new Thread(() -> {
+				for (int j = 0; j < DEFAULT_LOOP_MAX; j++) {
+					Ulid ulid = ulids[RANDOM.nextInt(ulids.length)];
+					if (!ulid.toString().equals(cache.toString(ulid))
+							|| !ulid.toLowerCase().equals(cache.toLowerCase(ulid))) {
+						failed[0] = true;
+					}
+				}
+			});
+			threads[i].start();
+		}
+
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		assertFalse(failed[0]);
+		assertTrue(cache.size() <= 500);
+		assertEquals(2 * THREAD_TOTAL * DEFAULT_LOOP_MAX, cache.getHitCount() + cache.getMissCount());
+	}
+
+	@Test
+	public void testInvalidArguments() {
+		try {
+			new UlidStringCache(0);
+			fail("Should throw an exception");
+		} catch (IllegalArgumentException e) {
+			// success
+		}
+	}
+}
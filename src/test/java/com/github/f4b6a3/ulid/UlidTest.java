@@ -4,11 +4,18 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.io.IOException;
+import java.io.StringWriter;
 import java.math.BigInteger;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ReadOnlyBufferException;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
@@ -184,6 +191,234 @@ public class UlidTest extends UlidFactoryTest {
 		}
 	}
 
+	@Test
+	public void testWriteTo() {
+		Random random = new Random();
+		for (int i = 0; i < DEFAULT_LOOP_MAX; i++) {
+
+			Ulid ulid = new Ulid(random.nextLong(), random.nextLong());
+			String upper = ulid.toString();
+			String lower = ulid.toLowerCase();
+			int offset = random.nextInt(8);
+
+			char[] chars = new char[offset + Ulid.ULID_CHARS + 2];
+			ulid.writeTo(chars, offset); // <- test Ulid.writeTo(char[], int)
+			assertEquals(upper, new String(chars, offset, Ulid.ULID_CHARS));
+			assertEquals(0, chars[offset + Ulid.ULID_CHARS]);
+			ulid.writeLowerCaseTo(chars, offset);
+			assertEquals(lower, new String(chars, offset, Ulid.ULID_CHARS));
+
+			byte[] bytes = new byte[offset + Ulid.ULID_CHARS + 2];
+			ulid.writeTo(bytes, offset); // <- test Ulid.writeTo(byte[], int)
+			assertEquals(upper, new String(bytes, offset, Ulid.ULID_CHARS, StandardCharsets.US_ASCII));
+			ulid.writeLowerCaseTo(bytes, offset);
+			assertEquals(lower, new String(bytes, offset, Ulid.ULID_CHARS, StandardCharsets.US_ASCII));
+
+			StringBuilder builder = new StringBuilder("x");
+			ulid.appendTo(builder).append('-'); // <- test Ulid.appendTo(StringBuilder)
+			ulid.appendLowerCaseTo(builder);
+			assertEquals("x" + upper + "-" + lower, builder.toString());
+		}
+	}
+
+	@Test
+	public void testWriteToByteBuffer() throws IOException {
+		Random random = new Random();
+		for (int i = 0; i < DEFAULT_LOOP_MAX; i++) {
+
+			Ulid ulid = new Ulid(random.nextLong(), random.nextLong());
+
+			ByteBuffer heap = ByteBuffer.allocate(3 + 2 * Ulid.ULID_CHARS);
+			ByteBuffer direct = ByteBuffer.allocateDirect(3 + 2 * Ulid.ULID_CHARS);
+			ByteBuffer little = ByteBuffer.allocateDirect(3 + 2 * Ulid.ULID_CHARS).order(ByteOrder.LITTLE_ENDIAN);
+			for (ByteBuffer buffer : new ByteBuffer[] { heap, direct, little }) {
+				buffer.position(3);
+				ulid.writeTo(buffer); // <- test Ulid.writeTo(ByteBuffer)
+				ulid.writeLowerCaseTo(buffer);
+				assertEquals(buffer.capacity(), buffer.position());
+
+				byte[] bytes = new byte[2 * Ulid.ULID_CHARS];
+				buffer.position(3);
+				buffer.get(bytes);
+				assertEquals(ulid.toString() + ulid.toLowerCase(), new String(bytes, StandardCharsets.US_ASCII));
+			}
+
+			StringWriter writer = new StringWriter();
+			ulid.appendTo(writer); // <- test Ulid.appendTo(Appendable)
+			ulid.appendLowerCaseTo((Appendable) writer);
+			assertEquals(ulid.toString() + ulid.toLowerCase(), writer.toString());
+		}
+	}
+
+	@Test
+	public void testWriteToInvalid() {
+
+		Ulid ulid = UlidCreator.getUlid();
+
+		try {
+			ulid.writeTo(new char[Ulid.ULID_CHARS], 1);
+			fail("Should throw an exception");
+		} catch (IndexOutOfBoundsException e) {
+			// success
+		}
+
+		try {
+			ulid.writeTo(new byte[Ulid.ULID_CHARS], -1);
+			fail("Should throw an exception");
+		} catch (IndexOutOfBoundsException e) {
+			// success
+		}
+
+		ByteBuffer buffer = ByteBuffer.allocate(Ulid.ULID_CHARS + 1);
+		buffer.position(2);
+		try {
+			ulid.writeTo(buffer);
+			fail("Should throw an exception");
+		} catch (BufferOverflowException e) {
+			// success
+		}
+		assertEquals(2, buffer.position());
+		assertEquals(0, buffer.get(2)); // nothing written
+
+		try {
+			ulid.writeTo(ByteBuffer.allocate(Ulid.ULID_CHARS).asReadOnlyBuffer());
+			fail("Should throw an exception");
+		} catch (ReadOnlyBufferException e) {
+			// success
+		}
+	}
+
+	@Test
+	public void testParse() {
+		Random random = new Random();
+		for (int i = 0; i < DEFAULT_LOOP_MAX; i++) {
+
+			Ulid ulid = new Ulid(random.nextLong(), random.nextLong());
+			String string = random.nextBoolean() ? ulid.toString() : ulid.toLowerCase();
+			String padded = "  " + string + "  ";
+
+			assertEquals(ulid, Ulid.parse(new StringBuilder(string))); // <- test Ulid.parse(CharSequence)
+			assertEquals(ulid, Ulid.parse(padded, 2)); // <- test Ulid.parse(CharSequence, int)
+			assertEquals(ulid, Ulid.parse(padded.toCharArray(), 2)); // <- test Ulid.parse(char[], int)
+			assertEquals(ulid, Ulid.parse(padded.getBytes(StandardCharsets.US_ASCII), 2)); // <- test Ulid.parse(byte[], int)
+
+			ByteBuffer heap = ByteBuffer.wrap(padded.getBytes(StandardCharsets.US_ASCII));
+			ByteBuffer direct = ByteBuffer.allocateDirect(heap.capacity()).put(heap.duplicate());
+			for (ByteBuffer buffer : new ByteBuffer[] { heap, direct }) {
+				buffer.position(2);
+				assertEquals(ulid, Ulid.parse(buffer)); // <- test Ulid.parse(ByteBuffer)
+				assertEquals(2 + Ulid.ULID_CHARS, buffer.position());
+			}
+		}
+	}
+
+	@Test
+	public void testParseInvalid() {
+
+		String[] strings = { "", "0123456789ABCDEFGHJKLMNPQ", "0123456789ABCDEFGHJKMNPQZZZ",
+				"u123456789ABCDEFGHJKMNPQRS", "0123456789ABCDEFGHJKMNPQR@", "8ZZZZZZZZZABCDEFGHJKMNPQRS",
+				"0123456789ABCDEFGHJKMNPQR\u3617", "0123456789ABCDEF\u0130HJKMNPQRS" };
+
+		for (String string : strings) {
+			try {
+				Ulid.parse(string);
+				fail("Should throw an exception");
+			} catch (IllegalArgumentException e) {
+				// success
+			}
+			assertFalse(Ulid.isValid(string));
+			if (string.length() != Ulid.ULID_CHARS) {
+				continue;
+			}
+			try {
+				Ulid.parse(string.toCharArray(), 0);
+				fail("Should throw an exception");
+			} catch (IllegalArgumentException e) {
+				// success
+			}
+			try {
+				Ulid.parse(string.getBytes(StandardCharsets.ISO_8859_1), 0);
+				fail("Should throw an exception");
+			} catch (IllegalArgumentException e) {
+				// success
+			}
+			ByteBuffer buffer = ByteBuffer.allocateDirect(Ulid.ULID_CHARS)
+					.put(string.getBytes(StandardCharsets.ISO_8859_1));
+			buffer.flip();
+			try {
+				Ulid.parse(buffer);
+				fail("Should throw an exception");
+			} catch (IllegalArgumentException e) {
+				assertEquals(0, buffer.position()); // unchanged
+			}
+		}
+
+		try {
+			Ulid.parse("0123456789ABCDEFGHJKMNPQRS", 1);
+			fail("Should throw an exception");
+		} catch (IndexOutOfBoundsException e) {
+			// success
+		}
+
+		try {
+			Ulid.parse(ByteBuffer.allocate(Ulid.ULID_CHARS - 1));
+			fail("Should throw an exception");
+		} catch (BufferUnderflowException e) {
+			// success
+		}
+	}
+
+	@Test
+	public void testTryParse() {
+		Random random = new Random();
+		for (int i = 0; i < DEFAULT_LOOP_MAX; i++) {
+
+			Ulid ulid = new Ulid(random.nextLong(), random.nextLong());
+			String padded = "  " + ulid.toString() + "  ";
+
+			assertEquals(ulid, Ulid.tryParse(ulid.toLowerCase())); // <- test Ulid.tryParse(CharSequence)
+			assertEquals(ulid, Ulid.tryParse(padded, 2)); // <- test Ulid.tryParse(CharSequence, int)
+			assertEquals(ulid, Ulid.tryParse(padded.toCharArray(), 2)); // <- test Ulid.tryParse(char[], int)
+			assertEquals(ulid, Ulid.tryParse(padded.getBytes(StandardCharsets.US_ASCII), 2)); // <- test Ulid.tryParse(byte[], int)
+
+			ByteBuffer buffer = ByteBuffer.wrap(padded.getBytes(StandardCharsets.US_ASCII));
+			buffer.position(2);
+			assertEquals(ulid, Ulid.tryParse(buffer)); // <- test Ulid.tryParse(ByteBuffer)
+			assertEquals(2 + Ulid.ULID_CHARS, buffer.position());
+		}
+	}
+
+	@Test
+	public void testTryParseInvalid() {
+
+		String[] strings = { "", "0123456789ABCDEFGHJKLMNPQ", "0123456789ABCDEFGHJKMNPQZZZ",
+				"u123456789ABCDEFGHJKMNPQRS", "0123456789ABCDEFGHJKMNPQR@", "8ZZZZZZZZZABCDEFGHJKMNPQRS",
+				"0123456789ABCDEFGHJKMNPQR\u3617", "0123456789ABCDEF\u0130HJKMNPQRS" };
+
+		for (String string : strings) {
+			assertNull(Ulid.tryParse(string));
+			if (string.length() > Ulid.ULID_CHARS) {
+				continue; // the slice variants ignore trailing characters
+			}
+			assertNull(Ulid.tryParse(string, 0));
+			assertNull(Ulid.tryParse(string.toCharArray(), 0));
+			assertNull(Ulid.tryParse(string.getBytes(StandardCharsets.ISO_8859_1), 0));
+
+			ByteBuffer buffer = ByteBuffer.wrap(string.getBytes(StandardCharsets.ISO_8859_1));
+			assertNull(Ulid.tryParse(buffer));
+			assertEquals(0, buffer.position()); // unchanged
+		}
+
+		// null inputs and out of range offsets
+		assertNull(Ulid.tryParse((CharSequence) null));
+		assertNull(Ulid.tryParse((char[]) null, 0));
+		assertNull(Ulid.tryParse((byte[]) null, 0));
+		assertNull(Ulid.tryParse((ByteBuffer) null));
+		assertNull(Ulid.tryParse("0123456789ABCDEFGHJKMNPQRS", 1));
+		assertNull(Ulid.tryParse("0123456789ABCDEFGHJKMNPQRS", -1));
+		assertNull(Ulid.tryParse("0123456789ABCDEFGHJKMNPQRS".toCharArray(), Integer.MAX_VALUE));
+	}
+
 	@Test
 	public void testFromUUID() {
 		Random random = new Random();
@@ -221,6 +456,127 @@ public class UlidTest extends UlidFactoryTest {
 		}
 	}
 
+	@Test
+	public void testUuidString() {
+		Random random = new Random();
+		for (int i = 0; i < DEFAULT_LOOP_MAX; i++) {
+			Ulid ulid = new Ulid(random.nextLong(), random.nextLong());
+			String string = ulid.toUuidString(); // <- test Ulid.toUuidString()
+			assertEquals(ulid.toUuid().toString(), string);
+			assertEquals(string, ulid.toUuidString(Ulid.HEX_PAIRS)); // the Java 8 encoder
+			assertEquals(ulid, Ulid.parseUuid(string)); // <- test Ulid.parseUuid()
+			assertEquals(ulid, Ulid.parseUuid(string.toUpperCase()));
+			assertEquals(ulid, Ulid.parseUuid(new StringBuilder(string)));
+
+			// both formats
+			assertEquals(ulid, Ulid.parseAny(string)); // <- test Ulid.parseAny()
+			assertEquals(ulid, Ulid.parseAny(ulid.toString()));
+			assertEquals(ulid, Ulid.tryParseAny(string));
+			assertEquals(ulid, Ulid.tryParseAny(ulid.toLowerCase()));
+		}
+
+		assertEquals("00000000-0000-0000-0000-000000000000", Ulid.MIN.toUuidString());
+		assertEquals("ffffffff-ffff-ffff-ffff-ffffffffffff", Ulid.MAX.toUuidString());
+		assertEquals("ffffffff-ffff-ffff-ffff-ffffffffffff", Ulid.MAX.toUuidString(Ulid.HEX_PAIRS));
+		assertEquals(Ulid.MAX, Ulid.parseUuid("FFFFFFFF-FFFF-FFFF-FFFF-FFFFFFFFFFFF"));
+	}
+
+	@Test
+	public void testUuidStringInvalid() {
+
+		String[] strings = { "", "00000000-0000-0000-0000-00000000000", "00000000-0000-0000-0000-0000000000000",
+				"00000000-0000-0000-0000_000000000000", "00000000-00000-000-0000-000000000000",
+				"0000000g-0000-0000-0000-000000000000", "00000000-0000-0000-0000-00000000000\u0660",
+				"00000000-0000-0000-0000-00000000000\u0130", "0-0-0-0-0", "000000000000000000000000000000000000" };
+
+		for (String string : strings) {
+			try {
+				Ulid.parseUuid(string);
+				fail("Should throw an exception");
+			} catch (IllegalArgumentException e) {
+				// success
+			}
+			try {
+				Ulid.parseAny(string);
+				fail("Should throw an exception");
+			} catch (IllegalArgumentException e) {
+				// success
+			}
+			assertNull(Ulid.tryParseAny(string));
+		}
+
+		// a ULID string is not a UUID string, and the reverse
+		assertNull(Ulid.tryParseAny("8ZZZZZZZZZABCDEFGHJKMNPQRS"));
+		assertNull(Ulid.tryParseAny(null));
+		try {
+			Ulid.parseUuid("0123456789ABCDEFGHJKMNPQRS");
+			fail("Should throw an exception");
+		} catch (IllegalArgumentException e) {
+			// success
+		}
+		try {
+			Ulid.parseUuid(null);
+			fail("Should throw an exception");
+		} catch (IllegalArgumentException e) {
+			// success
+		}
+	}
+
+	@Test
+	public void testBase62AndBase64() {
+
+		Ulid[] ulids = new Ulid[DEFAULT_LOOP_MAX];
+		for (int i = 0; i < ulids.length; i++) {
+			ulids[i] = new Ulid(RANDOM.nextLong(), RANDOM.nextLong());
+		}
+		ulids[0] = Ulid.MIN;
+		ulids[1] = Ulid.MAX;
+		Arrays.sort(ulids);
+
+		for (int i = 0; i < ulids.length; i++) {
+			String base62 = ulids[i].toBase62(); // <- test Ulid.toBase62()
+			String base64 = ulids[i].toSortableBase64(); // <- test Ulid.toSortableBase64()
+			assertEquals(22, base62.length());
+			assertEquals(22, base64.length());
+			assertEquals(ulids[i], Ulid.fromBase62(base62));
+			assertEquals(ulids[i], Ulid.fromSortableBase64(base64));
+
+			// the strings sort like the ULIDs
+			if (i > 0) {
+				assertTrue(ulids[i - 1].toBase62().compareTo(base62) <= 0);
+				assertTrue(ulids[i - 1].toSortableBase64().compareTo(base64) <= 0);
+			}
+		}
+
+		assertEquals("0000000000000000000000", Ulid.MIN.toBase62());
+		assertEquals("----------------------", Ulid.MIN.toSortableBase64());
+		assertEquals("7n42DGM5Tflk9n8mt7Fhc7", Ulid.MAX.toBase62());
+		assertEquals("2zzzzzzzzzzzzzzzzzzzzz", Ulid.MAX.toSortableBase64());
+	}
+
+	@Test
+	public void testBase62AndBase64Invalid() {
+
+		// too short, too long, out of range and invalid characters
+		String[] strings = { null, "", "000000000000000000000", "00000000000000000000000", "7n42DGM5Tflk9n8mt7Fhc8",
+				"zzzzzzzzzzzzzzzzzzzzzz", "000000000000000000000+", "000000000000000000000/" };
+
+		for (String string : strings) {
+			try {
+				Ulid.fromBase62(string);
+				fail("Should throw an exception");
+			} catch (IllegalArgumentException e) {
+				// success
+			}
+			try {
+				Ulid.fromSortableBase64(string);
+				fail("Should throw an exception");
+			} catch (IllegalArgumentException e) {
+				// success
+			}
+		}
+	}
+
 	@Test
 	public void testFromBytes() {
 		Random random = new Random();
@@ -642,6 +998,22 @@ public class UlidTest extends UlidFactoryTest {
 		checkCreationTime(list, startTime, endTime);
 	}
 
+	@Test
+	public void testUlidFastWithTimeFunction() {
+		Ulid[] list = new Ulid[DEFAULT_LOOP_MAX];
+
+		final long time = Instant.parse("2021-12-31T23:59:59.000Z").toEpochMilli();
+		for (int i = 0; i < DEFAULT_LOOP_MAX; i++) {
+			list[i] = Ulid.fast(() -> time);
+		}
+
+		checkNullOrInvalid(list);
+		checkUniqueness(list);
+		for (Ulid ulid : list) {
+			assertEquals(time, ulid.getTime());
+		}
+	}
+
 	@Test
 	public void testGetHashUlid() throws NoSuchAlgorithmException {
 